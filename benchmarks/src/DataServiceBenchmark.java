@@ -0,0 +1,208 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// DataService 주요 메서드의 지연 시간을 측정해 JSON 으로 저장한다.
+//
+// JMH 는 기본 패키지의 클래스를 벤치마크로 만들 수 없고, 이름 있는 패키지에서는 기본 패키지의 앱 클래스를
+// import 할 수 없어서 같은 방식(워밍업 반복 -> 측정 반복, 호출 단위 시간 기록)을 직접 구현했다.
+//
+// 옵션:
+//   --sizes 10000,1000000,10000000   시드할 행 수 목록
+//   --warmup 2 --iterations 5         워밍업/측정 반복 횟수
+//   --iteration-ms 1000               반복 한 번의 길이
+//   --data-dir target/bench-data      시드한 DB 파일 보관 위치 (다음 실행 때 재사용, 측정은 복사본에서)
+//   --out target/bench-results.json   결과 파일
+//   --only getTotalBalance,addEntry   일부 연산만 실행
+//   --storage sqlite                  저장소 엔진 (sqlite, mapped)
+public class DataServiceBenchmark {
+
+    static final String USER = "bench";
+    private static final int MAX_SAMPLES = 2_000_000;
+
+    // 측정 대상 연산. 반환값은 JIT 가 호출을 없애지 못하도록 sink 에 섞는다.
+    @FunctionalInterface
+    interface Operation {
+        long run(DataService ds, SplittableRandom random);
+    }
+
+    static class Result {
+        String operation;
+        long rows;
+        long ops;
+        double opsPerSecond;
+        double meanNanos;
+        long p50Nanos;
+        long p90Nanos;
+        long p99Nanos;
+        long maxNanos;
+    }
+
+    private static volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        long[] sizes = Arrays.stream(options.getOrDefault("sizes", "10000,1000000,10000000").split(","))
+                             .mapToLong(Long::parseLong).toArray();
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "2"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "5"));
+        long iterationNanos = Long.parseLong(options.getOrDefault("iteration-ms", "1000")) * 1_000_000L;
+        Path dataDir = Paths.get(options.getOrDefault("data-dir", "target/bench-data"));
+        Path out = Paths.get(options.getOrDefault("out", "target/bench-results.json"));
+        List<String> only = options.containsKey("only") ? Arrays.asList(options.get("only").split(",")) : null;
+        String storage = options.getOrDefault("storage", "sqlite");
+
+        List<Result> results = new ArrayList<>();
+        for (long rows : sizes) {
+            System.out.printf("== %,d rows%n", rows);
+            // 시드 파일은 다음 실행에서도 같은 상태로 쓰도록 복사본에서 측정한다.
+            Path scratch;
+            DataService ds;
+            if (storage.equals("mapped")) {
+                scratch = LedgerSeeder.scratchCopy(LedgerSeeder.seedMapped(dataDir, rows, USER));
+                ds = new DataService(new MappedLedgerStore(scratch));
+            } else {
+                scratch = LedgerSeeder.scratchCopy(LedgerSeeder.seed(dataDir, rows, USER));
+                ds = new DataService("jdbc:sqlite:" + scratch);
+            }
+            try {
+                for (Map.Entry<String, Operation> op : operations().entrySet()) {
+                    if (only != null && !only.contains(op.getKey())) continue;
+                    Result result = measure(ds, op.getKey(), op.getValue(), rows, warmup, iterations, iterationNanos);
+                    results.add(result);
+                    System.out.printf("  %-28s %12.1f ops/s  mean %10.1f us  p50 %8.1f us  p99 %8.1f us%n",
+                        result.operation, result.opsPerSecond, result.meanNanos / 1e3,
+                        result.p50Nanos / 1e3, result.p99Nanos / 1e3);
+                }
+            } finally {
+                ds.close();
+                LedgerSeeder.deleteScratch(scratch);
+            }
+        }
+        writeJson(out, results);
+        System.out.println("결과 저장: " + out.toAbsolutePath());
+    }
+
+    static Map<String, Operation> operations() {
+        long firstDay = LedgerSeeder.LAST_DAY.toEpochDay() - LedgerSeeder.SPAN_DAYS + 1;
+        Map<String, Operation> ops = new LinkedHashMap<>();
+        ops.put("addEntry", (ds, r) -> {
+            AccountEntry entry = new AccountEntry(USER, randomDate(r, firstDay), EntryType.EXPENSE, "식비",
+                                                  1_000 + r.nextInt(50_000), "bench add");
+            return ds.addEntry(entry) ? entry.getId() : 0;
+        });
+        ops.put("getEntriesByDate", (ds, r) -> ds.getEntriesByDate(USER, randomDate(r, firstDay)).size());
+        ops.put("getDailySummary", (ds, r) -> ds.getDailySummary(USER, randomDate(r, firstDay)).get("expense"));
+        ops.put("getTotalBalance", (ds, r) -> ds.getTotalBalance(USER));
+        // 집계 캐시를 비운 뒤 조회: 캐시 미스 시 SQL 집계 비용
+        ops.put("getTotalBalance.cold", (ds, r) -> {
+            ds.invalidateAggregates(USER);
+            return ds.getTotalBalance(USER);
+        });
+        ops.put("getCategoryExpenseRatio", (ds, r) -> ds.getCategoryExpenseRatio(USER).size());
+        ops.put("getMonthlyNetIncome", (ds, r) ->
+            ds.getMonthlyNetIncome(USER, YearMonth.from(randomDate(r, firstDay)).toString()));
+        return ops;
+    }
+
+    private static LocalDate randomDate(SplittableRandom random, long firstDay) {
+        return LocalDate.ofEpochDay(firstDay + random.nextInt(LedgerSeeder.SPAN_DAYS));
+    }
+
+    static Result measure(DataService ds, String name, Operation op, long rows,
+                          int warmup, int iterations, long iterationNanos) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < warmup; i++) {
+            runFor(ds, op, random, iterationNanos, null);
+        }
+
+        SampleBuffer samples = new SampleBuffer();
+        long totalNanos = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            runFor(ds, op, random, iterationNanos, samples);
+            totalNanos += System.nanoTime() - start;
+        }
+
+        long[] sorted = samples.toArray();
+        Arrays.sort(sorted);
+        Result result = new Result();
+        result.operation = name;
+        result.rows = rows;
+        result.ops = sorted.length;
+        result.opsPerSecond = sorted.length * 1e9 / totalNanos;
+        result.meanNanos = Arrays.stream(sorted).average().orElse(0);
+        result.p50Nanos = percentile(sorted, 0.50);
+        result.p90Nanos = percentile(sorted, 0.90);
+        result.p99Nanos = percentile(sorted, 0.99);
+        result.maxNanos = sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+        return result;
+    }
+
+    // 호출별 소요 시간을 모으는 가변 배열
+    static class SampleBuffer {
+        private long[] samples = new long[1024];
+        private int count = 0;
+
+        void add(long nanos) {
+            if (count == MAX_SAMPLES) return;
+            if (count == samples.length) samples = Arrays.copyOf(samples, samples.length * 2);
+            samples[count++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(samples, count);
+        }
+    }
+
+    private static void runFor(DataService ds, Operation op, SplittableRandom random, long durationNanos,
+                                 SampleBuffer buffer) {
+        long acc = 0;
+        long end = System.nanoTime() + durationNanos;
+        long now;
+        do {
+            long start = System.nanoTime();
+            acc += op.run(ds, random);
+            now = System.nanoTime();
+            if (buffer != null) buffer.add(now - start);
+        } while (now < end);
+        sink += acc;
+    }
+
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static void writeJson(Path out, List<Result> results) throws IOException {
+        if (out.getParent() != null) Files.createDirectories(out.getParent());
+        try (BufferedWriter w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            w.write("{\n");
+            w.write("  \"timestamp\": " + Json.quote(Instant.now().toString()) + ",\n");
+            w.write("  \"jvm\": " + Json.quote(System.getProperty("java.vm.name") + " " + System.getProperty("java.version")) + ",\n");
+            w.write("  \"results\": [\n");
+            for (int i = 0; i < results.size(); i++) {
+                Result r = results.get(i);
+                w.write(String.format(java.util.Locale.ROOT,
+                    "    {\"operation\": %s, \"rows\": %d, \"ops\": %d, \"opsPerSecond\": %.2f, \"meanNanos\": %.1f, " +
+                    "\"p50Nanos\": %d, \"p90Nanos\": %d, \"p99Nanos\": %d, \"maxNanos\": %d}%s%n",
+                    Json.quote(r.operation), r.rows, r.ops, r.opsPerSecond, r.meanNanos,
+                    r.p50Nanos, r.p90Nanos, r.p99Nanos, r.maxNanos, i + 1 < results.size() ? "," : ""));
+            }
+            w.write("  ]\n}\n");
+        }
+    }
+}
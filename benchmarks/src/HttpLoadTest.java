@@ -0,0 +1,276 @@
+import java.io.BufferedWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 같은 JVM 에 LedgerHttpServer 를 띄우고, 가상 스레드 클라이언트 여러 개가 HTTP 로 읽기/쓰기 혼합 부하를 걸어
+// 초당 요청 수와 지연 시간 분위수를 보고한다. (클라이언트와 서버가 같은 CPU 를 나눠 쓰므로 보수적인 값이다)
+//   monthly   : GET /api/summary/monthly   (달력 월 이동)
+//   daily     : GET /api/summary/daily
+//   entries   : GET /api/entries?date=     (날짜 클릭)
+//   categories: GET /api/summary/categories
+//   savings   : GET /api/savings
+//   add/delete: POST /api/entries, DELETE /api/entries/{id}
+//
+// 사용법: HttpLoadTest --db target/http-load.db --users 50 --clients 64 --duration-s 30 --warmup-s 5
+//                     --mix monthly=35,daily=20,entries=20,categories=10,savings=5,add=5,delete=5 --out target/http-load.json
+// DB 파일이 없으면 LedgerGenerator 로 먼저 만든다. (--years, --seed)
+// 사용자가 DataService 의 집계 캐시 크기(64명)보다 많으면 캐시 미스마다 전체 내역을 다시 읽으므로 처리량이 크게 떨어진다.
+public class HttpLoadTest {
+
+    private static final String[] OPS = {"monthly", "daily", "entries", "categories", "savings", "add", "delete"};
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        Path db = Paths.get(options.getOrDefault("db", "target/http-load.db"));
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "64"));
+        long durationNanos = Long.parseLong(options.getOrDefault("duration-s", "30")) * 1_000_000_000L;
+        long warmupNanos = Long.parseLong(options.getOrDefault("warmup-s", "5")) * 1_000_000_000L;
+        int[] weights = parseMix(options.getOrDefault("mix",
+            "monthly=35,daily=20,entries=20,categories=10,savings=5,add=5,delete=5"));
+        Path out = options.containsKey("out") ? Paths.get(options.get("out")) : null;
+
+        if (!Files.exists(db)) {
+            int years = Integer.parseInt(options.getOrDefault("years", "3"));
+            long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+            System.out.printf("%s 이 없어 생성합니다. (%d명, %d년)%n", db, users, years);
+            LedgerGenerator.generate(db, users, years, seed);
+        }
+
+        DataService ds = new DataService("jdbc:sqlite:" + db);
+        try (LedgerHttpServer server = new LedgerHttpServer(ds,
+                 new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            server.start();
+            String base = "http://127.0.0.1:" + server.getPort();
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            String[] tokens = new String[users];
+            for (int u = 0; u < users; u++) tokens[u] = login(http, base, LedgerGenerator.userId(u));
+
+            long start = System.nanoTime();
+            long measureFrom = start + warmupNanos;
+            long end = measureFrom + durationNanos;
+            Client[] workers = new Client[clients];
+            for (int c = 0; c < clients; c++) {
+                workers[c] = new Client(http, base, tokens, weights, new SplittableRandom(2000 + c), measureFrom, end);
+                clientThreads.submit(workers[c]);
+            }
+            clientThreads.shutdown();
+            clientThreads.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+            report(workers, durationNanos, clients, out);
+        } finally {
+            ds.close();
+        }
+    }
+
+    private static String login(HttpClient http, String base, String userId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/login"))
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "{\"id\":" + Json.quote(userId) + ",\"password\":" + Json.quote(LedgerGenerator.PASSWORD) + "}"))
+            .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher m = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !m.find()) {
+            throw new IllegalStateException(userId + " 로그인 실패: " + response.body());
+        }
+        return m.group(1);
+    }
+
+    private static class Client implements Runnable {
+        final HttpClient http;
+        final String base;
+        final String[] tokens;
+        final int[] weights;
+        final SplittableRandom random;
+        final long measureFrom;
+        final long end;
+        final DataServiceBenchmark.SampleBuffer[] samples = new DataServiceBenchmark.SampleBuffer[OPS.length];
+        long failures;
+        final ArrayDeque<long[]> added = new ArrayDeque<>(); // {사용자 번호, 항목 ID}
+
+        Client(HttpClient http, String base, String[] tokens, int[] weights, SplittableRandom random,
+               long measureFrom, long end) {
+            this.http = http;
+            this.base = base;
+            this.tokens = tokens;
+            this.weights = weights;
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            for (int i = 0; i < OPS.length; i++) samples[i] = new DataServiceBenchmark.SampleBuffer();
+        }
+
+        @Override
+        public void run() {
+            long now;
+            do {
+                int op = pick();
+                if (op == 6 && added.isEmpty()) op = 5; // 지울 항목이 없으면 먼저 등록
+                int user = random.nextInt(tokens.length);
+
+                long t0 = System.nanoTime();
+                boolean ok;
+                try {
+                    ok = execute(op, user);
+                } catch (Exception e) {
+                    ok = false;
+                }
+                now = System.nanoTime();
+                if (t0 >= measureFrom) {
+                    samples[op].add(now - t0);
+                    if (!ok) failures++;
+                }
+            } while (now < end);
+        }
+
+        private boolean execute(int op, int user) throws Exception {
+            YearMonth month = YearMonth.of(2025, 12).minusMonths(random.nextInt(36));
+            switch (op) {
+                case 0: return get("/api/summary/monthly?month=" + month, user) != null;
+                case 1: return get("/api/summary/daily?date=" + month.atDay(1 + random.nextInt(28)), user) != null;
+                case 2: return get("/api/entries?date=" + month.atDay(1 + random.nextInt(28)), user) != null;
+                case 3: return get("/api/summary/categories?month=" + month, user) != null;
+                case 4: return get("/api/savings?month=" + month, user) != null;
+                case 5: {
+                    String body = "{\"date\":\"2025-12-" + String.format("%02d", 1 + random.nextInt(31)) +
+                                  "\",\"type\":\"EXPENSE\",\"category\":\"식비\",\"amount\":" +
+                                  (1_000 + random.nextInt(30_000)) + ",\"memo\":\"부하 테스트\"}";
+                    HttpResponse<String> response = http.send(
+                        request("/api/entries", user).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                    Matcher m = ID.matcher(response.body());
+                    if (response.statusCode() != 201 || !m.find()) return false;
+                    added.push(new long[] {user, Long.parseLong(m.group(1))});
+                    return true;
+                }
+                default: {
+                    long[] entry = added.pop();
+                    HttpResponse<String> response = http.send(
+                        request("/api/entries/" + entry[1], (int) entry[0]).DELETE().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                    return response.statusCode() == 200;
+                }
+            }
+        }
+
+        private String get(String path, int user) throws Exception {
+            HttpResponse<String> response = http.send(request(path, user).GET().build(),
+                                                      HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? response.body() : null;
+        }
+
+        private HttpRequest.Builder request(String path, int user) {
+            return HttpRequest.newBuilder(URI.create(base + path)).header("Authorization", "Bearer " + tokens[user]);
+        }
+
+        private int pick() {
+            int r = random.nextInt(weights[weights.length - 1]);
+            for (int i = 0; i < weights.length; i++) {
+                if (r < weights[i]) return i;
+            }
+            return weights.length - 1;
+        }
+    }
+
+    // "monthly=35,daily=20,..." -> 누적 가중치 배열 (OPS 순서)
+    private static int[] parseMix(String mix) {
+        int[] weights = new int[OPS.length];
+        for (String part : mix.split(",")) {
+            String[] kv = part.split("=");
+            int index = Arrays.asList(OPS).indexOf(kv[0].trim());
+            if (index < 0) throw new IllegalArgumentException("알 수 없는 작업: " + kv[0]);
+            weights[index] = Integer.parseInt(kv[1].trim());
+        }
+        for (int i = 1; i < weights.length; i++) weights[i] += weights[i - 1];
+        if (weights[weights.length - 1] == 0) throw new IllegalArgumentException("가중치 합이 0입니다.");
+        return weights;
+    }
+
+    private static void report(Client[] clients, long durationNanos, int clientCount, Path out) throws Exception {
+        double seconds = durationNanos / 1e9;
+        long failures = 0;
+        for (Client c : clients) failures += c.failures;
+
+        List<String> names = new ArrayList<>(Arrays.asList(OPS));
+        names.add("total");
+        List<long[]> sorted = new ArrayList<>();
+        List<long[]> all = new ArrayList<>();
+        for (int i = 0; i < OPS.length; i++) {
+            List<long[]> parts = new ArrayList<>();
+            for (Client c : clients) parts.add(c.samples[i].toArray());
+            long[] joined = concat(parts);
+            Arrays.sort(joined);
+            sorted.add(joined);
+            all.add(joined);
+        }
+        long[] total = concat(all);
+        Arrays.sort(total);
+        sorted.add(total);
+
+        System.out.printf("클라이언트 %d개, 측정 %.0f초, 실패 %,d건%n", clientCount, seconds, failures);
+        System.out.printf("%-10s %10s %10s %10s %10s %10s%n", "op", "req/s", "p50(us)", "p90(us)", "p99(us)", "max(us)");
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"clients\": ").append(clientCount)
+            .append(",\n  \"durationSeconds\": ").append(seconds)
+            .append(",\n  \"failures\": ").append(failures)
+            .append(",\n  \"operations\": [\n");
+        for (int i = 0; i < names.size(); i++) {
+            long[] s = sorted.get(i);
+            double perSecond = s.length / seconds;
+            System.out.printf(Locale.ROOT, "%-10s %10.1f %10.1f %10.1f %10.1f %10.1f%n", names.get(i), perSecond,
+                DataServiceBenchmark.percentile(s, 0.50) / 1e3, DataServiceBenchmark.percentile(s, 0.90) / 1e3,
+                DataServiceBenchmark.percentile(s, 0.99) / 1e3, s.length == 0 ? 0 : s[s.length - 1] / 1e3);
+            json.append(String.format(Locale.ROOT,
+                "    {\"operation\": %s, \"requests\": %d, \"requestsPerSecond\": %.1f, \"p50Nanos\": %d, " +
+                "\"p90Nanos\": %d, \"p99Nanos\": %d}%s%n",
+                Json.quote(names.get(i)), s.length, perSecond,
+                DataServiceBenchmark.percentile(s, 0.50), DataServiceBenchmark.percentile(s, 0.90),
+                DataServiceBenchmark.percentile(s, 0.99), i + 1 < names.size() ? "," : ""));
+        }
+        json.append("  ]\n}\n");
+
+        if (out != null) {
+            if (out.getParent() != null) Files.createDirectories(out.getParent());
+            try (BufferedWriter w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+                w.write(json.toString());
+            }
+        }
+    }
+
+    private static long[] concat(List<long[]> parts) {
+        int size = 0;
+        for (long[] p : parts) size += p.length;
+        long[] joined = new long[size];
+        int pos = 0;
+        for (long[] p : parts) {
+            System.arraycopy(p, 0, joined, pos, p.length);
+            pos += p.length;
+        }
+        return joined;
+    }
+}
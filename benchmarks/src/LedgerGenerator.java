@@ -0,0 +1,141 @@
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Random;
+
+// 여러 사용자, 여러 해에 걸친 현실적인 가계부 데이터를 시드 값으로부터 결정적으로 만든다.
+//   - 매달 25일 월급(사용자별 금액), 가끔 용돈/기타수익
+//   - 하루 0~4건의 지출, 카테고리는 식비 > 교통비 > 생활용품 > 취미/문화 > 기타지출 순으로 치우침
+//
+// 사용법: LedgerGenerator --db target/load.db --users 100 --years 5 --seed 42
+// 같은 옵션이면 항상 같은 데이터가 만들어진다. 기존 파일에 실행하면 그 사용자들의 항목이 추가된다.
+public class LedgerGenerator {
+
+    static final String PASSWORD = "1234";
+
+    private static final String[] EXPENSE_CATS = {"식비", "교통비", "생활용품", "취미/문화", "기타지출"};
+    // 카테고리 선택 가중치 (누적 분포로 사용)
+    private static final int[] EXPENSE_WEIGHTS = {45, 25, 15, 10, 5};
+    // 카테고리별 대표 금액 (원), 실제 금액은 이 값을 중심으로 로그정규 분포
+    private static final long[] EXPENSE_MEDIANS = {12_000, 3_000, 25_000, 40_000, 30_000};
+    private static final String[][] EXPENSE_MEMOS = {
+        {"점심 식사", "저녁 식사", "카페", "편의점", "배달 음식", "장보기"},
+        {"대중교통 카드 충전", "택시", "버스", "지하철", "주유"},
+        {"생활용품 구매", "세제", "휴지", "주방용품"},
+        {"영화", "도서 구입", "공연", "게임", "운동"},
+        {"경조사비", "병원", "기타"}
+    };
+    private static final int BATCH_SIZE = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        Path db = Paths.get(options.getOrDefault("db", "target/load.db"));
+        int users = Integer.parseInt(options.getOrDefault("users", "100"));
+        int years = Integer.parseInt(options.getOrDefault("years", "5"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        long start = System.nanoTime();
+        long rows = generate(db, users, years, seed);
+        System.out.printf("%,d명, %,d건 생성 (%.1f초): %s%n", users, rows, (System.nanoTime() - start) / 1e9, db.toAbsolutePath());
+    }
+
+    static String userId(int index) {
+        return String.format("user%04d", index);
+    }
+
+    public static long generate(Path db, int users, int years, long seed) throws SQLException {
+        // 스키마와 사용자 계정은 DataService 로 만든다.
+        DataService schema = new DataService("jdbc:sqlite:" + db);
+        for (int u = 0; u < users; u++) {
+            schema.registerUser(userId(u), PASSWORD);
+        }
+        schema.close();
+
+        LocalDate last = LocalDate.of(2025, 12, 31);
+        LocalDate first = last.minusYears(years).plusDays(1);
+        long rows = 0;
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + db)) {
+            MemoGrams.register(conn); // 메모 검색 인덱스 트리거가 쓰는 함수
+            conn.setAutoCommit(false);
+            int[] expenseIds = LedgerSeeder.categoryIds(conn, EXPENSE_CATS);
+            int[] incomeIds = LedgerSeeder.categoryIds(conn, new String[]{"월급", "용돈", "기타수익"});
+
+            try (PreparedStatement pstmt = conn.prepareStatement(SqliteLedgerStore.INSERT_ENTRY_SQL)) {
+                for (int u = 0; u < users; u++) {
+                    Random random = new Random(seed * 31 + u);
+                    String userId = userId(u);
+                    long salary = 2_500_000 + random.nextInt(26) * 100_000L;
+
+                    for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                        if (day.getDayOfMonth() == 25) {
+                            add(pstmt, userId, day, EntryType.INCOME, incomeIds[0], salary, day.getMonthValue() + "월 월급");
+                            rows++;
+                        }
+                        if (random.nextInt(60) == 0) {
+                            boolean allowance = random.nextBoolean();
+                            add(pstmt, userId, day, EntryType.INCOME, incomeIds[allowance ? 1 : 2],
+                                roundTo(lognormal(random, allowance ? 100_000 : 200_000, 0.6), 1_000),
+                                allowance ? "용돈" : "중고 거래");
+                            rows++;
+                        }
+
+                        int count = random.nextInt(5);
+                        for (int i = 0; i < count; i++) {
+                            int cat = pickWeighted(random, EXPENSE_WEIGHTS);
+                            String[] memos = EXPENSE_MEMOS[cat];
+                            add(pstmt, userId, day, EntryType.EXPENSE, expenseIds[cat],
+                                roundTo(lognormal(random, EXPENSE_MEDIANS[cat], 0.7), 100),
+                                memos[random.nextInt(memos.length)]);
+                            rows++;
+                            if (rows % BATCH_SIZE == 0) pstmt.executeBatch();
+                        }
+                    }
+                    pstmt.executeBatch();
+                    conn.commit();
+                }
+            }
+            conn.setAutoCommit(true);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE");
+            }
+        }
+        return rows;
+    }
+
+    private static void add(PreparedStatement pstmt, String userId, LocalDate day, EntryType type, int categoryId,
+                            long amount, String memo) throws SQLException {
+        pstmt.setString(1, userId);
+        pstmt.setLong(2, day.toEpochDay());
+        pstmt.setInt(3, type.getCode());
+        pstmt.setInt(4, categoryId);
+        pstmt.setLong(5, amount);
+        pstmt.setString(6, memo);
+        pstmt.addBatch();
+    }
+
+    static int pickWeighted(Random random, int[] weights) {
+        int total = 0;
+        for (int w : weights) total += w;
+        int r = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            r -= weights[i];
+            if (r < 0) return i;
+        }
+        return weights.length - 1;
+    }
+
+    private static long lognormal(Random random, long median, double sigma) {
+        return Math.max(1, Math.round(median * Math.exp(random.nextGaussian() * sigma)));
+    }
+
+    private static long roundTo(long value, long unit) {
+        return Math.max(unit, (value + unit / 2) / unit * unit);
+    }
+}
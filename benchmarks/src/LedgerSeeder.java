@@ -0,0 +1,171 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.Stream;
+
+// 벤치마크용 DB 파일(또는 MappedLedgerStore 디렉터리)을 만든다. 같은 행 수의 파일이 이미 있으면 다시 쓰지 않는다.
+// 측정은 scratchCopy 로 만든 복사본에서 하므로 쓰기 연산(addEntry)이 시드 파일에 쌓이지 않는다.
+public class LedgerSeeder {
+
+    static final LocalDate LAST_DAY = LocalDate.of(2025, 12, 31);
+    static final int SPAN_DAYS = 3650; // 10년
+
+    private static final String[] INCOME_CATS = {"월급", "용돈", "기타수익"};
+    private static final String[] EXPENSE_CATS = {"식비", "교통비", "생활용품", "취미/문화", "기타지출"};
+    private static final int BATCH_SIZE = 10_000;
+    private static final String[] SQLITE_SIDE_FILES = {"-wal", "-shm"};
+
+    public static Path seed(Path dataDir, long rows, String userId) throws IOException, SQLException {
+        Files.createDirectories(dataDir);
+        Path db = dataDir.resolve("ledger-" + rows + ".db");
+        if (Files.exists(db)) return db;
+
+        Path tmp = dataDir.resolve("ledger-" + rows + ".db.tmp");
+        Files.deleteIfExists(tmp);
+
+        // 스키마는 앱과 똑같이 DataService 가 만든다.
+        DataService schema = new DataService("jdbc:sqlite:" + tmp);
+        schema.registerUser(userId, "bench");
+        schema.close();
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + tmp)) {
+            MemoGrams.register(conn); // 메모 검색 인덱스 트리거가 쓰는 함수
+            conn.setAutoCommit(false);
+            int[] incomeIds = categoryIds(conn, INCOME_CATS);
+            int[] expenseIds = categoryIds(conn, EXPENSE_CATS);
+            long firstDay = LAST_DAY.toEpochDay() - SPAN_DAYS + 1;
+            Random random = new Random(rows);
+
+            try (PreparedStatement pstmt = conn.prepareStatement(SqliteLedgerStore.INSERT_ENTRY_SQL)) {
+                for (long i = 0; i < rows; i++) {
+                    boolean income = random.nextInt(20) == 0;
+                    pstmt.setString(1, userId);
+                    pstmt.setLong(2, firstDay + (i * SPAN_DAYS / rows));
+                    pstmt.setInt(3, (income ? EntryType.INCOME : EntryType.EXPENSE).getCode());
+                    pstmt.setInt(4, income ? incomeIds[random.nextInt(incomeIds.length)]
+                                           : expenseIds[random.nextInt(expenseIds.length)]);
+                    pstmt.setLong(5, income ? 100_000 + random.nextInt(3_000_000) : 1_000 + random.nextInt(100_000));
+                    pstmt.setString(6, "bench " + i);
+                    pstmt.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        pstmt.executeBatch();
+                        if ((i + 1) % (BATCH_SIZE * 50) == 0) {
+                            conn.commit();
+                            System.out.printf("  seeding %,d / %,d%n", i + 1, rows);
+                        }
+                    }
+                }
+                pstmt.executeBatch();
+            }
+            conn.commit();
+            conn.setAutoCommit(true);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE");
+            }
+        }
+        Files.move(tmp, db, StandardCopyOption.ATOMIC_MOVE);
+        return db;
+    }
+
+    // 같은 분포의 데이터를 MappedLedgerStore 디렉터리로 만든다.
+    public static Path seedMapped(Path dataDir, long rows, String userId) throws IOException, StorageException {
+        Files.createDirectories(dataDir);
+        Path dir = dataDir.resolve("ledger-" + rows + ".ledger");
+        if (Files.exists(dir)) return dir;
+
+        Path tmp = dataDir.resolve("ledger-" + rows + ".ledger.tmp");
+        deleteRecursively(tmp);
+
+        try (MappedLedgerStore store = new MappedLedgerStore(tmp);
+             LedgerStore.BatchWriter writer = store.openBatchWriter()) {
+            store.registerUser(userId, "bench");
+            long firstDay = LAST_DAY.toEpochDay() - SPAN_DAYS + 1;
+            Random random = new Random(rows);
+            for (long i = 0; i < rows; i++) {
+                boolean income = random.nextInt(20) == 0;
+                writer.add(new AccountEntry(userId, LocalDate.ofEpochDay(firstDay + (i * SPAN_DAYS / rows)),
+                    income ? EntryType.INCOME : EntryType.EXPENSE,
+                    income ? INCOME_CATS[random.nextInt(INCOME_CATS.length)]
+                           : EXPENSE_CATS[random.nextInt(EXPENSE_CATS.length)],
+                    income ? 100_000 + random.nextInt(3_000_000) : 1_000 + random.nextInt(100_000),
+                    "bench " + i));
+                if ((i + 1) % (BATCH_SIZE * 50) == 0) {
+                    writer.commit();
+                    System.out.printf("  seeding %,d / %,d%n", i + 1, rows);
+                }
+            }
+            writer.commit();
+        }
+        Files.move(tmp, dir, StandardCopyOption.ATOMIC_MOVE);
+        return dir;
+    }
+
+    // 시드 파일(또는 디렉터리)을 이번 실행에서만 쓸 복사본으로 만든다. 이전 실행이 남긴 복사본은 지운다.
+    // SQLite 파일이면 -wal/-shm 파일도 함께 복사한다. 측정이 끝나면 deleteScratch 로 지운다.
+    public static Path scratchCopy(Path seeded) throws IOException {
+        Path scratch = seeded.resolveSibling(seeded.getFileName() + ".run");
+        deleteScratch(scratch);
+        if (Files.isDirectory(seeded)) {
+            try (Stream<Path> files = Files.walk(seeded)) {
+                for (Path path : (Iterable<Path>) files::iterator) {
+                    Path target = scratch.resolve(seeded.relativize(path).toString());
+                    if (Files.isDirectory(path)) {
+                        Files.createDirectories(target);
+                    } else {
+                        Files.copy(path, target);
+                    }
+                }
+            }
+        } else {
+            Files.copy(seeded, scratch);
+            for (String suffix : SQLITE_SIDE_FILES) {
+                Path side = seeded.resolveSibling(seeded.getFileName() + suffix);
+                if (Files.exists(side)) Files.copy(side, scratch.resolveSibling(scratch.getFileName() + suffix));
+            }
+        }
+        return scratch;
+    }
+
+    public static void deleteScratch(Path scratch) throws IOException {
+        deleteRecursively(scratch);
+        for (String suffix : SQLITE_SIDE_FILES) {
+            Files.deleteIfExists(scratch.resolveSibling(scratch.getFileName() + suffix));
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    static int[] categoryIds(Connection conn, String[] names) throws SQLException {
+        int[] ids = new int[names.length];
+        try (PreparedStatement insert = conn.prepareStatement("INSERT OR IGNORE INTO categories (name) VALUES (?)");
+             PreparedStatement select = conn.prepareStatement("SELECT category_id FROM categories WHERE name = ?")) {
+            for (int i = 0; i < names.length; i++) {
+                insert.setString(1, names[i]);
+                insert.executeUpdate();
+                select.setString(1, names[i]);
+                try (ResultSet rs = select.executeQuery()) {
+                    rs.next();
+                    ids[i] = rs.getInt(1);
+                }
+            }
+        }
+        return ids;
+    }
+}
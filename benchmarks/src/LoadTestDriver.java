@@ -0,0 +1,226 @@
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+// 여러 스레드에서 화면 동작과 같은 읽기/쓰기 혼합 부하를 DataService 에 걸고 처리량과 지연 시간 분위수를 보고한다.
+//   dashboard : 대시보드 갱신 (DashboardSnapshot)
+//   calendar  : 달력 월 이동 (한 달 일별 합계)
+//   day       : 날짜 클릭 (하루 항목 목록)
+//   add/delete: 항목 등록/삭제
+//
+// 사용법: LoadTestDriver --db target/load.db --users 100 --threads 16 --duration-s 30 --warmup-s 5
+//                       --mix dashboard=40,calendar=30,day=15,add=10,delete=5 --out target/load-results.json
+// DB 파일이 없으면 LedgerGenerator 로 먼저 만든다. (--years, --seed)
+public class LoadTestDriver {
+
+    private static final String[] OPS = {"dashboard", "calendar", "day", "add", "delete"};
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = Options.parse(args);
+        Path db = Paths.get(options.getOrDefault("db", "target/load.db"));
+        int users = Integer.parseInt(options.getOrDefault("users", "100"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        long durationNanos = Long.parseLong(options.getOrDefault("duration-s", "30")) * 1_000_000_000L;
+        long warmupNanos = Long.parseLong(options.getOrDefault("warmup-s", "5")) * 1_000_000_000L;
+        int[] weights = parseMix(options.getOrDefault("mix", "dashboard=40,calendar=30,day=15,add=10,delete=5"));
+        Path out = options.containsKey("out") ? Paths.get(options.get("out")) : null;
+
+        if (!Files.exists(db)) {
+            int years = Integer.parseInt(options.getOrDefault("years", "3"));
+            long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+            System.out.printf("%s 이 없어 생성합니다. (%d명, %d년)%n", db, users, years);
+            LedgerGenerator.generate(db, users, years, seed);
+        }
+
+        DataService ds = new DataService("jdbc:sqlite:" + db);
+        Worker[] workers = new Worker[threads];
+        CountDownLatch done = new CountDownLatch(threads);
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Worker(ds, users, weights, new SplittableRandom(1000 + t), measureFrom, end, done);
+            Thread thread = new Thread(workers[t], "load-" + t);
+            thread.start();
+        }
+        done.await();
+        ds.close();
+
+        report(workers, durationNanos, threads, out);
+    }
+
+    private static class Worker implements Runnable {
+        final DataService ds;
+        final int users;
+        final int[] weights;
+        final SplittableRandom random;
+        final long measureFrom;
+        final long end;
+        final CountDownLatch done;
+        final DataServiceBenchmark.SampleBuffer[] samples = new DataServiceBenchmark.SampleBuffer[OPS.length];
+        final LongAdder failures = new LongAdder();
+        final ArrayDeque<AccountEntry> added = new ArrayDeque<>();
+
+        Worker(DataService ds, int users, int[] weights, SplittableRandom random, long measureFrom, long end,
+               CountDownLatch done) {
+            this.ds = ds;
+            this.users = users;
+            this.weights = weights;
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            this.done = done;
+            for (int i = 0; i < OPS.length; i++) samples[i] = new DataServiceBenchmark.SampleBuffer();
+        }
+
+        @Override
+        public void run() {
+            try {
+                long now;
+                do {
+                    int op = pick();
+                    if (op == 4 && added.isEmpty()) op = 3; // 지울 항목이 없으면 먼저 등록
+                    String userId = LedgerGenerator.userId(random.nextInt(users));
+
+                    long t0 = System.nanoTime();
+                    boolean ok = execute(op, userId);
+                    now = System.nanoTime();
+                    if (t0 >= measureFrom) {
+                        samples[op].add(now - t0);
+                        if (!ok) failures.increment();
+                    }
+                } while (now < end);
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private boolean execute(int op, String userId) {
+            switch (op) {
+                case 0:
+                    return ds.getDashboardSnapshot(userId) != null;
+                case 1:
+                    return ds.getMonthSummary(userId, randomMonth()) != null;
+                case 2:
+                    return ds.getEntriesByDate(userId, randomMonth().atDay(1 + random.nextInt(28))) != null;
+                case 3: {
+                    AccountEntry entry = new AccountEntry(userId, LocalDate.of(2025, 12, 1 + random.nextInt(31)),
+                        EntryType.EXPENSE, "식비", 1_000 + random.nextInt(30_000), "부하 테스트");
+                    if (!ds.addEntry(entry)) return false;
+                    added.push(entry);
+                    return true;
+                }
+                default: {
+                    AccountEntry entry = added.pop();
+                    return ds.deleteEntry(entry.getUserId(), entry.getId());
+                }
+            }
+        }
+
+        private YearMonth randomMonth() {
+            return YearMonth.of(2025, 12).minusMonths(random.nextInt(36));
+        }
+
+        private int pick() {
+            int r = random.nextInt(weights[weights.length - 1]);
+            for (int i = 0; i < weights.length; i++) {
+                if (r < weights[i]) return i;
+            }
+            return weights.length - 1;
+        }
+    }
+
+    // "dashboard=40,calendar=30,..." -> 누적 가중치 배열 (OPS 순서)
+    private static int[] parseMix(String mix) {
+        int[] weights = new int[OPS.length];
+        for (String part : mix.split(",")) {
+            String[] kv = part.split("=");
+            int index = Arrays.asList(OPS).indexOf(kv[0].trim());
+            if (index < 0) throw new IllegalArgumentException("알 수 없는 작업: " + kv[0]);
+            weights[index] = Integer.parseInt(kv[1].trim());
+        }
+        for (int i = 1; i < weights.length; i++) weights[i] += weights[i - 1];
+        if (weights[weights.length - 1] == 0) throw new IllegalArgumentException("가중치 합이 0입니다.");
+        return weights;
+    }
+
+    private static void report(Worker[] workers, long durationNanos, int threads, Path out) throws Exception {
+        Map<String, long[]> merged = new LinkedHashMap<>();
+        long failures = 0;
+        List<long[]> all = new ArrayList<>();
+        for (int i = 0; i < OPS.length; i++) {
+            List<long[]> parts = new ArrayList<>();
+            for (Worker w : workers) parts.add(w.samples[i].toArray());
+            long[] joined = concat(parts);
+            Arrays.sort(joined);
+            merged.put(OPS[i], joined);
+            all.add(joined);
+        }
+        for (Worker w : workers) failures += w.failures.sum();
+        long[] total = concat(all);
+        Arrays.sort(total);
+        merged.put("total", total);
+
+        double seconds = durationNanos / 1e9;
+        System.out.printf("스레드 %d개, 측정 %.0f초, 실패 %,d건%n", threads, seconds, failures);
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %10s%n", "op", "ops/s", "p50(us)", "p90(us)", "p99(us)", "p999(us)", "max(us)");
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"threads\": ").append(threads)
+            .append(",\n  \"durationSeconds\": ").append(seconds)
+            .append(",\n  \"failures\": ").append(failures)
+            .append(",\n  \"operations\": [\n");
+        int n = 0;
+        for (Map.Entry<String, long[]> e : merged.entrySet()) {
+            long[] s = e.getValue();
+            double opsPerSecond = s.length / seconds;
+            System.out.printf(Locale.ROOT, "%-10s %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n", e.getKey(), opsPerSecond,
+                us(s, 0.50), us(s, 0.90), us(s, 0.99), us(s, 0.999), s.length == 0 ? 0 : s[s.length - 1] / 1e3);
+            json.append(String.format(Locale.ROOT,
+                "    {\"operation\": %s, \"ops\": %d, \"opsPerSecond\": %.1f, \"p50Nanos\": %d, \"p90Nanos\": %d, " +
+                "\"p99Nanos\": %d, \"p999Nanos\": %d}%s%n",
+                Json.quote(e.getKey()), s.length, opsPerSecond,
+                DataServiceBenchmark.percentile(s, 0.50), DataServiceBenchmark.percentile(s, 0.90),
+                DataServiceBenchmark.percentile(s, 0.99), DataServiceBenchmark.percentile(s, 0.999),
+                ++n < merged.size() ? "," : ""));
+        }
+        json.append("  ]\n}\n");
+
+        if (out != null) {
+            if (out.getParent() != null) Files.createDirectories(out.getParent());
+            try (BufferedWriter w = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+                w.write(json.toString());
+            }
+        }
+    }
+
+    private static double us(long[] sorted, double p) {
+        return DataServiceBenchmark.percentile(sorted, p) / 1e3;
+    }
+
+    private static long[] concat(List<long[]> parts) {
+        int size = 0;
+        for (long[] p : parts) size += p.length;
+        long[] joined = new long[size];
+        int pos = 0;
+        for (long[] p : parts) {
+            System.arraycopy(p, 0, joined, pos, p.length);
+            pos += p.length;
+        }
+        return joined;
+    }
+}
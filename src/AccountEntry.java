@@ -4,12 +4,12 @@ public class AccountEntry {
     private int id; 
     private String userId;
     private LocalDate date;
-    private String type; // "수익" 또는 "지출"
+    private EntryType type;
     private String category;
     private long amount;
     private String memo;
 
-    public AccountEntry(int id, String userId, LocalDate date, String type, String category, long amount, String memo) {
+    public AccountEntry(int id, String userId, LocalDate date, EntryType type, String category, long amount, String memo) {
         this.id = id;
         this.userId = userId;
         this.date = date;
@@ -20,7 +20,7 @@ public class AccountEntry {
     }
 
     // 새 항목 등록 시
-    public AccountEntry(String userId, LocalDate date, String type, String category, long amount, String memo) {
+    public AccountEntry(String userId, LocalDate date, EntryType type, String category, long amount, String memo) {
         this(-1, userId, date, type, category, amount, memo);
     }
     
@@ -28,7 +28,7 @@ public class AccountEntry {
     public int getId() { return id; }
     public String getUserId() { return userId; }
     public LocalDate getDate() { return date; }
-    public String getType() { return type; }
+    public EntryType getType() { return type; }
     public String getCategory() { return category; }
     public long getAmount() { return amount; }
     public String getMemo() { return memo; }
@@ -39,7 +39,7 @@ public class AccountEntry {
     @Override
     public String toString() {
         return String.format("[%s] %s: %,d원 (%s)", 
-                             type.equals("수익") ? "수익" : "지출", 
+                             type.getLabel(), 
                              category, amount, memo);
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// 사용자별 UserRollup 을 메모리에 들고 있는 LRU 캐시.
+// 처음 조회할 때 DB에서 한 번 집계하고, 이후에는 항목 추가/삭제 시 차이만 반영한다.
+// 메모리는 대부분 사용자별 열 데이터(항목 행)이므로 사용자 수가 아니라 캐시한 행 수의 합으로 크기를 제한한다.
+public class AggregateCache {
+
+    @FunctionalInterface
+    public interface Loader {
+        UserRollup load(String userId) throws StorageException;
+    }
+
+    private static final int LOAD_RETRIES = 3;
+
+    private final Loader loader;
+    private final Map<String, UserRollup> rollups;
+    private final long maxRows;
+    private long cachedRows = 0; // 캐시한 사용자들의 항목 행 수 합계
+    // 로드 도중에 쓰기가 끼어들었는지 확인하기 위한 쓰기 횟수 (쓰기 시작/끝, 캐시 반영마다 늘어난다)
+    private long writeVersion = 0;
+    // 저장소에 쓰는 중인 사용자 -> 진행 중인 쓰기 수 (beginWrite ~ endWrite)
+    // 커밋과 캐시 반영 사이에 로드가 끝나면 새 행이 이미 들어 있으므로 그 로드는 캐시하지 않는다. (두 번 더해지지 않도록)
+    private final Map<String, Integer> writesInFlight = new HashMap<>();
+
+    public AggregateCache(Loader loader, long maxRows) {
+        this.loader = loader;
+        this.maxRows = maxRows;
+        // 접근 순서 LinkedHashMap: 가장 오래 쓰이지 않은 사용자부터 내보낸다.
+        this.rollups = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    // 사용자의 집계값을 잠금 안에서 읽는다. 캐시에 없으면 DB에서 로드한다.
+    public <T> T read(String userId, Function<UserRollup, T> reader) throws StorageException {
+        synchronized (this) {
+            UserRollup rollup = rollups.get(userId);
+            if (rollup != null) return reader.apply(rollup);
+        }
+
+        UserRollup loaded = null;
+        for (int attempt = 0; attempt < LOAD_RETRIES; attempt++) {
+            long version;
+            synchronized (this) {
+                version = writeVersion;
+            }
+            loaded = loader.load(userId); // 잠금 밖에서 DB 조회
+            synchronized (this) {
+                UserRollup current = rollups.get(userId);
+                if (current != null) return reader.apply(current);
+                if (version == writeVersion && !writesInFlight.containsKey(userId)) {
+                    rollups.put(userId, loaded);
+                    cachedRows += loaded.rowCount();
+                    evictOverLimit();
+                    return reader.apply(loaded);
+                }
+            }
+        }
+        // 쓰기가 계속 끼어들면 캐시하지 않고 마지막 로드 결과만 사용한다.
+        synchronized (this) {
+            return reader.apply(loaded);
+        }
+    }
+
+    // 저장소에 쓰기 전에 호출하고, 캐시에 반영한 뒤(또는 실패한 뒤) endWrite 를 반드시 호출한다.
+    public synchronized void beginWrite(String userId) {
+        writeVersion++;
+        writesInFlight.merge(userId, 1, Integer::sum);
+    }
+
+    public synchronized void endWrite(String userId) {
+        writeVersion++;
+        writesInFlight.computeIfPresent(userId, (id, count) -> count == 1 ? null : count - 1);
+    }
+
+    // 저장소에 반영한 뒤 beginWrite ~ endWrite 사이에서 호출한다. entry 는 ID 가 정해진 항목이어야 한다.
+    public synchronized void apply(AccountEntry entry, boolean deleted) {
+        writeVersion++;
+        UserRollup rollup = rollups.get(entry.getUserId());
+        if (rollup == null) return;
+        long rows = rollup.rowCount();
+        if (deleted) {
+            rollup.remove(entry);
+        } else {
+            rollup.add(entry);
+        }
+        resized(rollup, rows);
+    }
+
+    // 추가한 항목을 apply 처럼 반영하고, 같은 잠금 안에서 그 항목으로 예산 기준선을 새로 넘었는지 확인한다.
+    // (사이에 다른 쓰기가 끼어들면 같은 기준선을 두 번 알리거나 놓칠 수 있으므로) 알림은 alerts 에 넘긴다.
+    // 캐시에 없는 사용자이면 확인할 집계가 없으므로 false
+    public synchronized boolean applyAdded(AccountEntry entry, Consumer<BudgetAlert> alerts) {
+        writeVersion++;
+        UserRollup rollup = rollups.get(entry.getUserId());
+        if (rollup == null) return false;
+        rollup.add(entry);
+        resized(rollup, rollup.rowCount() - 1);
+        BudgetAlert alert = rollup.checkBudget(entry);
+        if (alert != null) alerts.accept(alert);
+        return true;
+    }
+
+    // 항목 하나로 나타낼 수 없는 변경(반복 규칙 추가/삭제, 발생 확정)을 캐시된 집계에 잠금 안에서 반영한다.
+    // 캐시에 없는 사용자이면 아무것도 하지 않는다. (다음 로드에서 저장소의 값을 읽는다)
+    public synchronized void update(String userId, Consumer<UserRollup> change) {
+        writeVersion++;
+        UserRollup rollup = rollups.get(userId);
+        if (rollup == null) return;
+        long rows = rollup.rowCount();
+        change.accept(rollup);
+        resized(rollup, rows);
+    }
+
+    // 대량 변경 등으로 차이를 반영하기 어려울 때 다음 조회에서 다시 로드하게 한다.
+    public synchronized void invalidate(String userId) {
+        writeVersion++;
+        UserRollup removed = rollups.remove(userId);
+        if (removed != null) cachedRows -= removed.rowCount();
+    }
+
+    public synchronized void clear() {
+        writeVersion++;
+        rollups.clear();
+        cachedRows = 0;
+    }
+
+    synchronized long getCachedRows() {
+        return cachedRows;
+    }
+
+    // 방금 쓰인 rollup 의 행 수가 rowsBefore 에서 바뀌었을 때
+    private void resized(UserRollup rollup, long rowsBefore) {
+        cachedRows += rollup.rowCount() - rowsBefore;
+        evictOverLimit();
+    }
+
+    // 행 수 합계가 한도를 넘으면 가장 오래 쓰이지 않은 사용자부터 내보낸다.
+    // 방금 쓰인 사용자(접근 순서의 마지막)는 혼자 한도보다 커도 남긴다. (매번 다시 로드하지 않도록)
+    private void evictOverLimit() {
+        Iterator<UserRollup> eldest = rollups.values().iterator();
+        while (cachedRows > maxRows && rollups.size() > 1) {
+            cachedRows -= eldest.next().rowCount();
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+import javax.swing.SwingUtilities;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// DataService 호출을 전용 실행기(가상 스레드)에서 돌려 Swing EDT 가 SQLite 를 기다리지 않게 한다.
+// 결과는 CompletableFuture 로 돌려주며, 화면 갱신은 EDT 실행기로 넘겨서 처리한다.
+//   asyncData.getTotalBalance(id).thenAcceptAsync(balance -> label.setText(...), AsyncDataService.EDT);
+public class AsyncDataService {
+
+    // Swing 컴포넌트를 건드리는 후속 작업은 이 실행기로 넘긴다.
+    public static final Executor EDT = SwingUtilities::invokeLater;
+
+    private static AsyncDataService instance;
+
+    private final Supplier<DataService> dataService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // DataService 생성(스키마 마이그레이션 포함)도 첫 호출 때 백그라운드에서 일어난다.
+    public static synchronized AsyncDataService getInstance() {
+        if (instance == null) {
+            instance = new AsyncDataService(DataService::getInstance);
+        }
+        return instance;
+    }
+
+    public AsyncDataService(Supplier<DataService> dataService) {
+        this.dataService = dataService;
+    }
+
+    private <T> CompletableFuture<T> submit(Function<DataService, T> call) {
+        return CompletableFuture.supplyAsync(() -> call.apply(dataService.get()), executor);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // --- 회원 기능 ---
+
+    public CompletableFuture<Boolean> registerUser(String id, String password) {
+        return submit(ds -> ds.registerUser(id, password));
+    }
+
+    public CompletableFuture<Boolean> login(String id, String password) {
+        return submit(ds -> ds.login(id, password));
+    }
+
+    // --- 가계부 데이터 기능 (CRUD) ---
+
+    public CompletableFuture<Boolean> addEntry(AccountEntry entry) {
+        return submit(ds -> ds.addEntry(entry));
+    }
+
+    public CompletableFuture<Boolean> deleteEntry(String userId, int entryId) {
+        return submit(ds -> ds.deleteEntry(userId, entryId));
+    }
+
+    public CompletableFuture<List<AccountEntry>> getEntriesByDate(String userId, LocalDate date) {
+        return submit(ds -> ds.getEntriesByDate(userId, date));
+    }
+
+    public CompletableFuture<List<AccountEntry>> searchEntries(EntryQuery query, AccountEntry after, int limit) {
+        return submit(ds -> ds.searchEntries(query, after, limit));
+    }
+
+    public CompletableFuture<RangeSummary> getRangeSummary(String userId, LocalDate from, LocalDate to) {
+        return submit(ds -> ds.getRangeSummary(userId, from, to));
+    }
+
+    public CompletableFuture<List<AccountEntry>> searchMemo(String userId, String text, int limit) {
+        return submit(ds -> ds.searchMemo(userId, text, limit));
+    }
+
+    // --- 반복 항목 ---
+
+    public CompletableFuture<Boolean> addRecurringRule(RecurringRule rule) {
+        return submit(ds -> ds.addRecurringRule(rule));
+    }
+
+    public CompletableFuture<Boolean> deleteRecurringRule(String userId, int ruleId) {
+        return submit(ds -> ds.deleteRecurringRule(userId, ruleId));
+    }
+
+    public CompletableFuture<Boolean> endRecurringRule(String userId, int ruleId, LocalDate endDate) {
+        return submit(ds -> ds.endRecurringRule(userId, ruleId, endDate));
+    }
+
+    public CompletableFuture<List<RecurringRule.Occurrence>> getRecurringOccurrences(String userId, LocalDate from,
+                                                                                    LocalDate to) {
+        return submit(ds -> ds.getRecurringOccurrences(userId, from, to));
+    }
+
+    public CompletableFuture<Boolean> materializeOccurrence(String userId, int ruleId, LocalDate date) {
+        return submit(ds -> ds.materializeOccurrence(userId, ruleId, date));
+    }
+
+    // --- 카테고리 예산 ---
+
+    // 항목을 저장한 백그라운드 스레드에서 불린다. 화면 갱신은 EDT 로 넘긴다.
+    // 등록은 바로 해야 이후 저장의 알림을 놓치지 않으므로 실행기로 넘기지 않는다.
+    public void addBudgetListener(Consumer<BudgetAlert> listener) {
+        dataService.get().addBudgetListener(listener);
+    }
+
+    public void removeBudgetListener(Consumer<BudgetAlert> listener) {
+        dataService.get().removeBudgetListener(listener);
+    }
+
+    public CompletableFuture<Map<String, Long>> getBudgets(String userId) {
+        return submit(ds -> ds.getBudgets(userId));
+    }
+
+    public CompletableFuture<Boolean> setBudget(String userId, String category, long limit) {
+        return submit(ds -> ds.setBudget(userId, category, limit));
+    }
+
+    public CompletableFuture<Boolean> deleteBudget(String userId, String category) {
+        return submit(ds -> ds.deleteBudget(userId, category));
+    }
+
+    // CSV 가져오기. 진행 상황은 백그라운드 스레드에서 listener 로 전달된다.
+    public CompletableFuture<EntryImporter.ImportResult> importCsv(Path file, String userId, ImportMapping mapping,
+                                                                  EntryImporter.ProgressListener listener) {
+        return submit(ds -> {
+            try {
+                return new EntryImporter(ds).importCsv(file, userId, mapping, listener);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    // 기간 내 항목을 파일로 내보낸다. 완료되면 내보낸 행 수
+    public CompletableFuture<Long> exportEntries(String userId, LocalDate from, LocalDate to, Path file) {
+        return submit(ds -> {
+            try {
+                return new EntryExporter(ds).export(userId, from, to, EntryExporter.formatOf(file), file);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    // --- 통계 기능 ---
+
+    public CompletableFuture<Long> getTotalBalance(String userId) {
+        return submit(ds -> ds.getTotalBalance(userId));
+    }
+
+    public CompletableFuture<Long> getCurrentMonthIncome(String userId) {
+        return submit(ds -> ds.getCurrentMonthIncome(userId));
+    }
+
+    public CompletableFuture<Long> getCurrentMonthExpense(String userId) {
+        return submit(ds -> ds.getCurrentMonthExpense(userId));
+    }
+
+    public CompletableFuture<Map<String, Double>> getCategoryExpenseRatio(String userId) {
+        return submit(ds -> ds.getCategoryExpenseRatio(userId));
+    }
+
+    public CompletableFuture<DashboardSnapshot> getDashboardSnapshot(String userId) {
+        return submit(ds -> ds.getDashboardSnapshot(userId));
+    }
+
+    public CompletableFuture<Map<String, Long>> getDailySummary(String userId, LocalDate date) {
+        return submit(ds -> ds.getDailySummary(userId, date));
+    }
+
+    public CompletableFuture<MonthSummary> getMonthSummary(String userId, YearMonth yearMonth) {
+        return submit(ds -> ds.getMonthSummary(userId, yearMonth));
+    }
+
+    public CompletableFuture<Long> getMonthlyNetIncome(String userId, String yearMonth) {
+        return submit(ds -> ds.getMonthlyNetIncome(userId, yearMonth));
+    }
+
+    public CompletableFuture<SavingsProjection> getSavingsProjection(String userId, YearMonth month) {
+        return submit(ds -> ds.getSavingsProjection(userId, month));
+    }
+
+    public CompletableFuture<NetIncomeSeries> getMonthlyNetIncomeSeries(String userId, YearMonth start, int months) {
+        return submit(ds -> ds.getMonthlyNetIncomeSeries(userId, start, months));
+    }
+}
@@ -0,0 +1,58 @@
+import java.time.YearMonth;
+
+// 한 달의 카테고리 지출이 예산 기준선(80%, 100%)을 새로 넘었을 때의 알림.
+// DataService.addBudgetListener 로 등록한 리스너에 항목을 저장한 직후 전달된다.
+public class BudgetAlert {
+
+    public enum Level {
+        WARNING("예산 80% 도달"),
+        EXCEEDED("예산 초과");
+
+        // 주의 기준선 (예산의 %)
+        static final int WARNING_PERCENT = 80;
+
+        private final String label;
+
+        Level(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+
+        // spent 가 limit 의 어느 기준선까지 넘었는지. 80% 미만이면 null
+        public static Level of(long spent, long limit) {
+            if (spent > limit) return EXCEEDED;
+            if (spent * 100 >= limit * WARNING_PERCENT) return WARNING;
+            return null;
+        }
+    }
+
+    private final String userId;
+    private final YearMonth month;
+    private final String category;
+    private final long spent;
+    private final long limit;
+    private final Level level;
+
+    BudgetAlert(String userId, YearMonth month, String category, long spent, long limit, Level level) {
+        this.userId = userId;
+        this.month = month;
+        this.category = category;
+        this.spent = spent;
+        this.limit = limit;
+        this.level = level;
+    }
+
+    public String getUserId() { return userId; }
+    public YearMonth getMonth() { return month; }
+    public String getCategory() { return category; }
+    public long getSpent() { return spent; }
+    public long getLimit() { return limit; }
+    public Level getLevel() { return level; }
+
+    // 예: "[예산 초과] 2025-12 식비: 312,000원 / 예산 300,000원 (104%)"
+    public String describe() {
+        return String.format("[%s] %s %s: %,d원 / 예산 %,d원 (%d%%)", level.getLabel(), month, category,
+                             spent, limit, spent * 100 / limit);
+    }
+}
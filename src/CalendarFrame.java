@@ -2,19 +2,18 @@ import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.YearMonth;
-import java.util.Map;
 
 public class CalendarFrame extends JFrame {
 
     private final String currentUserId;
-    private final DataService dataService;
+    private final AsyncDataService asyncData;
     private YearMonth currentMonth;
     private JLabel monthLabel;
-    private JPanel calendarPanel;
+    private CalendarGrid calendarGrid;
 
     public CalendarFrame(String userId) {
         this.currentUserId = userId;
-        this.dataService = new DataService();
+        this.asyncData = AsyncDataService.getInstance();
         
         setTitle("가계부 달력 - " + userId);
         setSize(800, 600);
@@ -29,10 +28,10 @@ public class CalendarFrame extends JFrame {
         JPanel monthNavPanel = createMonthNavigationPanel();
         add(monthNavPanel, BorderLayout.NORTH);
 
-        // 2. 달력 패널 (중앙)
-        calendarPanel = new JPanel();
-        calendarPanel.setLayout(new GridLayout(0, 7)); 
-        add(calendarPanel, BorderLayout.CENTER);
+        // 2. 달력 (중앙). 달을 옮겨도 같은 격자를 다시 그리기만 한다.
+        calendarGrid = new CalendarGrid(currentMonth);
+        calendarGrid.setDateClickListener(this::showEntryDialog);
+        add(calendarGrid, BorderLayout.CENTER);
 
         // 3. 하단 버튼
         JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
@@ -72,73 +71,29 @@ public class CalendarFrame extends JFrame {
         drawCalendar();
     }
 
+    // 한 달치 합계를 백그라운드에서 조회한 뒤 EDT 에서 달력을 다시 그린다.
+    // 진단 통계: ui.drawCalendar 는 화면 반영 시간, ui.drawCalendar.total 은 요청부터 반영까지 걸린 시간
     public void drawCalendar() {
-        calendarPanel.removeAll(); 
+        long requested = System.nanoTime();
+        YearMonth requestedMonth = currentMonth;
         monthLabel.setText(String.format("%d년 %d월", currentMonth.getYear(), currentMonth.getMonthValue()));
-
-        // 요일 헤더 추가
-        String[] days = {"일", "월", "화", "수", "목", "금", "토"};
-        for (String day : days) {
-            JLabel dayLabel = new JLabel(day, JLabel.CENTER);
-            dayLabel.setFont(new Font("맑은 고딕", Font.BOLD, 12));
-            if (day.equals("일")) dayLabel.setForeground(Color.RED);
-            calendarPanel.add(dayLabel);
-        }
-
-        // 시작 요일 맞추기 (빈 칸 채우기)
-        LocalDate firstOfMonth = currentMonth.atDay(1);
-        int isoDayOfWeek = firstOfMonth.getDayOfWeek().getValue() % 7; 
-        int emptyCalls = isoDayOfWeek % 7; 
-        int startDay = emptyCalls + 1;
-
-        for (int i = 1; i < startDay; i++) {
-            calendarPanel.add(new JPanel()); 
-        }
-
-        // 날짜 패널 추가
-        int daysInMonth = currentMonth.lengthOfMonth();
-        for (int day = 1; day <= daysInMonth; day++) {
-            LocalDate date = currentMonth.atDay(day);
-            calendarPanel.add(createDatePanel(date));
-        }
-
-        calendarPanel.revalidate();
-        calendarPanel.repaint();
-    }
-    
-    private JPanel createDatePanel(LocalDate date) {
-        JPanel panel = new JPanel();
-        panel.setLayout(new BorderLayout());
-        panel.setBorder(BorderFactory.createLineBorder(Color.LIGHT_GRAY));
-        panel.setPreferredSize(new Dimension(100, 80)); // 셀 크기 지정
-
-        // 날짜 표시
-        JLabel dateLabel = new JLabel(String.valueOf(date.getDayOfMonth()), JLabel.LEFT);
-        dateLabel.setFont(new Font("맑은 고딕", Font.BOLD, 14));
-        if (date.getDayOfWeek().getValue() == 7) dateLabel.setForeground(Color.RED); 
-        panel.add(dateLabel, BorderLayout.NORTH);
-
-        // 수익/지출 요약
-        Map<String, Long> summary = dataService.getDailySummary(currentUserId, date);
-        long income = summary.get("income");
-        long expense = summary.get("expense");
-
-        JLabel summaryLabel = new JLabel(
-            String.format("<html><font color='blue'>수: %,d</font><br><font color='red'>지: %,d</font></html>", income, expense), 
-            JLabel.LEFT
-        );
-        summaryLabel.setFont(new Font("맑은 고딕", Font.PLAIN, 10));
-        summaryLabel.setVerticalAlignment(SwingConstants.TOP);
-        panel.add(summaryLabel, BorderLayout.CENTER);
-        
-        // 날짜 클릭 리스너 (등록/삭제 팝업)
-        panel.addMouseListener(new java.awt.event.MouseAdapter() {
-            public void mouseClicked(java.awt.event.MouseEvent evt) {
-                showEntryDialog(date);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        asyncData.getMonthSummary(currentUserId, requestedMonth).whenCompleteAsync((summary, error) -> {
+            // 응답을 기다리는 사이 다른 달로 이동했다면 이전 결과는 버린다.
+            if (!requestedMonth.equals(currentMonth)) return;
+            long start = System.nanoTime();
+            setCursor(Cursor.getDefaultCursor());
+            if (error != null) {
+                error.printStackTrace();
+                summary = new MonthSummary(requestedMonth);
             }
-        });
-
-        return panel;
+            calendarGrid.setMonth(summary);
+            // 격자는 repaint 예약만 하므로 실제 그리기까지 재려면 즉시 그린다.
+            calendarGrid.paintImmediately(0, 0, calendarGrid.getWidth(), calendarGrid.getHeight());
+            Diagnostics.getInstance().record("ui.drawCalendar", start);
+            Diagnostics.getInstance().record("ui.drawCalendar.total", requested);
+        }, AsyncDataService.EDT);
     }
 
     private void showEntryDialog(LocalDate date) {
@@ -0,0 +1,178 @@
+import javax.swing.JComponent;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.function.Consumer;
+
+// 요일 헤더 + 6주 x 7일 고정 격자를 직접 그리는 달력.
+// 달이 바뀌어도 컴포넌트를 새로 만들거나 배치(layout)를 다시 하지 않고, MonthSummary 만 바꿔서 다시 그린다.
+// 클릭은 마우스 리스너 하나에서 좌표로 날짜를 계산한다.
+public class CalendarGrid extends JComponent {
+
+    private static final int COLUMNS = 7;
+    private static final int ROWS = 6;
+    private static final int HEADER_HEIGHT = 24;
+    private static final int PADDING = 5;
+    private static final String[] WEEKDAYS = {"일", "월", "화", "수", "목", "금", "토"};
+    private static final char[] INCOME_PREFIX = "수: ".toCharArray();
+    private static final char[] EXPENSE_PREFIX = "지: ".toCharArray();
+
+    private static final Font HEADER_FONT = new Font("맑은 고딕", Font.BOLD, 12);
+    private static final Font DAY_FONT = new Font("맑은 고딕", Font.BOLD, 14);
+    private static final Font AMOUNT_FONT = new Font("맑은 고딕", Font.PLAIN, 10);
+    private static final Color GRID_COLOR = Color.LIGHT_GRAY;
+    private static final Color INCOME_COLOR = Color.BLUE;
+    private static final Color EXPENSE_COLOR = Color.RED;
+    private static final Color SUNDAY_COLOR = Color.RED;
+
+    private MonthSummary summary;
+    private int firstColumn; // 1일의 요일 칸 (일요일 = 0)
+    private Consumer<LocalDate> dateClickListener = date -> { };
+    private final char[] text = new char[32]; // 숫자를 그릴 때 다시 쓰는 버퍼
+
+    public CalendarGrid(YearMonth month) {
+        setMonth(new MonthSummary(month));
+        setPreferredSize(new Dimension(COLUMNS * 100, HEADER_HEIGHT + ROWS * 80));
+        setOpaque(true);
+        setBackground(Color.WHITE);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                LocalDate date = dateAt(e.getX(), e.getY());
+                if (date != null) dateClickListener.accept(date);
+            }
+        });
+    }
+
+    public void setDateClickListener(Consumer<LocalDate> dateClickListener) {
+        this.dateClickListener = dateClickListener;
+    }
+
+    public YearMonth getMonth() {
+        return summary.getYearMonth();
+    }
+
+    // 표시할 달과 일별 합계를 바꾸고 다시 그린다.
+    public void setMonth(MonthSummary summary) {
+        this.summary = summary;
+        this.firstColumn = summary.getYearMonth().atDay(1).getDayOfWeek().getValue() % 7;
+        repaint();
+    }
+
+    // 좌표에 해당하는 날짜. 헤더나 이번 달이 아닌 칸이면 null
+    LocalDate dateAt(int x, int y) {
+        if (y < HEADER_HEIGHT || x < 0 || x >= getWidth() || y >= getHeight()) return null;
+        int column = x * COLUMNS / getWidth();
+        int row = (y - HEADER_HEIGHT) * ROWS / (getHeight() - HEADER_HEIGHT);
+        int day = row * COLUMNS + column - firstColumn + 1;
+        YearMonth month = summary.getYearMonth();
+        return day >= 1 && day <= month.lengthOfMonth() ? month.atDay(day) : null;
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Graphics2D g = (Graphics2D) graphics;
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        int width = getWidth();
+        int height = getHeight();
+        g.setColor(getBackground());
+        g.fillRect(0, 0, width, height);
+
+        // 요일 헤더
+        g.setFont(HEADER_FONT);
+        FontMetrics headerMetrics = g.getFontMetrics();
+        for (int column = 0; column < COLUMNS; column++) {
+            int x = cellX(column, width);
+            int cellWidth = cellX(column + 1, width) - x;
+            g.setColor(column == 0 ? SUNDAY_COLOR : getForeground());
+            g.drawString(WEEKDAYS[column], x + (cellWidth - headerMetrics.stringWidth(WEEKDAYS[column])) / 2,
+                         (HEADER_HEIGHT + headerMetrics.getAscent() - headerMetrics.getDescent()) / 2);
+        }
+
+        // 날짜 칸
+        int daysInMonth = summary.getYearMonth().lengthOfMonth();
+        int gridHeight = height - HEADER_HEIGHT;
+        for (int cell = 0; cell < ROWS * COLUMNS; cell++) {
+            int day = cell - firstColumn + 1;
+            if (day < 1 || day > daysInMonth) continue;
+            int column = cell % COLUMNS;
+            int row = cell / COLUMNS;
+            int x = cellX(column, width);
+            int y = HEADER_HEIGHT + row * gridHeight / ROWS;
+            int cellWidth = cellX(column + 1, width) - x;
+            int cellHeight = HEADER_HEIGHT + (row + 1) * gridHeight / ROWS - y;
+            paintCell(g, day, column, x, y, cellWidth, cellHeight);
+        }
+    }
+
+    private static int cellX(int column, int width) {
+        return column * width / COLUMNS;
+    }
+
+    private void paintCell(Graphics2D g, int day, int column, int x, int y, int width, int height) {
+        g.setColor(GRID_COLOR);
+        g.drawRect(x, y, width - 1, height - 1);
+        // Swing 이 다시 그릴 영역으로 잡아 둔 clip 과 겹치는 부분만 그리고, 끝나면 그 clip 으로 되돌린다.
+        Shape clip = g.getClip();
+        g.clipRect(x, y, width, height);
+
+        g.setFont(DAY_FONT);
+        int baseline = y + PADDING + g.getFontMetrics().getAscent();
+        g.setColor(column == 0 ? SUNDAY_COLOR : getForeground());
+        int length = formatNumber(text, 0, day, false);
+        g.drawChars(text, 0, length, x + PADDING, baseline);
+
+        g.setFont(AMOUNT_FONT);
+        int lineHeight = g.getFontMetrics().getHeight();
+        baseline += lineHeight + 2;
+        g.setColor(INCOME_COLOR);
+        length = formatAmount(INCOME_PREFIX, summary.getIncome(day));
+        g.drawChars(text, 0, length, x + PADDING, baseline);
+
+        baseline += lineHeight;
+        g.setColor(EXPENSE_COLOR);
+        length = formatAmount(EXPENSE_PREFIX, summary.getExpense(day));
+        g.drawChars(text, 0, length, x + PADDING, baseline);
+
+        g.setClip(clip);
+    }
+
+    // "수: 1,234" 형식으로 text 버퍼에 쓰고 길이를 돌려준다.
+    private int formatAmount(char[] prefix, long amount) {
+        System.arraycopy(prefix, 0, text, 0, prefix.length);
+        return formatNumber(text, prefix.length, amount, true);
+    }
+
+    // buffer[offset..] 에 10진수(필요하면 천 단위 쉼표)를 쓰고 끝 위치를 돌려준다.
+    static int formatNumber(char[] buffer, int offset, long value, boolean grouping) {
+        if (value < 0) {
+            buffer[offset++] = '-';
+            if (value == Long.MIN_VALUE) { // -value 가 넘치므로 따로 처리
+                String digits = Long.toString(value).substring(1);
+                digits.getChars(0, digits.length(), buffer, offset);
+                return offset + digits.length();
+            }
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) digits++;
+        int end = offset + digits + (grouping ? (digits - 1) / 3 : 0);
+        int position = end;
+        for (int i = 0; i < digits; i++) {
+            if (grouping && i > 0 && i % 3 == 0) buffer[--position] = ',';
+            buffer[--position] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+}
@@ -0,0 +1,46 @@
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+// 한 사용자의 카테고리별 월 예산 (매달 같은 한도). UserRollup 이 들고 있고 AggregateCache 의 잠금 안에서만 읽고 쓴다.
+// 지출 합계는 따로 두지 않고 UserRollup 의 월별 카테고리 집계를 그대로 쓴다.
+public class CategoryBudgets {
+
+    private final Map<String, Long> limits;
+
+    public CategoryBudgets(Map<String, Long> limits) {
+        this.limits = new HashMap<>(limits);
+    }
+
+    public boolean isEmpty() {
+        return limits.isEmpty();
+    }
+
+    public Map<String, Long> getLimits() {
+        return limits;
+    }
+
+    // 예산이 없으면 null
+    public Long getLimit(String category) {
+        return limits.get(category);
+    }
+
+    void set(String category, long limit) {
+        limits.put(category, limit);
+    }
+
+    void remove(String category) {
+        limits.remove(category);
+    }
+
+    // 그 달 category 지출이 before 에서 after 로 늘었을 때 새로 넘은 기준선의 알림. 없으면 null
+    // 이미 넘어 있던 기준선은 다시 알리지 않으므로 알림 상태를 따로 저장하지 않아도 된다.
+    BudgetAlert crossing(String userId, YearMonth month, String category, long before, long after) {
+        Long limit = limits.get(category);
+        if (limit == null) return null;
+        BudgetAlert.Level was = BudgetAlert.Level.of(before, limit);
+        BudgetAlert.Level now = BudgetAlert.Level.of(after, limit);
+        if (now == null || now == was) return null;
+        return new BudgetAlert(userId, month, category, after, limit, now);
+    }
+}
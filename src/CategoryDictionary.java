@@ -0,0 +1,85 @@
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// categories 테이블의 이름 <-> id 매핑을 메모리에 캐시한다.
+// 카테고리 수는 많지 않으므로 한 번 읽은 값은 계속 들고 있는다.
+public class CategoryDictionary {
+
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    public void load(PooledConnection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT category_id, name FROM categories")) {
+            while (rs.next()) {
+                remember(rs.getInt("category_id"), rs.getString("name"));
+            }
+        }
+    }
+
+    // 이름에 해당하는 id를 돌려준다. 처음 보는 이름이면 categories 테이블에 추가한다.
+    public Integer idOf(PooledConnection conn, String name) throws SQLException {
+        if (name == null) return null;
+        Integer id = idsByName.get(name);
+        if (id != null) return id;
+
+        PreparedStatement insert = conn.prepare("INSERT OR IGNORE INTO categories (name) VALUES (?)");
+        insert.setString(1, name);
+        insert.executeUpdate();
+
+        PreparedStatement select = conn.prepare("SELECT category_id FROM categories WHERE name = ?");
+        select.setString(1, name);
+        try (ResultSet rs = select.executeQuery()) {
+            if (!rs.next()) throw new SQLException("카테고리 등록 실패: " + name);
+            id = rs.getInt(1);
+        }
+        remember(id, name);
+        return id;
+    }
+
+    // 이미 등록된 카테고리의 id. 없으면 null (새로 등록하지 않는다)
+    public Integer findId(PooledConnection conn, String name) throws SQLException {
+        Integer id = idsByName.get(name);
+        if (id != null) return id;
+
+        PreparedStatement select = conn.prepare("SELECT category_id FROM categories WHERE name = ?");
+        select.setString(1, name);
+        try (ResultSet rs = select.executeQuery()) {
+            if (!rs.next()) return null;
+            id = rs.getInt(1);
+        }
+        remember(id, name);
+        return id;
+    }
+
+    // category_id 컬럼 값(NULL 이면 0)을 이름으로 바꾼다.
+    public String nameOf(PooledConnection conn, int id) throws SQLException {
+        if (id == 0) return null;
+        String name = namesById.get(id);
+        if (name != null) return name;
+
+        PreparedStatement select = conn.prepare("SELECT name FROM categories WHERE category_id = ?");
+        select.setInt(1, id);
+        try (ResultSet rs = select.executeQuery()) {
+            if (!rs.next()) return null;
+            name = rs.getString(1);
+        }
+        remember(id, name);
+        return name;
+    }
+
+    // 롤백 등으로 캐시가 DB와 어긋났을 수 있을 때 호출한다. 이후 조회 시 다시 읽는다.
+    public void clear() {
+        idsByName.clear();
+        namesById.clear();
+    }
+
+    private void remember(int id, String name) {
+        idsByName.put(name, id);
+        namesById.put(id, name);
+    }
+}
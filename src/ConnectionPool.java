@@ -0,0 +1,97 @@
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// SQLite 커넥션을 재사용하기 위한 고정 크기 커넥션 풀
+public class ConnectionPool implements AutoCloseable {
+
+    private static final long BORROW_TIMEOUT_SECONDS = 10;
+
+    private final String url;
+    private final int maxSize;
+    private final String[] initSql; // 새 커넥션마다 실행하는 문장 (PRAGMA 설정 등)
+    private final BlockingQueue<PooledConnection> idle;
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile boolean closed = false;
+
+    public ConnectionPool(String url, int maxSize, String... initSql) {
+        if (maxSize <= 0) throw new IllegalArgumentException("풀 크기는 1 이상이어야 합니다.");
+        this.url = url;
+        this.maxSize = maxSize;
+        this.initSql = initSql;
+        this.idle = new LinkedBlockingQueue<>(maxSize);
+    }
+
+    // 유휴 커넥션을 꺼내거나, 한도 안에서 새로 만들거나, 반납될 때까지 기다린다.
+    public PooledConnection borrow() throws SQLException {
+        if (closed) throw new SQLException("커넥션 풀이 이미 닫혔습니다.");
+
+        PooledConnection conn = idle.poll();
+        if (conn != null) return conn;
+
+        if (created.incrementAndGet() <= maxSize) {
+            try {
+                PooledConnection opened = new PooledConnection(this, open());
+                Diagnostics.getInstance().connectionOpened();
+                return opened;
+            } catch (SQLException e) {
+                created.decrementAndGet();
+                throw e;
+            }
+        }
+        created.decrementAndGet();
+
+        try {
+            conn = idle.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("커넥션 대기 중 인터럽트가 발생했습니다.", e);
+        }
+        if (conn == null) throw new SQLException("사용 가능한 커넥션이 없습니다. (대기 시간 초과)");
+        return conn;
+    }
+
+    // 앱의 SQL 함수(메모 검색 인덱스 트리거가 쓰는 memo_grams)를 등록하고 initSql 을 실행한다.
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection(url);
+        try (Statement stmt = connection.createStatement()) {
+            MemoGrams.register(connection);
+            for (String sql : initSql) {
+                stmt.execute(sql);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    // PooledConnection.close()에서 호출된다.
+    void release(PooledConnection conn) {
+        if (closed || !conn.resetForReuse() || !idle.offer(conn)) {
+            discard(conn);
+        }
+    }
+
+    private void discard(PooledConnection conn) {
+        created.decrementAndGet();
+        conn.closePhysically();
+    }
+
+    public int getMaxSize() { return maxSize; }
+    public int getOpenCount() { return created.get(); }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection conn;
+        while ((conn = idle.poll()) != null) {
+            discard(conn);
+        }
+    }
+}
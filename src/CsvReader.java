@@ -0,0 +1,121 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// RFC 4180 형식의 CSV를 한 레코드씩 읽는 스트리밍 파서.
+// 따옴표로 감싼 필드 안의 쉼표, 줄바꿈, "" 이스케이프를 처리하며 파일 전체를 메모리에 올리지 않는다.
+public class CsvReader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private long recordNumber = 0;
+    private long lineNumber = 1;  // 다음에 읽을 글자가 있는 물리적 줄 (1부터)
+    private long recordLine = 0;  // 마지막으로 읽은 레코드가 시작한 줄
+    private int lastChar = -1;
+    private boolean firstRead = true;
+
+    public CsvReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    // 다음 레코드를 돌려준다. 파일 끝이면 null
+    public String[] readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean sawAnything = false;
+        long startLine = lineNumber;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (!sawAnything) return null;
+                if (inQuotes) throw new IOException(startLine + "번째 줄: 닫히지 않은 따옴표");
+                fields.add(field.toString());
+                break;
+            }
+            sawAnything = true;
+
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                inQuotes = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') read();
+                fields.add(field.toString());
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+        recordNumber++;
+        recordLine = startLine;
+        return fields.toArray(new String[0]);
+    }
+
+    // 마지막으로 읽은 레코드 번호 (1부터)
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    // 마지막으로 읽은 레코드가 시작한 물리적 줄 번호 (1부터). 따옴표 안의 줄바꿈도 한 줄로 센다.
+    public long getLineNumber() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (position >= limit && !fill()) return -1;
+        char c = buffer[position++];
+        // \r\n, \n, \r 모두 줄 하나로 센다.
+        if (c == '\r' || (c == '\n' && lastChar != '\r')) lineNumber++;
+        lastChar = c;
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position >= limit && !fill()) return -1;
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        do {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) return false;
+            if (firstRead) {
+                firstRead = false;
+                // UTF-8 BOM 제거 (엑셀에서 저장한 CSV)
+                if (buffer[0] == '\uFEFF') position = 1;
+            }
+        } while (position >= limit);
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
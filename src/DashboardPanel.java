@@ -1,10 +1,13 @@
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 
 public class DashboardPanel extends JFrame {
 
-    private final DataService dataService;
+    private final AsyncDataService asyncData;
     private final String currentUserId;
 
     private JLabel balanceLabel;
@@ -16,10 +19,10 @@ public class DashboardPanel extends JFrame {
 
     public DashboardPanel(String userId) {
         this.currentUserId = userId;
-        this.dataService = new DataService();
+        this.asyncData = AsyncDataService.getInstance();
         
         setTitle(userId + "님의 가계부 메인화면");
-        setSize(600, 450);
+        setSize(860, 450);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
         setLayout(new BorderLayout(10, 10));
@@ -40,7 +43,7 @@ public class DashboardPanel extends JFrame {
         
         // 2. 중앙 카테고리 비율 패널
         JPanel centerPanel = new JPanel(new BorderLayout());
-        centerPanel.setBorder(BorderFactory.createTitledBorder("이번 달 카테고리별 지출 비율"));
+        centerPanel.setBorder(BorderFactory.createTitledBorder("이번 달 카테고리별 지출 비율 / 예산"));
 
         ratioListModel = new DefaultListModel<>();
         JList<String> ratioList = new JList<>(ratioListModel);
@@ -57,9 +60,14 @@ public class DashboardPanel extends JFrame {
 
         // 적금 추천 버튼 클릭 이벤트 처리
         savingsButton.addActionListener(e -> {
-            new SavingsFrame(dataService, currentUserId); 
+            new SavingsFrame(asyncData, currentUserId); 
         });
         
+        // 카테고리별 월 예산 설정
+        JButton budgetButton = new JButton("예산 설정");
+        budgetButton.addActionListener(e -> editBudget());
+        bottomPanel.add(budgetButton);
+
         // 3. 하단 버튼 패널	
         JButton calendarButton = new JButton("달력으로 확인하기");
         calendarButton.addActionListener(e -> {
@@ -67,6 +75,26 @@ public class DashboardPanel extends JFrame {
             new CalendarFrame(currentUserId); 
         });
         bottomPanel.add(calendarButton);
+
+        // 내역 검색 버튼
+        JButton searchButton = new JButton("내역 검색");
+        searchButton.addActionListener(e -> new SearchFrame(asyncData, currentUserId));
+        bottomPanel.add(searchButton);
+
+        // CSV 가져오기 버튼
+        JButton importButton = new JButton("가져오기");
+        importButton.addActionListener(e -> importCsv());
+        bottomPanel.add(importButton);
+
+        // CSV / JSON Lines 내보내기 버튼
+        JButton exportButton = new JButton("내보내기");
+        exportButton.addActionListener(e -> exportEntries());
+        bottomPanel.add(exportButton);
+
+        // 작업별 응답 시간 등 진단 정보 창
+        JButton diagnosticsButton = new JButton("진단");
+        diagnosticsButton.addActionListener(e -> new DiagnosticsFrame(Diagnostics.getInstance()));
+        bottomPanel.add(diagnosticsButton);
    
         // 패널을 프레임에 추가
         add(bottomPanel, BorderLayout.SOUTH);
@@ -78,31 +106,61 @@ public class DashboardPanel extends JFrame {
     }
     
     // 이 메서드를 호출하여 화면의 모든 데이터를 DB에서 최신 정보로 갱신
+    // 조회는 백그라운드에서 하고, 화면 반영은 EDT 에서 한다.
+    // 진단 통계: ui.refreshData 는 화면 반영 시간, ui.refreshData.total 은 요청부터 반영까지 걸린 시간
     public void refreshData() {
-        long totalBalance = dataService.getTotalBalance(currentUserId);
-        long monthIncome = dataService.getCurrentMonthIncome(currentUserId);
-        long monthExpense = dataService.getCurrentMonthExpense(currentUserId);
-        
+        long requested = System.nanoTime();
+        showLoading();
+
+        asyncData.getDashboardSnapshot(currentUserId).whenCompleteAsync((snapshot, error) -> {
+            long start = System.nanoTime();
+            setCursor(Cursor.getDefaultCursor());
+            if (error != null) {
+                error.printStackTrace();
+                ratioListModel.clear();
+                ratioListModel.addElement("데이터를 불러오지 못했습니다.");
+                return;
+            }
+            showData(snapshot);
+            Diagnostics.getInstance().record("ui.refreshData", start);
+            Diagnostics.getInstance().record("ui.refreshData.total", requested);
+        }, AsyncDataService.EDT);
+    }
+
+    private void showLoading() {
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        balanceLabel.setText("불러오는 중...");
+        incomeLabel.setText("불러오는 중...");
+        expenseLabel.setText("불러오는 중...");
+        ratioListModel.clear();
+        ratioListModel.addElement("불러오는 중...");
+    }
+
+    private void showData(DashboardSnapshot snapshot) {
         // 1. 잔액/수익/지출 업데이트
-        balanceLabel.setText(String.format("%,d원", totalBalance));
-        incomeLabel.setText(String.format("%,d원", monthIncome));
-        expenseLabel.setText(String.format("%,d원", monthExpense));
+        balanceLabel.setText(String.format("%,d원", snapshot.getBalance()));
+        incomeLabel.setText(String.format("%,d원", snapshot.getMonthIncome()));
+        expenseLabel.setText(String.format("%,d원", snapshot.getMonthExpense()));
 
-        // 2. 카테고리 비율 업데이트
+        // 2. 카테고리 비율 업데이트 (지출이 큰 순서)
         ratioListModel.clear();
-        Map<String, Double> ratios = dataService.getCategoryExpenseRatio(currentUserId);
         
-        if (monthExpense == 0) {
+        if (snapshot.getMonthExpense() == 0) {
             ratioListModel.addElement("이번 달 지출 내역이 없습니다.");
         } else {
-            for (Map.Entry<String, Double> entry : ratios.entrySet()) {
+            for (Map.Entry<String, Long> entry : snapshot.getCategoryExpenses().entrySet()) {
                 String category = entry.getKey();
-                double ratio = entry.getValue();
-                
-                long amount = (long) (monthExpense * ratio / 100.0); 
+                long amount = entry.getValue();
+                double ratio = snapshot.getCategoryRatio(category);
 
                 String line = String.format("  - %s: %.1f%% (%,d원)", category, ratio, amount);
-                ratioListModel.addElement(line);
+                ratioListModel.addElement(line + budgetText(snapshot, category, amount));
+            }
+        }
+        // 예산은 있지만 이번 달 지출이 없는 카테고리
+        for (String category : new TreeSet<>(snapshot.getBudgets().keySet())) {
+            if (!snapshot.getCategoryExpenses().containsKey(category)) {
+                ratioListModel.addElement(String.format("  - %s: 0원", category) + budgetText(snapshot, category, 0));
             }
         }
         
@@ -110,6 +168,111 @@ public class DashboardPanel extends JFrame {
         repaint();
     }
     
+    // 예: " / 예산 300,000원의 85% [예산 80% 도달]". 예산이 없으면 빈 문자열
+    private static String budgetText(DashboardSnapshot snapshot, String category, long amount) {
+        Long limit = snapshot.getBudgets().get(category);
+        if (limit == null) return "";
+        BudgetAlert.Level level = snapshot.getBudgetLevel(category);
+        return String.format(" / 예산 %,d원의 %d%%", limit, amount * 100 / limit)
+            + (level == null ? "" : " [" + level.getLabel() + "]");
+    }
+
+    // 지출 카테고리의 월 예산을 정하거나 지운다. (금액을 비우면 지운다)
+    private void editBudget() {
+        JComboBox<String> categoryComboBox = new JComboBox<>(EntryDialog.EXPENSE_CATS);
+        JTextField limitField = new JTextField();
+        JPanel panel = new JPanel(new GridLayout(2, 2, 5, 5));
+        panel.add(new JLabel("카테고리:"));
+        panel.add(categoryComboBox);
+        panel.add(new JLabel("월 예산 (비우면 삭제):"));
+        panel.add(limitField);
+        if (JOptionPane.showConfirmDialog(this, panel, "예산 설정", JOptionPane.OK_CANCEL_OPTION)
+                != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        String category = (String) categoryComboBox.getSelectedItem();
+        String text = limitField.getText().trim();
+        CompletableFuture<Boolean> saved;
+        if (text.isEmpty()) {
+            saved = asyncData.deleteBudget(currentUserId, category);
+        } else {
+            long limit;
+            try {
+                limit = Long.parseLong(text);
+                if (limit <= 0) throw new NumberFormatException();
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(this, "예산은 0보다 큰 숫자여야 합니다.", "오류", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            saved = asyncData.setBudget(currentUserId, category, limit);
+        }
+        saved.whenCompleteAsync((success, error) -> {
+            if (error != null || !success) {
+                JOptionPane.showMessageDialog(this, text.isEmpty() ? "설정된 예산이 없습니다." : "예산 저장 실패.",
+                                              "오류", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            refreshData();
+        }, AsyncDataService.EDT);
+    }
+
+    // 가계부 형식(날짜,분류,카테고리,금액,메모) CSV 파일을 가져온다.
+    private void importCsv() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV 파일", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        ProgressMonitor monitor = new ProgressMonitor(this, "가져오는 중...", "", 0, 1000);
+        monitor.setMillisToDecideToPopup(200);
+
+        EntryImporter.ProgressListener listener = progress -> {
+            int permille = progress.getTotalBytes() == 0 ? 1000
+                : (int) (progress.getBytesRead() * 1000 / progress.getTotalBytes());
+            String note = String.format("%,d건 등록, %,d건 건너뜀", progress.getImported(), progress.getSkipped());
+            SwingUtilities.invokeLater(() -> {
+                monitor.setProgress(permille);
+                monitor.setNote(note);
+            });
+        };
+
+        asyncData.importCsv(chooser.getSelectedFile().toPath(), currentUserId, ImportMapping.appFormat(), listener)
+            .whenCompleteAsync((result, error) -> {
+                monitor.close();
+                if (error != null) {
+                    error.printStackTrace();
+                    JOptionPane.showMessageDialog(this, "가져오기 실패: " + error.getCause().getMessage(), "오류", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                StringBuilder message = new StringBuilder(String.format("%,d건을 가져왔습니다.", result.getImported()));
+                if (result.getSkipped() > 0) {
+                    message.append(String.format("\n%,d건은 형식 오류로 건너뛰었습니다.", result.getSkipped()));
+                    for (String line : result.getErrors()) message.append("\n  ").append(line);
+                }
+                JOptionPane.showMessageDialog(this, message.toString(), "가져오기 완료", JOptionPane.INFORMATION_MESSAGE);
+                refreshData();
+            }, AsyncDataService.EDT);
+    }
+
+    // 전체 기간의 항목을 내보낸다. 확장자가 .jsonl 이면 JSON Lines, 그 외에는 CSV
+    private void exportEntries() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new java.io.File(currentUserId + "_가계부.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        asyncData.exportEntries(currentUserId, null, null, chooser.getSelectedFile().toPath())
+            .whenCompleteAsync((rows, error) -> {
+                setCursor(Cursor.getDefaultCursor());
+                if (error != null) {
+                    error.printStackTrace();
+                    JOptionPane.showMessageDialog(this, "내보내기 실패: " + error.getCause().getMessage(), "오류", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                JOptionPane.showMessageDialog(this, String.format("%,d건을 내보냈습니다.", rows), "내보내기 완료", JOptionPane.INFORMATION_MESSAGE);
+            }, AsyncDataService.EDT);
+    }
+
     private JPanel createInfoCard(String title, JLabel valueLabel, Color color) {
         JPanel card = new JPanel(new BorderLayout());
         card.setBorder(BorderFactory.createLineBorder(color, 2));
@@ -0,0 +1,54 @@
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 대시보드 한 화면에 필요한 값을 한 시점에 모아 둔 불변 객체.
+// 카테고리별 지출은 비율이 아니라 정확한 합계를 담고, 비율은 필요할 때 계산한다.
+public class DashboardSnapshot {
+    private final YearMonth month;
+    private final long balance;
+    private final long monthIncome;
+    private final long monthExpense;
+    private final Map<String, Long> categoryExpenses; // 지출이 큰 순서
+    private final Map<String, Long> budgets; // 카테고리 -> 월 예산
+
+    public DashboardSnapshot(YearMonth month, long balance, long monthIncome, long monthExpense,
+                             Map<String, Long> categoryExpenses, Map<String, Long> budgets) {
+        this.month = month;
+        this.balance = balance;
+        this.monthIncome = monthIncome;
+        this.monthExpense = monthExpense;
+
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(categoryExpenses.entrySet());
+        sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : sorted) {
+            ordered.put(entry.getKey(), entry.getValue());
+        }
+        this.categoryExpenses = Collections.unmodifiableMap(ordered);
+        this.budgets = Collections.unmodifiableMap(new HashMap<>(budgets));
+    }
+
+    public YearMonth getMonth() { return month; }
+    public long getBalance() { return balance; }
+    public long getMonthIncome() { return monthIncome; }
+    public long getMonthExpense() { return monthExpense; }
+    public Map<String, Long> getCategoryExpenses() { return categoryExpenses; }
+    public Map<String, Long> getBudgets() { return budgets; }
+
+    // 이번 달 지출 중 해당 카테고리의 비율 (%)
+    public double getCategoryRatio(String category) {
+        if (monthExpense == 0) return 0;
+        return categoryExpenses.getOrDefault(category, 0L) * 100.0 / monthExpense;
+    }
+
+    // 해당 카테고리 지출이 넘은 예산 기준선. 예산이 없거나 80% 미만이면 null
+    public BudgetAlert.Level getBudgetLevel(String category) {
+        Long limit = budgets.get(category);
+        return limit == null ? null : BudgetAlert.Level.of(categoryExpenses.getOrDefault(category, 0L), limit);
+    }
+}
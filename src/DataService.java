@@ -1,241 +1,520 @@
-import java.sql.*;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class DataService {
 
     private static final String DB_URL = "jdbc:sqlite:account_book.db";
+    private static final String LEDGER_DIR = "account_book.ledger";
+    // 집계 캐시에 들고 있을 항목 행 수 합계 (열 데이터는 행마다 약 19바이트)
+    private static final long CACHED_ROWS = 5_000_000;
 
-    public DataService() {
-        try {
-            // SQLite JDBC 드라이버 로드
-            Class.forName("org.sqlite.JDBC");
-        } catch (ClassNotFoundException e) {
-            System.err.println("SQLite JDBC 드라이버를 찾을 수 없습니다. JAR 파일을 Classpath에 추가해주세요.");
-            e.printStackTrace();
+    // 시작할 때 저장소 엔진을 고른다: -Dhousehold.storage=sqlite(기본) 또는 mapped
+    static final String STORAGE_PROPERTY = "household.storage";
+    // SQLite 문장이 이 시간(ms)보다 오래 걸리면 slow-query.N.log 에 실행 계획과 함께 남긴다.
+    static final String SLOW_QUERY_PROPERTY = "household.slowQueryMillis";
+    // SQLite(WAL) 튜닝: PRAGMA synchronous (OFF/NORMAL/FULL/EXTRA, 기본 NORMAL), 커넥션별 cache_size(KiB, 기본 8192)
+    static final String SYNCHRONOUS_PROPERTY = "household.sqlite.synchronous";
+    static final String CACHE_SIZE_PROPERTY = "household.sqlite.cacheSizeKib";
+
+    private static DataService instance;
+
+    private final LedgerStore store;
+    private final AggregateCache aggregates = new AggregateCache(this::loadRollup, CACHED_ROWS);
+    private final Diagnostics diagnostics = Diagnostics.getInstance();
+    private final SavingsSimulator savingsSimulator = new SavingsSimulator();
+    private final List<Consumer<BudgetAlert>> budgetListeners = new CopyOnWriteArrayList<>();
+
+    // 모든 화면이 같은 저장소(커넥션 풀 등)를 쓰도록 공유 인스턴스를 사용한다.
+    public static synchronized DataService getInstance() {
+        if (instance == null) {
+            instance = new DataService(openStore(System.getProperty(STORAGE_PROPERTY, "sqlite")));
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::close));
         }
+        return instance;
+    }
+
+    static LedgerStore openStore(String engine) {
+        switch (engine) {
+            case "sqlite":
+                return new SqliteLedgerStore(DB_URL,
+                    Long.getLong(SLOW_QUERY_PROPERTY, SlowQueryLog.DEFAULT_THRESHOLD_MILLIS),
+                    System.getProperty(SYNCHRONOUS_PROPERTY, SqliteLedgerStore.DEFAULT_SYNCHRONOUS).toUpperCase(),
+                    Integer.getInteger(CACHE_SIZE_PROPERTY, SqliteLedgerStore.DEFAULT_CACHE_SIZE_KIB));
+            case "mapped":
+                try {
+                    return new MappedLedgerStore(Path.of(LEDGER_DIR));
+                } catch (StorageException e) {
+                    throw new IllegalStateException("저장소를 열 수 없습니다: " + e.getMessage(), e);
+                }
+            default:
+                throw new IllegalArgumentException("알 수 없는 저장소 엔진: " + engine + " (sqlite, mapped)");
+        }
+    }
+
+    public DataService() {
+        this(DB_URL);
+    }
+
+    public DataService(String dbUrl) {
+        this(new SqliteLedgerStore(dbUrl));
+    }
+
+    public DataService(LedgerStore store) {
+        this.store = store;
         initializeDatabase();
     }
 
-    private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL);
+    // --- 대량 작업(EntryImporter 등)용 ---
+
+    LedgerStore getStore() {
+        return store;
     }
 
-    private void initializeDatabase() {
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            // 사용자 테이블 생성
-            String userTableSql = "CREATE TABLE IF NOT EXISTS users (id TEXT PRIMARY KEY, password TEXT NOT NULL)";
-            stmt.execute(userTableSql);
-
-            // 가계부 항목 테이블 생성
-            String entryTableSql = "CREATE TABLE IF NOT EXISTS entries (" +
-                                   "entry_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                                   "user_id TEXT NOT NULL, " +
-                                   "date TEXT NOT NULL, " + 
-                                   "type TEXT NOT NULL, " + 
-                                   "category TEXT, " +
-                                   "amount INTEGER NOT NULL, " +
-                                   "memo TEXT, " +
-                                   "FOREIGN KEY(user_id) REFERENCES users(id))";
-            stmt.execute(entryTableSql);
-            
-            // 테스트 계정 삽입 및 데이터 추가 (최초 실행 시만)
-            if (!login("test", "1234")) {
-                 registerUser("test", "1234");
-                 // 테스트 데이터: 2025년 12월 기준
-                 LocalDate today = LocalDate.of(2025, 12, 18);
-                 addEntry(new AccountEntry("test", today.minusDays(3), "수익", "월급", 3000000, "12월 월급"));
-                 addEntry(new AccountEntry("test", today.minusDays(2), "지출", "식비", 15000, "점심 식사"));
-                 addEntry(new AccountEntry("test", today.minusDays(1), "지출", "교통비", 50000, "대중교통 카드 충전"));
-            }
+    // 저장소를 직접 고친 뒤 호출하면 다음 조회 때 집계를 다시 만든다.
+    void invalidateAggregates(String userId) {
+        aggregates.invalidate(userId);
+    }
 
-        } catch (SQLException e) {
-            System.err.println("DB 초기화 중 오류 발생: " + e.getMessage());
+    public void close() {
+        store.close();
+    }
+
+    private void initializeDatabase() {
+        // 테스트 계정 삽입 및 데이터 추가 (최초 실행 시만)
+        if (!login("test", "1234")) {
+             registerUser("test", "1234");
+             // 테스트 데이터: 2025년 12월 기준
+             LocalDate today = LocalDate.of(2025, 12, 18);
+             addEntry(new AccountEntry("test", today.minusDays(3), EntryType.INCOME, "월급", 3000000, "12월 월급"));
+             addEntry(new AccountEntry("test", today.minusDays(2), EntryType.EXPENSE, "식비", 15000, "점심 식사"));
+             addEntry(new AccountEntry("test", today.minusDays(1), EntryType.EXPENSE, "교통비", 50000, "대중교통 카드 충전"));
         }
     }
     
     // --- 회원 기능 ---
 
     public boolean registerUser(String id, String password) {
-        String sql = "INSERT INTO users (id, password) VALUES (?, ?)";
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, id);
-            pstmt.setString(2, password);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
+        long start = System.nanoTime();
+        try {
+            return store.registerUser(id, password);
+        } catch (StorageException e) {
+            diagnostics.error("registerUser");
             return false;
+        } finally {
+            diagnostics.record("registerUser", start);
         }
     }
 
     public boolean login(String id, String password) {
-        String sql = "SELECT password FROM users WHERE id = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, id);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getString("password").equals(password);
-            }
-        } catch (SQLException e) {
+        long start = System.nanoTime();
+        try {
+            return store.login(id, password);
+        } catch (StorageException e) {
+            diagnostics.error("login");
             e.printStackTrace();
+        } finally {
+            diagnostics.record("login", start);
         }
         return false;
     }
 
     // --- 가계부 데이터 기능 (CRUD) ---
+
+    @FunctionalInterface
+    private interface Write<T> {
+        T run() throws StorageException;
+    }
+
+    // 저장소 쓰기와 집계 캐시 반영을 AggregateCache.beginWrite ~ endWrite 로 감싼다.
+    // 그 사이에 끝난 로드는 새 행을 이미 담고 있을 수 있으므로 캐시되지 않는다. (반영이 두 번 되지 않도록)
+    private <T> T write(String userId, Write<T> write) throws StorageException {
+        aggregates.beginWrite(userId);
+        try {
+            return write.run();
+        } finally {
+            aggregates.endWrite(userId);
+        }
+    }
     
     public boolean addEntry(AccountEntry entry) {
-        String sql = "INSERT INTO entries (user_id, date, type, category, amount, memo) VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, entry.getUserId());
-            pstmt.setString(2, entry.getDate().toString());
-            pstmt.setString(3, entry.getType());
-            pstmt.setString(4, entry.getCategory());
-            pstmt.setLong(5, entry.getAmount());
-            pstmt.setString(6, entry.getMemo());
-            
-            int affectedRows = pstmt.executeUpdate();
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        entry.setId(generatedKeys.getInt(1));
-                    }
-                }
-                return true;
-            }
-        } catch (SQLException e) {
+        long start = System.nanoTime();
+        try {
+            BudgetAlert[] alert = new BudgetAlert[1];
+            boolean cached = write(entry.getUserId(), () -> {
+                store.addEntry(entry);
+                return aggregates.applyAdded(entry, a -> alert[0] = a);
+            });
+            if (!cached) alert[0] = checkUncachedBudget(entry);
+            fireBudgetAlert(alert[0]);
+            return true;
+        } catch (StorageException e) {
+            diagnostics.error("addEntry");
             e.printStackTrace();
+        } finally {
+            diagnostics.record("addEntry", start);
         }
         return false;
     }
     
-    public boolean deleteEntry(int entryId) {
-        String sql = "DELETE FROM entries WHERE entry_id = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, entryId);
-            return pstmt.executeUpdate() > 0;
-        } catch (SQLException e) {
+    // 기다리지 않는 addEntry. 저장되면 새 항목 ID 로, 실패하면 StorageException 으로 완료된다.
+    // SQLite 엔진은 동시에 들어온 쓰기를 한 트랜잭션으로 묶어 커밋한다. (WriteCoordinator)
+    // 예산 알림은 집계가 캐시된 사용자만 확인한다. (쓰기 스레드에서 집계를 로드하지 않도록)
+    public CompletableFuture<Integer> submitEntry(AccountEntry entry) {
+        long start = System.nanoTime();
+        aggregates.beginWrite(entry.getUserId());
+        return store.submitAddEntry(entry).whenComplete((id, error) -> {
+            BudgetAlert[] alert = new BudgetAlert[1];
+            if (error == null) {
+                aggregates.applyAdded(entry, a -> alert[0] = a);
+            } else {
+                diagnostics.error("addEntry");
+            }
+            aggregates.endWrite(entry.getUserId());
+            fireBudgetAlert(alert[0]);
+            diagnostics.record("addEntry", start);
+        });
+    }
+
+    // userId 의 항목만 지운다. (다른 사용자의 항목 ID 를 넘기면 false)
+    public boolean deleteEntry(String userId, int entryId) {
+        long start = System.nanoTime();
+        try {
+            // 집계 캐시에서 빼기 위해 삭제된 항목의 값을 함께 돌려받는다.
+            return write(userId, () -> {
+                AccountEntry deleted = store.deleteEntry(userId, entryId);
+                if (deleted == null) return false;
+                aggregates.apply(deleted, true);
+                return true;
+            });
+        } catch (StorageException e) {
+            diagnostics.error("deleteEntry");
             e.printStackTrace();
             return false;
+        } finally {
+            diagnostics.record("deleteEntry", start);
         }
     }
 
     public List<AccountEntry> getEntriesByDate(String userId, LocalDate date) {
-        List<AccountEntry> entries = new ArrayList<>();
-        String sql = "SELECT * FROM entries WHERE user_id = ? AND date = ? ORDER BY entry_id";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, userId);
-            pstmt.setString(2, date.toString());
-            
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                entries.add(new AccountEntry(
-                    rs.getInt("entry_id"),
-                    rs.getString("user_id"),
-                    LocalDate.parse(rs.getString("date")),
-                    rs.getString("type"),
-                    rs.getString("category"),
-                    rs.getLong("amount"),
-                    rs.getString("memo")
-                ));
-            }
-        } catch (SQLException e) {
+        long start = System.nanoTime();
+        try {
+            return counted(store.getEntriesByDate(userId, date));
+        } catch (StorageException e) {
+            diagnostics.error("getEntriesByDate");
             e.printStackTrace();
+        } finally {
+            diagnostics.record("getEntriesByDate", start);
         }
-        return entries;
+        return new ArrayList<>();
     }
 
-    // --- 통계 기능 ---
-    
-    public long getTotalBalance(String userId) {
-        String sql = "SELECT SUM(CASE WHEN type = '수익' THEN amount ELSE 0 END) - " +
-                     "SUM(CASE WHEN type = '지출' THEN amount ELSE 0 END) AS balance " +
-                     "FROM entries WHERE user_id = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, userId);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getLong("balance");
-            }
-        } catch (SQLException e) {
+    // 조건에 맞는 항목을 최신순(날짜, ID 내림차순)으로 limit 건 돌려준다.
+    // after 에 이전 페이지의 마지막 항목을 넘기면 그 다음부터 이어서 읽는다. (키셋 페이지네이션)
+    public List<AccountEntry> searchEntries(EntryQuery query, AccountEntry after, int limit) {
+        long start = System.nanoTime();
+        try {
+            return counted(store.searchEntries(query, after, limit));
+        } catch (StorageException e) {
+            diagnostics.error("searchEntries");
             e.printStackTrace();
+        } finally {
+            diagnostics.record("searchEntries", start);
         }
-        return 0;
-    }
-
-    private long getMonthlyTotal(String userId, YearMonth yearMonth, String type) {
-        String start = yearMonth.atDay(1).toString();
-        String end = yearMonth.atEndOfMonth().toString();
-        
-        String sql = "SELECT SUM(amount) AS total FROM entries WHERE user_id = ? AND type = ? AND date BETWEEN ? AND ?";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, userId);
-            pstmt.setString(2, type);
-            pstmt.setString(3, start);
-            pstmt.setString(4, end);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getLong("total");
+        return new ArrayList<>();
+    }
+
+    // 메모 전문 검색. 관련도가 높은 순, 같으면 최신순으로 limit 건 돌려준다.
+    // 공백으로 나눈 단어가 모두 메모 어딘가에 들어 있는 항목을 찾으므로 "커피" 는 "아이스커피", "커피값" 도 찾는다.
+    public List<AccountEntry> searchMemo(String userId, String text, int limit) {
+        long start = System.nanoTime();
+        try {
+            return counted(store.searchMemo(userId, text, limit));
+        } catch (StorageException e) {
+            diagnostics.error("searchMemo");
+            e.printStackTrace();
+        } finally {
+            diagnostics.record("searchMemo", start);
+        }
+        return new ArrayList<>();
+    }
+
+    // --- 반복 항목 ---
+    // 규칙만 저장하고 발생은 조회할 때 계산한다. 달력/대시보드/적금 추천의 합계에는 발생이 포함된다.
+    // (UserRollup.getMonth, getBalance) 잔액과 기간 합계에는 오늘까지의 발생만 더한다.
+
+    public boolean addRecurringRule(RecurringRule rule) {
+        long start = System.nanoTime();
+        try {
+            return write(rule.getUserId(), () -> {
+                RecurringRule saved = rule.withId(store.addRecurringRule(rule));
+                aggregates.update(rule.getUserId(), rollup -> rollup.getSchedule().add(saved));
+                return true;
+            });
+        } catch (StorageException e) {
+            diagnostics.error("addRecurringRule");
+            e.printStackTrace();
+            return false;
+        } finally {
+            diagnostics.record("addRecurringRule", start);
+        }
+    }
+
+    // 규칙과 아직 확정하지 않은 발생을 모두 지운다. 확정한 항목은 남는다.
+    public boolean deleteRecurringRule(String userId, int ruleId) {
+        long start = System.nanoTime();
+        try {
+            return write(userId, () -> {
+                if (!store.deleteRecurringRule(userId, ruleId)) return false;
+                aggregates.update(userId, rollup -> rollup.getSchedule().remove(ruleId));
+                return true;
+            });
+        } catch (StorageException e) {
+            diagnostics.error("deleteRecurringRule");
+            e.printStackTrace();
+            return false;
+        } finally {
+            diagnostics.record("deleteRecurringRule", start);
+        }
+    }
+
+    // endDate 이후의 발생을 없앤다. (구독 해지 등. 지난 발생은 그대로 남는다) null 이면 끝 없이 반복한다.
+    // 시작일보다 이른 종료일이면 false (규칙을 없애려면 deleteRecurringRule)
+    public boolean endRecurringRule(String userId, int ruleId, LocalDate endDate) {
+        long start = System.nanoTime();
+        try {
+            return write(userId, () -> {
+                if (!store.setRecurringEndDate(userId, ruleId, endDate)) return false;
+                // 저장소에 반영한 뒤 새 규칙으로 바꿔 끼운다. (이미 넘겨준 규칙은 바뀌지 않는다)
+                aggregates.update(userId, rollup -> {
+                    RecurringRule rule = rollup.getSchedule().find(ruleId);
+                    if (rule != null) rollup.getSchedule().replace(rule.withEndDate(endDate));
+                });
+                return true;
+            });
+        } catch (StorageException e) {
+            diagnostics.error("endRecurringRule");
+            e.printStackTrace();
+            return false;
+        } finally {
+            diagnostics.record("endRecurringRule", start);
+        }
+    }
+
+    // from ~ to 의 확정하지 않은 발생 (날짜순이 아니라 규칙 순)
+    public List<RecurringRule.Occurrence> getRecurringOccurrences(String userId, LocalDate from, LocalDate to) {
+        return readRollup("getRecurringOccurrences", userId, rollup -> {
+            List<RecurringRule.Occurrence> occurrences = new ArrayList<>();
+            rollup.getSchedule().forEachOccurrence(from, to,
+                (rule, date) -> occurrences.add(new RecurringRule.Occurrence(rule, date)));
+            return occurrences;
+        }, new ArrayList<>());
+    }
+
+    // date 의 발생을 실제 항목으로 저장한다. 이후 그 날짜의 발생은 계산에서 빠지고 저장된 항목으로 집계된다.
+    // 금액이나 메모를 바꾸려면 확정한 항목을 지우고 새로 등록한다.
+    public boolean materializeOccurrence(String userId, int ruleId, LocalDate date) {
+        long start = System.nanoTime();
+        try {
+            AccountEntry entry = aggregates.read(userId, rollup -> {
+                RecurringRule rule = rollup.getSchedule().find(ruleId);
+                return rule != null && rule.isPending(date) ? rule.toEntry(date) : null;
+            });
+            if (entry == null) return false;
+            return write(userId, () -> {
+                if (!store.materializeOccurrence(ruleId, entry)) return false;
+                aggregates.update(userId, rollup -> {
+                    RecurringRule rule = rollup.getSchedule().find(ruleId);
+                    if (rule != null) {
+                        rollup.materialize(rule, entry);
+                    } else {
+                        rollup.add(entry); // 그 사이 규칙이 지워졌어도 저장한 항목은 남는다.
+                    }
+                });
+                return true;
+            });
+        } catch (StorageException e) {
+            diagnostics.error("materializeOccurrence");
+            e.printStackTrace();
+            return false;
+        } finally {
+            diagnostics.record("materializeOccurrence", start);
+        }
+    }
+
+    // --- 카테고리 예산 ---
+    // 카테고리별 월 예산 (매달 같은 한도). 지출 항목을 저장할 때마다 그 달 카테고리 지출이 예산의 80% 나 100% 를
+    // 새로 넘었는지 집계 캐시의 월별 카테고리 합계로 바로 확인해서(합계를 다시 조회하지 않는다) 리스너에 알린다.
+    // 지출에는 그 달의 확정하지 않은 반복 발생도 포함한다. (대시보드와 같은 기준) 대량 등록(EntryImporter)은 알리지 않는다.
+
+    // 리스너는 항목을 저장한 스레드에서 불린다. 화면을 고치려면 EDT 로 넘긴다.
+    public void addBudgetListener(Consumer<BudgetAlert> listener) {
+        budgetListeners.add(listener);
+    }
+
+    public void removeBudgetListener(Consumer<BudgetAlert> listener) {
+        budgetListeners.remove(listener);
+    }
+
+    // 카테고리 -> 월 예산
+    public Map<String, Long> getBudgets(String userId) {
+        return readRollup("getBudgets", userId, rollup -> new HashMap<>(rollup.getBudgets().getLimits()), new HashMap<>());
+    }
+
+    // 있으면 바꾼다. limit 은 0보다 커야 한다.
+    public boolean setBudget(String userId, String category, long limit) {
+        if (category == null || category.isEmpty() || limit <= 0) return false;
+        long start = System.nanoTime();
+        try {
+            return write(userId, () -> {
+                store.setBudget(userId, category, limit);
+                aggregates.update(userId, rollup -> rollup.getBudgets().set(category, limit));
+                return true;
+            });
+        } catch (StorageException e) {
+            diagnostics.error("setBudget");
+            e.printStackTrace();
+            return false;
+        } finally {
+            diagnostics.record("setBudget", start);
+        }
+    }
+
+    public boolean deleteBudget(String userId, String category) {
+        long start = System.nanoTime();
+        try {
+            return write(userId, () -> {
+                if (!store.deleteBudget(userId, category)) return false;
+                aggregates.update(userId, rollup -> rollup.getBudgets().remove(category));
+                return true;
+            });
+        } catch (StorageException e) {
+            diagnostics.error("deleteBudget");
+            e.printStackTrace();
+            return false;
+        } finally {
+            diagnostics.record("deleteBudget", start);
+        }
+    }
+
+    // 집계가 캐시에 없는 사용자. 그 카테고리에 예산이 있을 때만 집계를 로드해서(방금 저장한 항목 포함) 확인한다.
+    private BudgetAlert checkUncachedBudget(AccountEntry entry) {
+        if (entry.getType() != EntryType.EXPENSE) return null;
+        try {
+            if (!store.getBudgets(entry.getUserId()).containsKey(entry.getCategory())) return null;
+            return aggregates.read(entry.getUserId(), rollup -> rollup.checkBudget(entry));
+        } catch (StorageException e) {
+            diagnostics.error("checkBudget");
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private void fireBudgetAlert(BudgetAlert alert) {
+        if (alert == null) return;
+        for (Consumer<BudgetAlert> listener : budgetListeners) {
+            try {
+                listener.accept(alert);
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // 리스너 오류로 저장이 실패한 것처럼 보이지 않게 한다.
             }
-        } catch (SQLException e) {
+        }
+    }
+
+    private List<AccountEntry> counted(List<AccountEntry> entries) {
+        diagnostics.rowsRead(entries.size());
+        return entries;
+    }
+
+    // --- 통계 기능 ---
+    // 모든 통계는 AggregateCache 의 사용자별 집계에서 읽는다.
+
+    // 사용자의 전체 항목을 열 데이터로 한 번 읽어 집계한다. (캐시 미스 시에만 호출)
+    private UserRollup loadRollup(String userId) throws StorageException {
+        long start = System.nanoTime();
+        EntryColumns columns = new EntryColumns();
+        store.scanHistory(userId, columns::add);
+        RecurringSchedule schedule = new RecurringSchedule(store.getRecurringRules(userId));
+        CategoryBudgets budgets = new CategoryBudgets(store.getBudgets(userId));
+        diagnostics.rowsRead(columns.size());
+        diagnostics.record("loadRollup", start);
+        return new UserRollup(columns, schedule, budgets);
+    }
+
+    // operation 은 진단 통계에 남길 작업 이름. 캐시 미스라면 loadRollup 시간도 함께 들어간다.
+    private <T> T readRollup(String operation, String userId, Function<UserRollup, T> reader, T fallback) {
+        long start = System.nanoTime();
+        try {
+            return aggregates.read(userId, reader);
+        } catch (StorageException e) {
+            diagnostics.error(operation);
             e.printStackTrace();
+            return fallback;
+        } finally {
+            diagnostics.record(operation, start);
         }
-        return 0;
+    }
+
+    public long getTotalBalance(String userId) {
+        return readRollup("getTotalBalance", userId, UserRollup::getBalance, 0L);
+    }
+
+    private long getMonthlyTotal(String userId, YearMonth yearMonth, EntryType type) {
+        return readRollup("getMonthlyTotal", userId, rollup -> {
+            UserRollup.MonthRollup month = rollup.getMonth(yearMonth);
+            if (month == null) return 0L;
+            return type == EntryType.INCOME ? month.getIncome() : month.getExpense();
+        }, 0L);
     }
     
     public long getCurrentMonthIncome(String userId) {
-        return getMonthlyTotal(userId, YearMonth.now(), "수익");
+        return getMonthlyTotal(userId, YearMonth.now(), EntryType.INCOME);
     }
 
     public long getCurrentMonthExpense(String userId) {
-        return getMonthlyTotal(userId, YearMonth.now(), "지출");
+        return getMonthlyTotal(userId, YearMonth.now(), EntryType.EXPENSE);
     }
 
     public Map<String, Double> getCategoryExpenseRatio(String userId) {
-        Map<String, Double> ratios = new HashMap<>();
-        long totalExpense = getCurrentMonthExpense(userId);
-
-        if (totalExpense == 0) {
+        YearMonth now = YearMonth.now();
+        return readRollup("getCategoryExpenseRatio", userId, rollup -> {
+            Map<String, Double> ratios = new HashMap<>();
+            UserRollup.MonthRollup month = rollup.getMonth(now);
+            if (month == null || month.getExpense() == 0) {
+                return ratios;
+            }
+            long totalExpense = month.getExpense();
+            for (Map.Entry<String, Long> entry : month.getExpenseByCategory().entrySet()) {
+                double ratio = (double) entry.getValue() * 100.0 / totalExpense;
+                ratios.put(entry.getKey(), ratio);
+            }
             return ratios;
-        }
+        }, new HashMap<>());
+    }
+
+    // 대시보드에 필요한 값을 한 번의 집계 캐시 읽기(같은 잠금 안)에서 만든다.
+    public DashboardSnapshot getDashboardSnapshot(String userId) {
+        return getDashboardSnapshot(userId, YearMonth.now());
+    }
 
-        String start = YearMonth.now().atDay(1).toString();
-        String end = YearMonth.now().atEndOfMonth().toString();
-        
-        String sql = "SELECT category, SUM(amount) AS sum_amount FROM entries " +
-                     "WHERE user_id = ? AND type = '지출' AND date BETWEEN ? AND ? GROUP BY category";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, userId);
-            pstmt.setString(2, start);
-            pstmt.setString(3, end);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                String category = rs.getString("category");
-                long amount = rs.getLong("sum_amount");
-                double ratio = (double) amount * 100.0 / totalExpense;
-                ratios.put(category, ratio);
+    public DashboardSnapshot getDashboardSnapshot(String userId, YearMonth yearMonth) {
+        return readRollup("getDashboardSnapshot", userId, rollup -> {
+            UserRollup.MonthRollup month = rollup.getMonth(yearMonth);
+            Map<String, Long> budgets = rollup.getBudgets().getLimits();
+            if (month == null) {
+                return new DashboardSnapshot(yearMonth, rollup.getBalance(), 0, 0, new HashMap<>(), budgets);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return ratios;
+            return new DashboardSnapshot(yearMonth, rollup.getBalance(), month.getIncome(), month.getExpense(),
+                                         month.getExpenseByCategory(), budgets);
+        }, new DashboardSnapshot(yearMonth, 0, 0, 0, new HashMap<>(), new HashMap<>()));
     }
 
     public Map<String, Long> getDailySummary(String userId, LocalDate date) {
@@ -243,65 +522,108 @@ public class DataService {
         summary.put("income", 0L);
         summary.put("expense", 0L);
 
-        String sql = "SELECT type, SUM(amount) AS total FROM entries WHERE user_id = ? AND date = ? GROUP BY type";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, userId);
-            pstmt.setString(2, date.toString());
-            
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                String type = rs.getString("type");
-                long total = rs.getLong("total");
-                if (type.equals("수익")) {
-                    summary.put("income", total);
-                } else if (type.equals("지출")) {
-                    summary.put("expense", total);
-                }
+        return readRollup("getDailySummary", userId, rollup -> {
+            UserRollup.MonthRollup month = rollup.getMonth(YearMonth.from(date));
+            if (month != null) {
+                summary.put("income", month.getDays().getIncome(date.getDayOfMonth()));
+                summary.put("expense", month.getDays().getExpense(date.getDayOfMonth()));
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return summary;
+        }, summary);
+    }
+
+    // 한 달의 일별 수익/지출 합계. 캐시된 값의 복사본을 돌려준다.
+    public MonthSummary getMonthSummary(String userId, YearMonth yearMonth) {
+        return readRollup("getMonthSummary", userId, rollup -> {
+            UserRollup.MonthRollup month = rollup.getMonth(yearMonth);
+            return month == null ? new MonthSummary(yearMonth) : month.getDays().copy();
+        }, new MonthSummary(yearMonth));
+    }
+
+    // getRangeSummary 가 집계 캐시의 잠금 안에서 잡아 두는 것: 열 데이터 스냅샷과 그 기간의 반복 발생 합계
+    private static final class RangeScan {
+        final EntryColumns.Snapshot columns;
+        final long[] recurring = new long[2]; // EntryType 코드 -> 합계
+        final Map<String, Long> incomeByCategory = new HashMap<>();
+        final Map<String, Long> expenseByCategory = new HashMap<>();
+
+        RangeScan(EntryColumns.Snapshot columns) {
+            this.columns = columns;
         }
-        return summary;
-    }
-
-    public int getMonthlyNetIncome(String userId, String yearMonth) {
-        int totalIncome = 0;
-        int totalExpense = 0;
-        
-        // 1. 총 수입 계산
-        String incomeSql = "SELECT SUM(amount) FROM entries WHERE user_id = ? AND strftime('%Y-%m', date) = ? AND type = '수익'";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(incomeSql)) {
-            
-            pstmt.setString(1, userId);
-            pstmt.setString(2, yearMonth);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    totalIncome = rs.getInt(1);
-                }
+    }
+
+    // from ~ to (null 이면 제한 없음) 기간의 합계. 집계 캐시의 열 데이터에서 계산한다.
+    // 잠금 안에서는 구간 스냅샷과 반복 발생만 잡고, 항목 수에 비례하는 합산은 잠금 밖에서 하므로
+    // 긴 기간을 훑는 동안에도 다른 사용자의 조회/저장이 기다리지 않는다.
+    public RangeSummary getRangeSummary(String userId, LocalDate from, LocalDate to) {
+        int fromDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+        int toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+        RangeScan scan = readRollup("getRangeSummary", userId, rollup -> {
+            RangeScan locked = new RangeScan(rollup.getColumns().snapshot(fromDay, toDay));
+            // 반복 발생은 오늘까지만 더한다. (끝이 없는 규칙도 있으므로)
+            LocalDate last = to == null || to.isAfter(LocalDate.now()) ? LocalDate.now() : to;
+            rollup.getSchedule().forEachOccurrence(from == null ? LocalDate.MIN : from, last, (rule, date) -> {
+                locked.recurring[rule.getType().getCode()] += rule.getAmount();
+                (rule.getType() == EntryType.INCOME ? locked.incomeByCategory : locked.expenseByCategory)
+                    .merge(rule.getCategory(), rule.getAmount(), Long::sum);
+            });
+            return locked;
+        }, null);
+        if (scan == null) return new RangeSummary(from, to, 0, 0, new HashMap<>(), new HashMap<>());
+
+        long start = System.nanoTime();
+        try {
+            EntryColumns.Snapshot columns = scan.columns;
+            long[] totals = columns.totals();
+            long[] byCategory = columns.totalsByCategory();
+            for (int code = 0; code < columns.categoryCount(); code++) {
+                long income = byCategory[code * 2 + EntryType.INCOME.getCode()];
+                long expense = byCategory[code * 2 + EntryType.EXPENSE.getCode()];
+                if (income != 0) scan.incomeByCategory.merge(columns.categoryName(code), income, Long::sum);
+                if (expense != 0) scan.expenseByCategory.merge(columns.categoryName(code), expense, Long::sum);
             }
-        } catch (SQLException e) {
-            System.err.println("월별 총 수입 조회 중 오류 발생: " + e.getMessage());
+            return new RangeSummary(from, to, totals[0] + scan.recurring[EntryType.INCOME.getCode()],
+                                    totals[1] + scan.recurring[EntryType.EXPENSE.getCode()],
+                                    scan.incomeByCategory, scan.expenseByCategory);
+        } finally {
+            diagnostics.record("getRangeSummary.scan", start);
         }
+    }
 
-        // 2. 총 지출 계산
-        String expenseSql = "SELECT SUM(amount) FROM entries WHERE user_id = ? AND strftime('%Y-%m', date) = ? AND type = '지출'";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement pstmt = conn.prepareStatement(expenseSql)) {
-            
-            pstmt.setString(1, userId);
-            pstmt.setString(2, yearMonth);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    totalExpense = rs.getInt(1);
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("월별 총 지출 조회 중 오류 발생: " + e.getMessage());
+    // yearMonth 는 yyyy-MM 형식
+    public long getMonthlyNetIncome(String userId, String yearMonth) {
+        YearMonth month = YearMonth.parse(yearMonth);
+        return getMonthlyNetIncomeSeries(userId, month, 1).getNetIncome(0);
+    }
+
+    // month 기준 적금 추천. 최근 SavingsAdvisor.TREND_MONTHS 개월의 순수익을 읽어 판단한다.
+    public SavingsAdvice getSavingsAdvice(String userId, YearMonth month) {
+        YearMonth start = month.minusMonths(SavingsAdvisor.TREND_MONTHS - 1);
+        return SavingsAdvisor.advise(getMonthlyNetIncomeSeries(userId, start, SavingsAdvisor.TREND_MONTHS), month);
+    }
+
+    // month 까지 최근 SavingsSimulator.HISTORY_MONTHS 개월의 순수익 분포로 적금 상품별 결과를 모의실험해 순위를 매긴다.
+    // 같은 달, 같은 순수익이면 기억해 둔 결과를 돌려준다.
+    public SavingsProjection getSavingsProjection(String userId, YearMonth month) {
+        YearMonth start = month.minusMonths(SavingsSimulator.HISTORY_MONTHS - 1);
+        NetIncomeSeries series = getMonthlyNetIncomeSeries(userId, start, SavingsSimulator.HISTORY_MONTHS);
+        long begin = System.nanoTime();
+        try {
+            return savingsSimulator.project(userId, series, month);
+        } finally {
+            diagnostics.record("getSavingsProjection", begin);
         }
+    }
 
-        return totalIncome - totalExpense;
+    // start 부터 months 개월 동안의 월별 수익/지출. 집계 캐시를 한 번만 읽는다.
+    public NetIncomeSeries getMonthlyNetIncomeSeries(String userId, YearMonth start, int months) {
+        return readRollup("getMonthlyNetIncomeSeries", userId, rollup -> {
+            NetIncomeSeries series = new NetIncomeSeries(start, months);
+            for (int i = 0; i < months; i++) {
+                UserRollup.MonthRollup month = rollup.getMonth(start.plusMonths(i));
+                if (month != null) series.set(i, month.getIncome(), month.getExpense());
+            }
+            return series;
+        }, new NetIncomeSeries(start, months));
     }
 }
\ No newline at end of file
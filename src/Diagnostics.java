@@ -0,0 +1,104 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// DataService 작업과 화면 갱신의 응답 시간, 오류 수, 읽은 행 수, 열린 커넥션 수를 모은다.
+// 처음 쓸 때 JMX MBean(household:type=Diagnostics)으로 등록되고, DiagnosticsFrame 에서도 볼 수 있다.
+//   long start = System.nanoTime();
+//   ... 작업 ...
+//   Diagnostics.getInstance().record("getEntriesByDate", start);
+// 화면 갱신은 "ui." 으로 시작하는 이름을 쓴다. (예: ui.drawCalendar)
+public class Diagnostics implements DiagnosticsMXBean {
+
+    static final String OBJECT_NAME = "household:type=Diagnostics";
+
+    private static Diagnostics instance;
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final LongAdder connectionsOpened = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder rowsRead = new LongAdder();
+
+    private static class Operation {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+    }
+
+    public static synchronized Diagnostics getInstance() {
+        if (instance == null) {
+            instance = new Diagnostics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                // JMX 없이도 통계 수집과 진단 창은 동작한다.
+                System.err.println("진단 MBean 을 등록하지 못했습니다: " + e.getMessage());
+            }
+        }
+        return instance;
+    }
+
+    private Operation operation(String name) {
+        return operations.computeIfAbsent(name, key -> new Operation());
+    }
+
+    // startNanos 는 작업 시작 시점의 System.nanoTime()
+    public void record(String name, long startNanos) {
+        operation(name).latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    public void error(String name) {
+        operation(name).errors.increment();
+        errorCount.increment();
+    }
+
+    public void rowsRead(long rows) {
+        rowsRead.add(rows);
+    }
+
+    public void connectionOpened() {
+        connectionsOpened.increment();
+    }
+
+    // --- DiagnosticsMXBean ---
+
+    @Override
+    public List<OperationStats> getOperations() {
+        List<OperationStats> result = new ArrayList<>();
+        for (Map.Entry<String, Operation> entry : operations.entrySet()) {
+            LatencyHistogram latency = entry.getValue().latency;
+            long count = latency.getCount();
+            long[] p = latency.percentiles(50, 95, 99);
+            result.add(new OperationStats(entry.getKey(), count, entry.getValue().errors.sum(),
+                                          count == 0 ? 0 : latency.getTotalMicros() / count,
+                                          p[0], p[1], p[2], latency.getMaxMicros()));
+        }
+        result.sort((a, b) -> a.getOperation().compareTo(b.getOperation()));
+        return result;
+    }
+
+    @Override
+    public long getConnectionsOpened() { return connectionsOpened.sum(); }
+
+    @Override
+    public long getErrorCount() { return errorCount.sum(); }
+
+    @Override
+    public long getRowsRead() { return rowsRead.sum(); }
+
+    @Override
+    public void reset() {
+        for (Operation operation : operations.values()) {
+            operation.latency.reset();
+            operation.errors.reset();
+        }
+        connectionsOpened.reset();
+        errorCount.reset();
+        rowsRead.reset();
+    }
+}
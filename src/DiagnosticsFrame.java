@@ -0,0 +1,112 @@
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+// Diagnostics 에 모인 작업별 응답 시간과 카운터를 1초마다 다시 읽어 보여주는 창.
+// "ui." 으로 시작하는 행은 화면 갱신 시간이고, 나머지는 DataService 작업(DB) 시간이다.
+public class DiagnosticsFrame extends JFrame {
+
+    private static final int REFRESH_MILLIS = 1000;
+
+    private final Diagnostics diagnostics;
+    private final StatsTableModel tableModel = new StatsTableModel();
+    private final JLabel countersLabel = new JLabel(" ");
+    private final Timer refreshTimer;
+
+    public DiagnosticsFrame(Diagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+
+        setTitle("진단 정보");
+        setSize(760, 400);
+        setLayout(new BorderLayout(5, 5));
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        countersLabel.setBorder(BorderFactory.createEmptyBorder(5, 10, 0, 10));
+        add(countersLabel, BorderLayout.NORTH);
+
+        JTable table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton resetButton = new JButton("초기화");
+        resetButton.addActionListener(e -> {
+            diagnostics.reset();
+            refresh();
+        });
+        JButton closeButton = new JButton("닫기");
+        closeButton.addActionListener(e -> dispose());
+        bottomPanel.add(resetButton);
+        bottomPanel.add(closeButton);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        refreshTimer = new Timer(REFRESH_MILLIS, e -> refresh());
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                refreshTimer.stop();
+            }
+        });
+
+        refresh();
+        refreshTimer.start();
+        setVisible(true);
+    }
+
+    private void refresh() {
+        countersLabel.setText(String.format("열린 커넥션 %,d개 / 오류 %,d건 / 읽은 행 %,d건",
+            diagnostics.getConnectionsOpened(), diagnostics.getErrorCount(), diagnostics.getRowsRead()));
+        tableModel.setRows(diagnostics.getOperations());
+    }
+
+    private static class StatsTableModel extends AbstractTableModel {
+
+        private static final String[] COLUMNS = {"작업", "호출 수", "오류", "평균(ms)", "p50(ms)", "p95(ms)", "p99(ms)", "최대(ms)"};
+
+        private List<OperationStats> rows = new ArrayList<>();
+
+        void setRows(List<OperationStats> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() { return rows.size(); }
+
+        @Override
+        public int getColumnCount() { return COLUMNS.length; }
+
+        @Override
+        public String getColumnName(int column) { return COLUMNS[column]; }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            if (column == 0) return String.class;
+            return column <= 2 ? Long.class : Double.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            OperationStats stats = rows.get(row);
+            switch (column) {
+                case 0: return stats.getOperation();
+                case 1: return stats.getCount();
+                case 2: return stats.getErrors();
+                case 3: return millis(stats.getMeanMicros());
+                case 4: return millis(stats.getP50Micros());
+                case 5: return millis(stats.getP95Micros());
+                case 6: return millis(stats.getP99Micros());
+                default: return millis(stats.getMaxMicros());
+            }
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+import java.util.List;
+
+// JConsole/VisualVM 에서 household:type=Diagnostics 로 보이는 진단 정보
+public interface DiagnosticsMXBean {
+
+    List<OperationStats> getOperations();
+
+    long getConnectionsOpened();
+
+    long getErrorCount();
+
+    long getRowsRead();
+
+    void reset();
+}
@@ -0,0 +1,312 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+// 한 사용자의 전체 항목을 열(column)별 기본형 배열로 들고 있는다. 날짜를 32일 블록으로 나눠 블록마다
+// (날짜, ID) 오름차순 배열을 두므로, 항목 추가/삭제는 그 블록 안에서만 배열을 밀고 당긴다. (전체 항목 수와 무관)
+// 기간 조회는 범위에 드는 블록만 골라 양 끝 블록에서만 이진 탐색하고 나머지는 연속된 배열을 통째로 훑는다.
+// 객체를 만들지 않는 단순 반복문이라 JIT 가 벡터 명령으로 바꿀 수 있고, 구간이 크면 블록 단위로 병렬로 계산한다.
+// UserRollup 안에서 AggregateCache 의 잠금 안에서만 읽고 쓴다. 다만 snapshot 으로 잡은 구간은 잠금 밖에서 훑을 수 있다.
+// 스냅샷이 가리키는 블록은 바꾸지 않고, 그 블록에 쓰기가 오면 복사본을 만들어 바꿔 끼운다. (copy-on-write)
+public class EntryColumns {
+
+    // 이보다 긴 구간은 병렬 스트림으로 나눠서 합산한다.
+    private static final int PARALLEL_THRESHOLD = 1 << 20;
+    // 블록 하나가 덮는 날짜 수 = 1 << BLOCK_SHIFT
+    private static final int BLOCK_SHIFT = 5;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // 하루 단위 합계를 넘겨받는 방문자. sums 의 인덱스 = 카테고리 번호 * 2 + 분류 코드 (호출이 끝나면 다시 쓰인다)
+    @FunctionalInterface
+    public interface DayVisitor {
+        void visit(int day, long[] sums);
+    }
+
+    // 32일 블록 하나의 항목. (날짜, ID) 오름차순
+    private static final class Block {
+        int size;
+        boolean shared; // 스냅샷이 잡고 있으면 true. 더는 바꾸지 않는다.
+        int[] ids = new int[INITIAL_CAPACITY];
+        int[] days = new int[INITIAL_CAPACITY];       // epoch day
+        long[] amounts = new long[INITIAL_CAPACITY];
+        byte[] types = new byte[INITIAL_CAPACITY];     // EntryType 코드 (INCOME=0, EXPENSE=1)
+        short[] categories = new short[INITIAL_CAPACITY];
+
+        void insert(int index, int entryId, int day, long amount, byte type, short category) {
+            if (size == ids.length) grow();
+            int tail = size - index;
+            if (tail > 0) {
+                System.arraycopy(ids, index, ids, index + 1, tail);
+                System.arraycopy(days, index, days, index + 1, tail);
+                System.arraycopy(amounts, index, amounts, index + 1, tail);
+                System.arraycopy(types, index, types, index + 1, tail);
+                System.arraycopy(categories, index, categories, index + 1, tail);
+            }
+            ids[index] = entryId;
+            days[index] = day;
+            amounts[index] = amount;
+            types[index] = type;
+            categories[index] = category;
+            size++;
+        }
+
+        void delete(int index) {
+            int tail = size - index - 1;
+            System.arraycopy(ids, index + 1, ids, index, tail);
+            System.arraycopy(days, index + 1, days, index, tail);
+            System.arraycopy(amounts, index + 1, amounts, index, tail);
+            System.arraycopy(types, index + 1, types, index, tail);
+            System.arraycopy(categories, index + 1, categories, index, tail);
+            size--;
+        }
+
+        Block copy() {
+            Block copy = new Block();
+            copy.size = size;
+            copy.ids = ids.clone();
+            copy.days = days.clone();
+            copy.amounts = amounts.clone();
+            copy.types = types.clone();
+            copy.categories = categories.clone();
+            return copy;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            days = Arrays.copyOf(days, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            types = Arrays.copyOf(types, capacity);
+            categories = Arrays.copyOf(categories, capacity);
+        }
+
+        private int compare(int day, int entryId, int index) {
+            if (day != days[index]) return Integer.compare(day, days[index]);
+            return Integer.compare(entryId, ids[index]);
+        }
+
+        // (day, entryId) 보다 큰 첫 위치
+        int upperBound(int day, int entryId) {
+            if (size == 0 || compare(day, entryId, size - 1) >= 0) return size; // 보통은 맨 뒤에 붙는다.
+            int low = 0, high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(day, entryId, mid) >= 0) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+
+        // 날짜가 day 이상인 첫 위치
+        int lowerBound(int day) {
+            int low = 0, high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] < day) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+
+    // 잠금 밖에서 훑을 수 있는 기간 구간. 만든 뒤에 들어온 쓰기는 보이지 않는다.
+    public static final class Snapshot {
+        private final long[][] amounts;
+        private final byte[][] types;
+        private final short[][] categories;
+        private final int[] from;
+        private final int[] to;
+        private final List<String> categoryNames;
+        private final long rows;
+
+        private Snapshot(List<Block> blocks, int[] from, int[] to, List<String> categoryNames) {
+            int count = blocks.size();
+            this.amounts = new long[count][];
+            this.types = new byte[count][];
+            this.categories = new short[count][];
+            long rows = 0;
+            for (int b = 0; b < count; b++) {
+                Block block = blocks.get(b);
+                amounts[b] = block.amounts;
+                types[b] = block.types;
+                categories[b] = block.categories;
+                rows += to[b] - from[b];
+            }
+            this.from = from;
+            this.to = to;
+            this.categoryNames = categoryNames;
+            this.rows = rows;
+        }
+
+        public long rows() { return rows; }
+        public int categoryCount() { return categoryNames.size(); }
+
+        // 카테고리 번호 -> 이름 (0 이면 null)
+        public String categoryName(int code) {
+            return code == 0 ? null : categoryNames.get(code);
+        }
+
+        // 수익/지출 합계. {수익, 지출}
+        public long[] totals() {
+            return sum(2, this::totals);
+        }
+
+        // 카테고리별 합계. 인덱스 = 카테고리 번호 * 2 + 분류 코드
+        public long[] totalsByCategory() {
+            return sum(categoryNames.size() * 2, this::totalsByCategory);
+        }
+
+        @FunctionalInterface
+        private interface BlockSum {
+            void add(int block, long[] out);
+        }
+
+        // 블록마다 summer 로 더한다. 항목이 많으면 블록 단위 병렬 스트림으로 나눈다.
+        private long[] sum(int width, BlockSum summer) {
+            if (rows < PARALLEL_THRESHOLD) {
+                long[] out = new long[width];
+                for (int b = 0; b < from.length; b++) summer.add(b, out);
+                return out;
+            }
+            return IntStream.range(0, from.length).parallel()
+                .mapToObj(b -> {
+                    long[] out = new long[width];
+                    summer.add(b, out);
+                    return out;
+                })
+                .reduce(new long[width], EntryColumns::plus);
+        }
+
+        // 분기 없이 더해서 반복문이 벡터화될 수 있게 한다. (type 은 0 또는 1)
+        private void totals(int block, long[] out) {
+            long[] amounts = this.amounts[block];
+            byte[] types = this.types[block];
+            long income = 0, expense = 0;
+            for (int i = from[block]; i < to[block]; i++) {
+                long amount = amounts[i];
+                long isExpense = types[i];
+                expense += amount * isExpense;
+                income += amount * (1 - isExpense);
+            }
+            out[0] += income;
+            out[1] += expense;
+        }
+
+        private void totalsByCategory(int block, long[] out) {
+            long[] amounts = this.amounts[block];
+            byte[] types = this.types[block];
+            short[] categories = this.categories[block];
+            for (int i = from[block]; i < to[block]; i++) {
+                out[(categories[i] << 1) | types[i]] += amounts[i];
+            }
+        }
+    }
+
+    // 블록 번호(epoch day >> BLOCK_SHIFT) -> 블록. 비면 지운다.
+    private final TreeMap<Integer, Block> blocks = new TreeMap<>();
+    private int size;
+
+    // 이 사용자가 쓰는 카테고리만 번호를 매긴다. 0 은 카테고리 없음(null)
+    private final List<String> categoryNames = new ArrayList<>(List.of(""));
+    private final Map<String, Short> categoryCodes = new HashMap<>();
+
+    public int size() { return size; }
+    public int categoryCount() { return categoryNames.size(); }
+
+    // 카테고리 번호 -> 이름 (0 이면 null)
+    public String categoryName(int code) {
+        return code == 0 ? null : categoryNames.get(code);
+    }
+
+    public int categoryCode(String name) {
+        if (name == null) return 0;
+        Short code = categoryCodes.get(name);
+        if (code != null) return code;
+        if (categoryNames.size() > Short.MAX_VALUE) throw new IllegalStateException("카테고리가 너무 많습니다.");
+        code = (short) categoryNames.size();
+        categoryNames.add(name);
+        categoryCodes.put(name, code);
+        return code;
+    }
+
+    // 저장소에서 (날짜, ID) 순으로 읽어 채울 때는 마지막 블록 맨 뒤에 붙는다.
+    public void add(int entryId, int day, EntryType type, String category, long amount) {
+        Block block = writable(day >> BLOCK_SHIFT);
+        block.insert(block.upperBound(day, entryId), entryId, day, amount, (byte) type.getCode(),
+                     (short) categoryCode(category));
+        size++;
+    }
+
+    // 없는 항목이면 false
+    public boolean remove(int entryId, int day) {
+        Block block = blocks.get(day >> BLOCK_SHIFT);
+        if (block == null) return false;
+        for (int i = block.lowerBound(day); i < block.size && block.days[i] == day; i++) {
+            if (block.ids[i] != entryId) continue;
+            block = writable(day >> BLOCK_SHIFT);
+            block.delete(i);
+            if (block.size == 0) blocks.remove(day >> BLOCK_SHIFT);
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    // 바꿔도 되는 블록. 스냅샷이 잡고 있는 블록이면 복사본으로 바꿔 끼운다. (블록 하나만 복사한다)
+    private Block writable(int key) {
+        Block block = blocks.get(key);
+        if (block == null) {
+            block = new Block();
+            blocks.put(key, block);
+        } else if (block.shared) {
+            block = block.copy();
+            blocks.put(key, block);
+        }
+        return block;
+    }
+
+    // --- 열 단위 읽기 (UserRollup 재구성 등) ---
+
+    // 날짜 순으로 하루씩 그날의 (카테고리, 분류)별 합계를 넘긴다.
+    public void forEachDay(DayVisitor visitor) {
+        long[] sums = new long[categoryNames.size() * 2];
+        for (Block block : blocks.values()) {
+            int i = 0;
+            while (i < block.size) {
+                int day = block.days[i];
+                for (; i < block.size && block.days[i] == day; i++) {
+                    sums[(block.categories[i] << 1) | block.types[i]] += block.amounts[i];
+                }
+                visitor.visit(day, sums);
+                Arrays.fill(sums, 0);
+            }
+        }
+    }
+
+    // --- 집계 ---
+
+    // [fromDay, toDay] 구간의 스냅샷. 잠금 안에서는 구간만 잡고(블록 수만큼), 합계는 잠금 밖에서 Snapshot 으로 계산한다.
+    public Snapshot snapshot(int fromDay, int toDay) {
+        List<Block> inRange = fromDay > toDay ? List.of()
+            : new ArrayList<>(blocks.subMap(fromDay >> BLOCK_SHIFT, true, toDay >> BLOCK_SHIFT, true).values());
+        int[] from = new int[inRange.size()];
+        int[] to = new int[inRange.size()];
+        for (int b = 0; b < inRange.size(); b++) {
+            Block block = inRange.get(b);
+            block.shared = true;
+            from[b] = b == 0 ? block.lowerBound(fromDay) : 0;
+            to[b] = b == inRange.size() - 1 && toDay != Integer.MAX_VALUE ? block.lowerBound(toDay + 1) : block.size;
+        }
+        return new Snapshot(inRange, from, to, List.copyOf(categoryNames));
+    }
+
+    private static long[] plus(long[] a, long[] b) {
+        long[] sum = new long[a.length];
+        for (int i = 0; i < a.length; i++) sum[i] = a[i] + b[i];
+        return sum;
+    }
+}
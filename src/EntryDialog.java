@@ -1,54 +1,85 @@
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class EntryDialog extends JDialog {
 
     private final CalendarFrame parentFrame;
     private final String userId;
     private final LocalDate date;
-    private final DataService dataService;;
+    private final AsyncDataService asyncData;
 
-    private JComboBox<String> typeComboBox;
+    private JComboBox<EntryType> typeComboBox;
     private JComboBox<String> categoryComboBox;
     private JTextField amountField;
     private JTextField memoField;
+    private JComboBox<String> repeatComboBox;
+    private JSpinner intervalSpinner;
+    private JTextField endDateField;
     private JList<AccountEntry> entryList;
     private DefaultListModel<AccountEntry> listModel;
+    private JList<RecurringRule.Occurrence> occurrenceList;
+    private DefaultListModel<RecurringRule.Occurrence> occurrenceModel;
+    // 저장 중에 받은 예산 알림. EDT 에서만 읽고 쓰며 저장 결과와 함께 보여 준다.
+    private final List<BudgetAlert> budgetAlerts = new ArrayList<>();
 
-    private final String[] INCOME_CATS = {"월급", "용돈", "기타수익"};
-    private final String[] EXPENSE_CATS = {"식비", "교통비", "생활용품", "취미/문화", "기타지출"};
+    static final String[] INCOME_CATS = {"월급", "용돈", "기타수익"};
+    static final String[] EXPENSE_CATS = {"식비", "교통비", "생활용품", "취미/문화", "기타지출"};
+    // 0번은 반복 안 함, 나머지는 RecurringRule.Frequency 순서
+    private static final String[] REPEAT_OPTIONS = {"반복 안 함", "일마다", "주마다", "개월마다"};
 
     public EntryDialog(CalendarFrame parentFrame, String userId, LocalDate date) {
         super(parentFrame, date.toString() + " 가계부 항목 관리", true);
         this.parentFrame = parentFrame;
         this.userId = userId;
         this.date = date;
-        this.dataService = new DataService();
+        this.asyncData = AsyncDataService.getInstance();
         
         setLayout(new BorderLayout(10, 10));
-        setSize(550, 600);
+        setSize(550, 760);
         setLocationRelativeTo(parentFrame);
 
+        JPanel listsPanel = new JPanel(new GridLayout(2, 1, 5, 5));
+        listsPanel.add(createListPanel());
+        listsPanel.add(createRecurringPanel());
+
         add(createRegistrationPanel(), BorderLayout.NORTH);
-        add(createListPanel(), BorderLayout.CENTER);
+        add(listsPanel, BorderLayout.CENTER);
         
         loadEntryList();
 
-        setVisible(true);
+        // 알림은 저장이 끝나기 전에 오므로 EDT 에 먼저 쌓아 두면 저장 결과를 보여 줄 때 함께 꺼낼 수 있다.
+        Consumer<BudgetAlert> budgetListener = alert -> {
+            if (alert.getUserId().equals(userId)) SwingUtilities.invokeLater(() -> budgetAlerts.add(alert));
+        };
+        asyncData.addBudgetListener(budgetListener);
+        setVisible(true); // 모달: 창을 닫을 때까지 돌아오지 않는다.
+        asyncData.removeBudgetListener(budgetListener);
     }
 
     private JPanel createRegistrationPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBorder(BorderFactory.createTitledBorder("항목 등록"));
 
-        JPanel inputPanel = new JPanel(new GridLayout(4, 2, 5, 5));
+        JPanel inputPanel = new JPanel(new GridLayout(6, 2, 5, 5));
         
-        typeComboBox = new JComboBox<>(new String[]{"수익", "지출"});
+        typeComboBox = new JComboBox<>(EntryType.values());
         categoryComboBox = new JComboBox<>(EXPENSE_CATS); 
         amountField = new JTextField();
         memoField = new JTextField();
+        intervalSpinner = new JSpinner(new SpinnerNumberModel(1, 1, 365, 1));
+        repeatComboBox = new JComboBox<>(REPEAT_OPTIONS);
+        endDateField = new JTextField();
+        endDateField.setToolTipText("yyyy-MM-dd, 비우면 끝 없이 반복");
+
+        JPanel repeatPanel = new JPanel(new GridLayout(1, 2, 5, 0));
+        repeatPanel.add(intervalSpinner);
+        repeatPanel.add(repeatComboBox);
 
         inputPanel.add(new JLabel("분류:"));
         inputPanel.add(typeComboBox);
@@ -58,6 +89,10 @@ public class EntryDialog extends JDialog {
         inputPanel.add(amountField);
         inputPanel.add(new JLabel("메모:"));
         inputPanel.add(memoField);
+        inputPanel.add(new JLabel("반복 (이 날부터):"));
+        inputPanel.add(repeatPanel);
+        inputPanel.add(new JLabel("반복 종료일 (비우면 계속):"));
+        inputPanel.add(endDateField);
 
         typeComboBox.addActionListener(e -> updateCategoryComboBox());
         
@@ -71,9 +106,9 @@ public class EntryDialog extends JDialog {
     }
 
     private void updateCategoryComboBox() {
-        String type = (String) typeComboBox.getSelectedItem();
+        EntryType type = (EntryType) typeComboBox.getSelectedItem();
         categoryComboBox.removeAllItems();
-        if ("수익".equals(type)) {
+        if (type == EntryType.INCOME) {
             for (String cat : INCOME_CATS) categoryComboBox.addItem(cat);
         } else {
             for (String cat : EXPENSE_CATS) categoryComboBox.addItem(cat);
@@ -97,19 +132,63 @@ public class EntryDialog extends JDialog {
         return panel;
     }
     
+    // 규칙에서 계산한 이 날의 발생. 확정하면 실제 항목이 된다.
+    private JPanel createRecurringPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBorder(BorderFactory.createTitledBorder("반복 예정 (확정 전)"));
+
+        occurrenceModel = new DefaultListModel<>();
+        occurrenceList = new JList<>(occurrenceModel);
+        occurrenceList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+
+        JButton materializeButton = new JButton("항목으로 확정");
+        materializeButton.addActionListener(e -> materializeSelectedOccurrence());
+        JButton stopButton = new JButton("이 날부터 반복 중지");
+        stopButton.addActionListener(e -> stopSelectedRule());
+        JButton deleteRuleButton = new JButton("반복 삭제");
+        deleteRuleButton.addActionListener(e -> deleteSelectedRule());
+
+        JPanel buttonPanel = new JPanel(new GridLayout(1, 3, 5, 0));
+        buttonPanel.add(materializeButton);
+        buttonPanel.add(stopButton);
+        buttonPanel.add(deleteRuleButton);
+
+        panel.add(new JScrollPane(occurrenceList), BorderLayout.CENTER);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
     // 항목 리스트 불러오기
     private void loadEntryList() {
-        listModel.clear();
-        List<AccountEntry> entries = dataService.getEntriesByDate(userId, date);
-        for (AccountEntry entry : entries) {
-            listModel.addElement(entry);
-        }
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        asyncData.getEntriesByDate(userId, date).whenCompleteAsync((entries, error) -> {
+            setCursor(Cursor.getDefaultCursor());
+            listModel.clear();
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            for (AccountEntry entry : entries) {
+                listModel.addElement(entry);
+            }
+        }, AsyncDataService.EDT);
+        asyncData.getRecurringOccurrences(userId, date, date).whenCompleteAsync((occurrences, error) -> {
+            occurrenceModel.clear();
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            for (RecurringRule.Occurrence occurrence : occurrences) {
+                occurrenceModel.addElement(occurrence);
+            }
+        }, AsyncDataService.EDT);
     }
 
     // 항목 등록 로직
     private void saveEntry() {
         try {
-            String type = (String) typeComboBox.getSelectedItem();
+            EntryType type = (EntryType) typeComboBox.getSelectedItem();
             String category = (String) categoryComboBox.getSelectedItem();
             long amount = Long.parseLong(amountField.getText().trim());
             String memo = memoField.getText().trim();
@@ -117,21 +196,46 @@ public class EntryDialog extends JDialog {
             if (amount <= 0) throw new NumberFormatException();
             if (category == null || category.isEmpty()) throw new IllegalArgumentException("카테고리를 선택하세요.");
 
-            AccountEntry newEntry = new AccountEntry(userId, date, type, category, amount, memo);
-            
-            if (dataService.addEntry(newEntry)) {
-                JOptionPane.showMessageDialog(this, "등록 성공!", "성공", JOptionPane.INFORMATION_MESSAGE);
-                amountField.setText("");
-                memoField.setText("");
-                
-                loadEntryList(); 
-                parentFrame.drawCalendar(); // 달력 UI 갱신
+            CompletableFuture<Boolean> saved;
+            int repeat = repeatComboBox.getSelectedIndex();
+            if (repeat > 0) {
+                String endText = endDateField.getText().trim();
+                LocalDate endDate = endText.isEmpty() ? null : LocalDate.parse(endText);
+                RecurringRule rule = new RecurringRule(userId, type, category, amount, memo,
+                    RecurringRule.Frequency.values()[repeat - 1], (Integer) intervalSpinner.getValue(), date, endDate);
+                saved = asyncData.addRecurringRule(rule);
             } else {
-                JOptionPane.showMessageDialog(this, "등록 실패.", "오류", JOptionPane.ERROR_MESSAGE);
+                saved = asyncData.addEntry(new AccountEntry(userId, date, type, category, amount, memo));
             }
             
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            saved.whenCompleteAsync((success, error) -> {
+                setCursor(Cursor.getDefaultCursor());
+                if (error == null && success) {
+                    if (budgetAlerts.isEmpty()) {
+                        JOptionPane.showMessageDialog(this, "등록 성공!", "성공", JOptionPane.INFORMATION_MESSAGE);
+                    } else {
+                        StringBuilder message = new StringBuilder("등록 성공!\n");
+                        for (BudgetAlert alert : budgetAlerts) message.append('\n').append(alert.describe());
+                        budgetAlerts.clear();
+                        JOptionPane.showMessageDialog(this, message.toString(), "예산 알림", JOptionPane.WARNING_MESSAGE);
+                    }
+                    amountField.setText("");
+                    memoField.setText("");
+                    repeatComboBox.setSelectedIndex(0);
+                    endDateField.setText("");
+                    
+                    loadEntryList(); 
+                    parentFrame.drawCalendar(); // 달력 UI 갱신
+                } else {
+                    JOptionPane.showMessageDialog(this, "등록 실패.", "오류", JOptionPane.ERROR_MESSAGE);
+                }
+            }, AsyncDataService.EDT);
+            
         } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, "금액은 0보다 큰 숫자여야 합니다.", "오류", JOptionPane.ERROR_MESSAGE);
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "종료일은 yyyy-MM-dd 형식이어야 합니다.", "오류", JOptionPane.ERROR_MESSAGE);
         } catch (IllegalArgumentException e) {
             JOptionPane.showMessageDialog(this, e.getMessage(), "경고", JOptionPane.WARNING_MESSAGE);
         }
@@ -150,13 +254,73 @@ public class EntryDialog extends JDialog {
             "삭제 확인", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (dataService.deleteEntry(selectedEntry.getId())) {
-                JOptionPane.showMessageDialog(this, "삭제 성공!", "성공", JOptionPane.INFORMATION_MESSAGE);
-                loadEntryList(); 
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            asyncData.deleteEntry(userId, selectedEntry.getId()).whenCompleteAsync((success, error) -> {
+                setCursor(Cursor.getDefaultCursor());
+                if (error == null && success) {
+                    JOptionPane.showMessageDialog(this, "삭제 성공!", "성공", JOptionPane.INFORMATION_MESSAGE);
+                    loadEntryList(); 
+                    parentFrame.drawCalendar(); // 달력 UI 갱신
+                } else {
+                    JOptionPane.showMessageDialog(this, "삭제 실패.", "오류", JOptionPane.ERROR_MESSAGE);
+                }
+            }, AsyncDataService.EDT);
+        }
+    }
+
+    // 선택한 발생을 실제 항목으로 저장한다.
+    private void materializeSelectedOccurrence() {
+        RecurringRule.Occurrence selected = occurrenceList.getSelectedValue();
+        if (selected == null) {
+            JOptionPane.showMessageDialog(this, "확정할 반복 항목을 선택해주세요.", "경고", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        runRecurringAction(asyncData.materializeOccurrence(userId, selected.getRule().getId(), date),
+                           "확정 성공!", "확정 실패.");
+    }
+
+    // 이 날의 발생부터 더 이상 반복하지 않는다. (지난 발생은 남는다)
+    private void stopSelectedRule() {
+        RecurringRule.Occurrence selected = occurrenceList.getSelectedValue();
+        if (selected == null) {
+            JOptionPane.showMessageDialog(this, "중지할 반복 항목을 선택해주세요.", "경고", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (!selected.getRule().getStartDate().isBefore(date)) {
+            JOptionPane.showMessageDialog(this, "첫 발생부터 없애려면 반복 삭제를 사용하세요.", "경고", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        runRecurringAction(asyncData.endRecurringRule(userId, selected.getRule().getId(), date.minusDays(1)),
+                           "반복 중지 성공!", "반복 중지 실패.");
+    }
+
+    // 규칙을 지워서 지난 발생까지 모두 없앤다. 확정한 항목은 남는다.
+    private void deleteSelectedRule() {
+        RecurringRule.Occurrence selected = occurrenceList.getSelectedValue();
+        if (selected == null) {
+            JOptionPane.showMessageDialog(this, "삭제할 반복 항목을 선택해주세요.", "경고", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        int confirm = JOptionPane.showConfirmDialog(this,
+            "이 반복의 모든 발생(확정한 항목 제외)을 삭제하시겠습니까?\n" + selected.toString(),
+            "반복 삭제 확인", JOptionPane.YES_NO_OPTION);
+        if (confirm == JOptionPane.YES_OPTION) {
+            runRecurringAction(asyncData.deleteRecurringRule(userId, selected.getRule().getId()),
+                               "반복 삭제 성공!", "반복 삭제 실패.");
+        }
+    }
+
+    private void runRecurringAction(CompletableFuture<Boolean> action, String successMessage, String failureMessage) {
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        action.whenCompleteAsync((success, error) -> {
+            setCursor(Cursor.getDefaultCursor());
+            if (error == null && success) {
+                JOptionPane.showMessageDialog(this, successMessage, "성공", JOptionPane.INFORMATION_MESSAGE);
+                loadEntryList();
                 parentFrame.drawCalendar(); // 달력 UI 갱신
             } else {
-                JOptionPane.showMessageDialog(this, "삭제 실패.", "오류", JOptionPane.ERROR_MESSAGE);
+                JOptionPane.showMessageDialog(this, failureMessage, "오류", JOptionPane.ERROR_MESSAGE);
             }
-        }
+        }, AsyncDataService.EDT);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+// 사용자의 항목을 CSV 또는 줄 단위 JSON(JSON Lines)으로 내보낸다.
+// 저장소가 넘겨주는 항목을 한 건씩 바로 Writer 로 쓰기 때문에 항목 수와 관계없이 메모리 사용량이 일정하다.
+public class EntryExporter {
+
+    public enum Format { CSV, JSON_LINES }
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final DataService dataService;
+
+    public EntryExporter(DataService dataService) {
+        this.dataService = dataService;
+    }
+
+    // 파일 확장자가 .jsonl / .json 이면 JSON Lines, 그 외에는 CSV
+    public static Format formatOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".jsonl") || name.endsWith(".json") ? Format.JSON_LINES : Format.CSV;
+    }
+
+    // from, to 가 null 이면 해당 방향으로 제한이 없다. 내보낸 행 수를 돌려준다.
+    public long export(String userId, LocalDate from, LocalDate to, Format format, Path file)
+            throws IOException, StorageException {
+        try (BufferedWriter out = new BufferedWriter(
+                 Files.newBufferedWriter(file, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+            if (format == Format.CSV) out.write('\uFEFF'); // 엑셀에서 한글이 깨지지 않도록 BOM
+            return export(userId, from, to, format, out);
+        }
+    }
+
+    public long export(String userId, LocalDate from, LocalDate to, Format format, Writer out)
+            throws IOException, StorageException {
+        long[] rows = {0};
+        StringBuilder line = new StringBuilder(256);
+
+        if (format == Format.CSV) out.write("날짜,분류,카테고리,금액,메모\n");
+
+        dataService.getStore().scanEntries(userId, from, to, entry -> {
+            line.setLength(0);
+            if (format == Format.CSV) {
+                appendCsvLine(line, entry.getDate(), entry.getType(), entry.getCategory(), entry.getAmount(),
+                              entry.getMemo());
+            } else {
+                appendJsonLine(line, entry.getId(), entry.getDate(), entry.getType(), entry.getCategory(),
+                               entry.getAmount(), entry.getMemo());
+            }
+            out.append(line);
+            rows[0]++;
+        });
+        out.flush();
+        return rows[0];
+    }
+
+    // ImportMapping.appFormat() 으로 다시 가져올 수 있는 형식
+    private static void appendCsvLine(StringBuilder line, LocalDate date, EntryType type, String category,
+                                      long amount, String memo) {
+        line.append(date).append(',')
+            .append(type.getLabel()).append(',');
+        appendCsvField(line, category);
+        line.append(',').append(amount).append(',');
+        appendCsvField(line, memo);
+        line.append('\n');
+    }
+
+    private static void appendCsvField(StringBuilder line, String value) {
+        if (value == null) return;
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+            || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') line.append('"');
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private static void appendJsonLine(StringBuilder line, int id, LocalDate date, EntryType type, String category,
+                                       long amount, String memo) {
+        line.append("{\"id\":").append(id)
+            .append(",\"date\":\"").append(date).append('"')
+            .append(",\"type\":\"").append(type.getLabel()).append('"')
+            .append(",\"category\":");
+        Json.appendQuoted(line, category);
+        line.append(",\"amount\":").append(amount)
+            .append(",\"memo\":");
+        Json.appendQuoted(line, memo);
+        line.append("}\n");
+    }
+}
@@ -0,0 +1,149 @@
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// CSV(가계부 형식, 은행/카드 거래내역)를 읽어 저장소에 대량으로 넣는다.
+// 파싱(CsvReader) -> 매핑(ImportMapping) -> LedgerStore.BatchWriter 순서로 한 줄씩 흘려보내므로
+// 파일 크기와 관계없이 메모리 사용량이 일정하다.
+public class EntryImporter {
+
+    private static final int COMMIT_SIZE = 50_000;
+    private static final int PROGRESS_INTERVAL = 10_000;
+    private static final int MAX_ERRORS = 20;
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(ImportResult progress);
+    }
+
+    // 진행 상황 및 최종 결과
+    public static class ImportResult {
+        private long imported;
+        private long skipped;
+        private long bytesRead;
+        private final long totalBytes;
+        private final List<String> errors = new ArrayList<>();
+
+        ImportResult(long totalBytes) {
+            this.totalBytes = totalBytes;
+        }
+
+        public long getImported() { return imported; }
+        public long getSkipped() { return skipped; }
+        public long getBytesRead() { return bytesRead; }
+        public long getTotalBytes() { return totalBytes; }
+        // 건너뛴 줄의 사유 (앞의 일부만 보관)
+        public List<String> getErrors() { return errors; }
+    }
+
+    private final DataService dataService;
+
+    public EntryImporter(DataService dataService) {
+        this.dataService = dataService;
+    }
+
+    public ImportResult importCsv(Path file, String userId, ImportMapping mapping, ProgressListener listener)
+            throws IOException, StorageException {
+        ImportResult result = new ImportResult(Files.size(file));
+        try (CountingInputStream in = new CountingInputStream(new BufferedInputStream(Files.newInputStream(file)));
+             CsvReader reader = new CsvReader(new InputStreamReader(in, mapping.getCharset()))) {
+
+            if (mapping.isSkipHeader()) reader.readRecord();
+
+            try (LedgerStore.BatchWriter writer = dataService.getStore().openBatchWriter()) {
+                try {
+                    insertAll(writer, reader, in, userId, mapping, listener, result);
+                    writer.commit();
+                } catch (IOException | StorageException | RuntimeException e) {
+                    writer.rollback();
+                    throw e;
+                }
+            } finally {
+                // 커밋된 묶음이 있을 수 있으므로 성공/실패와 관계없이 다시 집계하게 한다.
+                dataService.invalidateAggregates(userId);
+            }
+        }
+        result.bytesRead = result.totalBytes;
+        if (listener != null) listener.onProgress(result);
+        return result;
+    }
+
+    private void insertAll(LedgerStore.BatchWriter writer, CsvReader reader, CountingInputStream in, String userId,
+                           ImportMapping mapping, ProgressListener listener, ImportResult result)
+            throws IOException, StorageException {
+        long uncommitted = 0;
+
+        String[] record;
+        while ((record = reader.readRecord()) != null) {
+            if (isBlank(record)) continue;
+
+            AccountEntry entry;
+            try {
+                entry = mapping.toEntry(userId, record);
+            } catch (IllegalArgumentException e) {
+                result.skipped++;
+                if (result.errors.size() < MAX_ERRORS) {
+                    result.errors.add(reader.getLineNumber() + "번째 줄: " + e.getMessage());
+                }
+                continue;
+            }
+
+            writer.add(entry);
+            result.imported++;
+
+            if (++uncommitted >= COMMIT_SIZE) {
+                writer.commit();
+                uncommitted = 0;
+            }
+            if (listener != null && result.imported % PROGRESS_INTERVAL == 0) {
+                result.bytesRead = in.getCount();
+                listener.onProgress(result);
+            }
+        }
+    }
+
+    private static boolean isBlank(String[] record) {
+        for (String field : record) {
+            if (!field.isBlank()) return false;
+        }
+        return true;
+    }
+
+    // 진행률 계산용으로 읽은 바이트 수를 센다.
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() { return count; }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+import java.time.LocalDate;
+
+// 항목 검색 조건. 지정하지 않은(null) 조건은 적용하지 않는다.
+public class EntryQuery {
+    private final String userId;
+    private LocalDate from;
+    private LocalDate to;
+    private EntryType type;
+    private String category;
+    private Long minAmount;
+    private Long maxAmount;
+    private String memoContains; // 메모 검색어 (공백으로 나눈 단어별 부분 문자열 일치)
+
+    public EntryQuery(String userId) {
+        this.userId = userId;
+    }
+
+    public EntryQuery setDateRange(LocalDate from, LocalDate to) { this.from = from; this.to = to; return this; }
+    public EntryQuery setType(EntryType type) { this.type = type; return this; }
+    public EntryQuery setCategory(String category) { this.category = category; return this; }
+    public EntryQuery setAmountRange(Long minAmount, Long maxAmount) { this.minAmount = minAmount; this.maxAmount = maxAmount; return this; }
+    public EntryQuery setMemoContains(String memoContains) { this.memoContains = memoContains; return this; }
+
+    public String getUserId() { return userId; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public EntryType getType() { return type; }
+    public String getCategory() { return category; }
+    public Long getMinAmount() { return minAmount; }
+    public Long getMaxAmount() { return maxAmount; }
+    public String getMemoContains() { return memoContains; }
+}
@@ -0,0 +1,32 @@
+// 가계부 항목 분류. DB에는 code 값(정수)으로 저장한다.
+public enum EntryType {
+    INCOME(0, "수익"),
+    EXPENSE(1, "지출");
+
+    // values() 는 호출할 때마다 배열을 복사하므로 한 번만 만든다.
+    private static final EntryType[] VALUES = values();
+
+    private final int code;
+    private final String label;
+
+    EntryType(int code, String label) {
+        this.code = code;
+        this.label = label;
+    }
+
+    public int getCode() { return code; }
+    public String getLabel() { return label; }
+
+    public static EntryType fromCode(int code) {
+        for (EntryType type : VALUES) {
+            if (type.code == code) return type;
+        }
+        throw new IllegalArgumentException("알 수 없는 분류 코드: " + code);
+    }
+
+    // 콤보박스 등 화면 표시용
+    @Override
+    public String toString() {
+        return label;
+    }
+}
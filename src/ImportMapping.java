@@ -0,0 +1,184 @@
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// CSV 한 줄을 AccountEntry 로 바꾸는 규칙 (컬럼 매핑 + 카테고리 매핑).
+// 컬럼 번호는 0부터 시작하며, 사용하지 않는 컬럼은 -1 로 둔다.
+//
+// 분류(수익/지출)는 다음 순서로 결정한다.
+//   1. 분류 컬럼이 있으면 그 값 (수익/입금/income, 지출/출금/expense)
+//   2. 입금/출금 컬럼이 따로 있으면 값이 들어있는 쪽
+//   3. 금액 컬럼의 부호 (음수면 지출)
+public class ImportMapping {
+
+    private int dateColumn = -1;
+    private int typeColumn = -1;
+    private int categoryColumn = -1;
+    private int amountColumn = -1;
+    private int withdrawalColumn = -1;
+    private int depositColumn = -1;
+    private int memoColumn = -1;
+
+    private boolean skipHeader = true;
+    private Charset charset = StandardCharsets.UTF_8;
+    private DateTimeFormatter dateFormat = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    // 원본 카테고리 이름 -> 가계부 카테고리
+    private final Map<String, String> categoryAliases = new HashMap<>();
+    // 메모에 포함된 키워드 -> 가계부 카테고리 (등록 순서대로 검사)
+    private final Map<String, String> memoKeywords = new LinkedHashMap<>();
+    private String defaultIncomeCategory = "기타수익";
+    private String defaultExpenseCategory = "기타지출";
+
+    // 내보내기(EntryExporter) CSV와 같은 형식: 날짜,분류,카테고리,금액,메모
+    public static ImportMapping appFormat() {
+        return new ImportMapping()
+            .setDateColumn(0)
+            .setTypeColumn(1)
+            .setCategoryColumn(2)
+            .setAmountColumn(3)
+            .setMemoColumn(4);
+    }
+
+    // 은행/카드 거래내역: 출금액과 입금액이 서로 다른 컬럼에 있는 형식
+    public static ImportMapping bankStatement(int dateColumn, int withdrawalColumn, int depositColumn, int memoColumn) {
+        return new ImportMapping()
+            .setDateColumn(dateColumn)
+            .setWithdrawalColumn(withdrawalColumn)
+            .setDepositColumn(depositColumn)
+            .setMemoColumn(memoColumn)
+            .setDatePattern("yyyy.MM.dd")
+            .setCharset(Charset.forName("MS949"));
+    }
+
+    public ImportMapping setDateColumn(int column) { this.dateColumn = column; return this; }
+    public ImportMapping setTypeColumn(int column) { this.typeColumn = column; return this; }
+    public ImportMapping setCategoryColumn(int column) { this.categoryColumn = column; return this; }
+    public ImportMapping setAmountColumn(int column) { this.amountColumn = column; return this; }
+    public ImportMapping setWithdrawalColumn(int column) { this.withdrawalColumn = column; return this; }
+    public ImportMapping setDepositColumn(int column) { this.depositColumn = column; return this; }
+    public ImportMapping setMemoColumn(int column) { this.memoColumn = column; return this; }
+    public ImportMapping setSkipHeader(boolean skipHeader) { this.skipHeader = skipHeader; return this; }
+    public ImportMapping setCharset(Charset charset) { this.charset = charset; return this; }
+    public ImportMapping setDatePattern(String pattern) { this.dateFormat = DateTimeFormatter.ofPattern(pattern); return this; }
+
+    public ImportMapping addCategoryAlias(String sourceCategory, String category) {
+        categoryAliases.put(sourceCategory, category);
+        return this;
+    }
+
+    public ImportMapping addMemoKeyword(String keyword, String category) {
+        memoKeywords.put(keyword, category);
+        return this;
+    }
+
+    public ImportMapping setDefaultCategories(String incomeCategory, String expenseCategory) {
+        this.defaultIncomeCategory = incomeCategory;
+        this.defaultExpenseCategory = expenseCategory;
+        return this;
+    }
+
+    public boolean isSkipHeader() { return skipHeader; }
+    public Charset getCharset() { return charset; }
+
+    // 레코드를 항목으로 변환한다. 형식이 맞지 않으면 IllegalArgumentException
+    public AccountEntry toEntry(String userId, String[] record) {
+        if (dateColumn < 0) throw new IllegalStateException("날짜 컬럼이 지정되지 않았습니다.");
+
+        LocalDate date = parseDate(field(record, dateColumn));
+        String memo = field(record, memoColumn);
+
+        EntryType type;
+        long amount;
+        if (withdrawalColumn >= 0 || depositColumn >= 0) {
+            long withdrawal = parseAmountOrZero(field(record, withdrawalColumn));
+            long deposit = parseAmountOrZero(field(record, depositColumn));
+            if (withdrawal != 0 && deposit != 0) throw new IllegalArgumentException("입금액과 출금액이 모두 있습니다.");
+            type = withdrawal != 0 ? EntryType.EXPENSE : EntryType.INCOME;
+            amount = Math.abs(withdrawal != 0 ? withdrawal : deposit);
+        } else {
+            amount = parseAmount(field(record, amountColumn));
+            if (typeColumn >= 0) {
+                type = parseType(field(record, typeColumn));
+            } else {
+                type = amount < 0 ? EntryType.EXPENSE : EntryType.INCOME;
+            }
+            amount = Math.abs(amount);
+        }
+        if (amount == 0) throw new IllegalArgumentException("금액이 0입니다.");
+
+        String category = mapCategory(type, field(record, categoryColumn), memo);
+        return new AccountEntry(userId, date, type, category, amount, memo);
+    }
+
+    // 카테고리 매핑 단계: 별칭 -> 원본 값 -> 메모 키워드 -> 기본값
+    private String mapCategory(EntryType type, String sourceCategory, String memo) {
+        if (sourceCategory != null) {
+            String alias = categoryAliases.get(sourceCategory);
+            if (alias != null) return alias;
+            return sourceCategory;
+        }
+        if (memo != null) {
+            for (Map.Entry<String, String> rule : memoKeywords.entrySet()) {
+                if (memo.contains(rule.getKey())) return rule.getValue();
+            }
+        }
+        return type == EntryType.INCOME ? defaultIncomeCategory : defaultExpenseCategory;
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value == null) throw new IllegalArgumentException("날짜가 비어 있습니다.");
+        // "2025.12.18 13:45:00" 처럼 시각이 붙어 있으면 날짜 부분만 사용
+        int space = value.indexOf(' ');
+        String datePart = space > 0 ? value.substring(0, space) : value;
+        try {
+            return LocalDate.parse(datePart, dateFormat);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜 형식 오류: " + value);
+        }
+    }
+
+    private static EntryType parseType(String value) {
+        if (value == null) throw new IllegalArgumentException("분류가 비어 있습니다.");
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "수익": case "수입": case "입금": case "income": case "+":
+                return EntryType.INCOME;
+            case "지출": case "출금": case "expense": case "-":
+                return EntryType.EXPENSE;
+            default:
+                throw new IllegalArgumentException("알 수 없는 분류: " + value);
+        }
+    }
+
+    private static long parseAmountOrZero(String value) {
+        return value == null ? 0 : parseAmount(value);
+    }
+
+    // "1,234원", "₩ -5,000" 같은 표기를 허용한다.
+    private static long parseAmount(String value) {
+        if (value == null) throw new IllegalArgumentException("금액이 비어 있습니다.");
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '-') digits.append(c);
+        }
+        try {
+            return Long.parseLong(digits.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("금액 형식 오류: " + value);
+        }
+    }
+
+    // 비어 있거나 없는 컬럼은 null
+    private static String field(String[] record, int column) {
+        if (column < 0 || column >= record.length) return null;
+        String value = record[column].trim();
+        return value.isEmpty() ? null : value;
+    }
+}
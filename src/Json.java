@@ -0,0 +1,165 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// JSON 문자열 출력용 최소한의 도우미. (외부 라이브러리 없이 사용)
+// 입력은 HTTP API 요청 본문 같은 평평한 객체 {"키": 문자열/숫자/true/false/null, ...} 만 읽는다.
+public final class Json {
+
+    private Json() {
+    }
+
+    // 따옴표로 감싸고 JSON 규칙에 맞게 이스케이프한다. null 이면 null 리터럴
+    public static String quote(String value) {
+        if (value == null) return "null";
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        appendQuoted(sb, value);
+        return sb.toString();
+    }
+
+    public static void appendQuoted(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("null");
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    // 평평한 JSON 객체를 읽는다. 숫자는 정수면 Long, 아니면 Double. 형식이 틀리면 IllegalArgumentException
+    public static Map<String, Object> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, Object> result = parser.object();
+        parser.skipWhitespace();
+        if (parser.pos != text.length()) throw parser.error("객체 뒤에 남은 내용이 있습니다");
+        return result;
+    }
+
+    private static final class Parser {
+        final String text;
+        int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Map<String, Object> object() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return result;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                result.put(key, value());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') return result;
+                if (c != ',') throw error("',' 또는 '}' 가 필요합니다");
+            }
+        }
+
+        Object value() {
+            char c = peek();
+            if (c == '"') return string();
+            if (text.startsWith("true", pos)) { pos += 4; return Boolean.TRUE; }
+            if (text.startsWith("false", pos)) { pos += 5; return Boolean.FALSE; }
+            if (text.startsWith("null", pos)) { pos += 4; return null; }
+            if (c == '-' || (c >= '0' && c <= '9')) return number();
+            throw error("지원하지 않는 값입니다");
+        }
+
+        Object number() {
+            int start = pos;
+            boolean decimal = false;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c == '.' || c == 'e' || c == 'E') decimal = true;
+                else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) break;
+                pos++;
+            }
+            String number = text.substring(start, pos);
+            try {
+                return decimal ? (Object) Double.parseDouble(number) : (Object) Long.parseLong(number);
+            } catch (NumberFormatException e) {
+                throw error("숫자 형식이 잘못되었습니다");
+            }
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case '"': case '\\': case '/': sb.append(escaped); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) throw error("\\u 뒤에 16진수 4자리가 필요합니다");
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("\\u 뒤에 16진수 4자리가 필요합니다");
+                        }
+                        pos += 4;
+                        break;
+                    default: throw error("알 수 없는 이스케이프입니다");
+                }
+            }
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+        }
+
+        char peek() {
+            if (pos >= text.length()) throw error("입력이 끝났습니다");
+            return text.charAt(pos);
+        }
+
+        char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        void expect(char c) {
+            if (next() != c) throw error("'" + c + "' 가 필요합니다");
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("JSON " + message + " (위치 " + pos + ")");
+        }
+    }
+}
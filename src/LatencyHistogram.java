@@ -0,0 +1,77 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// 한 작업의 응답 시간 분포. 마이크로초 단위로 2배 구간마다 4칸씩 나눠 세므로
+// 백분위 값의 오차는 최대 약 12.5% 이고, 기록은 잠금 없이 배열의 한 칸을 올리는 것뿐이다.
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 4;
+    private static final int MAX_OCTAVE = 40; // 2^40 us (약 12일) 이상은 마지막 칸에 넣는다
+    private static final int BUCKETS = (MAX_OCTAVE - 1) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public void record(long micros) {
+        if (micros < 0) micros = 0;
+        counts.incrementAndGet(bucketOf(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    // 0~3 은 그대로, 그 위로는 [2^k, 2^(k+1)) 구간을 4칸으로 나눈다.
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int octave = 63 - Long.numberOfLeadingZeros(micros);
+        if (octave > MAX_OCTAVE) return BUCKETS - 1;
+        int sub = (int) (micros >>> (octave - 2)) & (SUB_BUCKETS - 1);
+        return (octave - 1) * SUB_BUCKETS + sub;
+    }
+
+    // 칸에 들어가는 가장 큰 값
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int octave = bucket / SUB_BUCKETS + 1;
+        int sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1L) << (octave - 2)) - 1;
+    }
+
+    public long getCount() { return count.sum(); }
+    public long getTotalMicros() { return totalMicros.sum(); }
+    public long getMaxMicros() { return maxMicros.get(); }
+
+    // percentiles 는 0~100 사이 값. 각 백분위가 속한 칸의 상한을 돌려준다.
+    public long[] percentiles(double... percentiles) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        long[] result = new long[percentiles.length];
+        if (total == 0) return result;
+        for (int p = 0; p < percentiles.length; p++) {
+            long rank = Math.max(1, (long) Math.ceil(total * percentiles[p] / 100.0));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    result[p] = Math.min(upperBound(i), getMaxMicros());
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.reset();
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+}
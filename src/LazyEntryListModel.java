@@ -0,0 +1,87 @@
+import javax.swing.AbstractListModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// 검색 결과를 한 페이지씩 불러오는 리스트 모델.
+// JList 가 끝부분 근처의 항목을 그리려고 하면 다음 페이지를 백그라운드에서 읽어 뒤에 붙인다.
+// 모든 메서드는 EDT 에서 호출해야 한다.
+public class LazyEntryListModel extends AbstractListModel<AccountEntry> {
+
+    static final int PAGE_SIZE = 200;
+    // 남은 항목이 이만큼 이하가 되면 다음 페이지를 미리 요청한다.
+    private static final int PREFETCH_DISTANCE = 50;
+
+    private final AsyncDataService asyncData;
+    private final List<AccountEntry> entries = new ArrayList<>();
+    private EntryQuery query;
+    // 조건이 바뀌면 증가시켜, 이전 조건으로 요청한 페이지가 늦게 도착해도 버린다.
+    private int generation;
+    private boolean loading;
+    private boolean exhausted = true;
+    private Consumer<String> statusListener = status -> { };
+
+    public LazyEntryListModel(AsyncDataService asyncData) {
+        this.asyncData = asyncData;
+    }
+
+    public void setStatusListener(Consumer<String> statusListener) {
+        this.statusListener = statusListener;
+    }
+
+    // 새 조건으로 처음부터 다시 검색한다.
+    public void setQuery(EntryQuery query) {
+        int removed = entries.size();
+        entries.clear();
+        if (removed > 0) fireIntervalRemoved(this, 0, removed - 1);
+
+        this.query = query;
+        generation++;
+        loading = false;
+        exhausted = false;
+        loadNextPage();
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    @Override
+    public AccountEntry getElementAt(int index) {
+        if (index >= entries.size() - PREFETCH_DISTANCE) loadNextPage();
+        return entries.get(index);
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+
+    private void loadNextPage() {
+        if (loading || exhausted || query == null) return;
+        loading = true;
+        statusListener.accept(String.format("%,d건 표시 중, 불러오는 중...", entries.size()));
+
+        int requestGeneration = generation;
+        AccountEntry after = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+        asyncData.searchEntries(query, after, PAGE_SIZE).whenCompleteAsync((page, error) -> {
+            if (requestGeneration != generation) return; // 조건이 바뀐 뒤 도착한 결과
+            loading = false;
+            if (error != null) {
+                error.printStackTrace();
+                exhausted = true;
+                statusListener.accept("검색 결과를 불러오지 못했습니다.");
+                return;
+            }
+            if (page.size() < PAGE_SIZE) exhausted = true;
+            if (!page.isEmpty()) {
+                int first = entries.size();
+                entries.addAll(page);
+                fireIntervalAdded(this, first, entries.size() - 1);
+            }
+            statusListener.accept(exhausted
+                ? String.format("총 %,d건", entries.size())
+                : String.format("%,d건 표시 중 (스크롤하면 더 불러옵니다)", entries.size()));
+        }, AsyncDataService.EDT);
+    }
+}
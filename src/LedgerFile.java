@@ -0,0 +1,231 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+// MappedLedgerStore 의 한 세대(generation) 데이터 파일.
+//   entries-<세대>.dat : 48바이트 헤더 + 48바이트 고정 길이 레코드. 메모리 매핑해서 읽고 쓴다.
+//   memos-<세대>.dat   : 메모 UTF-8 바이트를 덧붙이기만 하는 파일. 레코드에는 위치와 길이만 둔다.
+// 레코드는 덧붙이기만 하고, 삭제도 툼스톤 레코드를 덧붙여서 표시한다.
+//
+// 레코드 구조 (오프셋: 내용)
+//   0: 종류(ENTRY/TOMBSTONE, 0 이면 빈 칸)  1: 분류 코드  4: 항목 ID  8: 사용자 번호  12: 날짜(epoch day)
+//   16: 카테고리 번호  20: 메모 길이(-1 이면 null)  24: 금액  32: 메모 위치  40: 앞 40바이트의 CRC32C
+//
+// sync() 는 메모 파일을 먼저 디스크에 내린 뒤 레코드를 내린다. 시작할 때 CRC 가 맞지 않거나
+// 메모 범위를 벗어난 첫 레코드에서 멈추고, 그 뒤의 칸은 비워서 쓰다 만 레코드가 되살아나지 않게 한다.
+public class LedgerFile implements AutoCloseable {
+
+    static final byte ENTRY = 1;
+    static final byte TOMBSTONE = 2;
+
+    static final int RECORD_SIZE = 48;
+    private static final int HEADER_SIZE = RECORD_SIZE;
+    private static final int MAGIC = 0x4C444731; // "LDG1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int CHECKSUM_OFFSET = 40;
+    private static final long INITIAL_CAPACITY = 1L << 20;
+    // MappedByteBuffer 하나로 다룰 수 있는 크기 (약 4,400만 레코드)
+    private static final long MAX_CAPACITY = HEADER_SIZE + (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE * RECORD_SIZE;
+
+    private final Path entriesPath;
+    private final Path memosPath;
+    private final FileChannel entriesChannel;
+    private final FileChannel memosChannel;
+    private final int nextIdFloor;
+    private MappedByteBuffer buffer;
+    private long capacity;
+    private int count;          // 유효한 레코드 수
+    private int syncedCount;    // 디스크에 내린 레코드 수
+    private long memoEnd;       // 다음 메모를 쓸 위치
+
+    static Path entriesPath(Path dir, long generation) {
+        return dir.resolve("entries-" + generation + ".dat");
+    }
+
+    static Path memosPath(Path dir, long generation) {
+        return dir.resolve("memos-" + generation + ".dat");
+    }
+
+    // 파일이 없으면 nextIdFloor 를 헤더에 기록하며 새로 만든다. (컴팩션으로 지워진 ID 를 다시 쓰지 않기 위함)
+    public LedgerFile(Path dir, long generation, int nextIdFloor) throws IOException {
+        this.entriesPath = entriesPath(dir, generation);
+        this.memosPath = memosPath(dir, generation);
+        boolean created = !Files.exists(entriesPath);
+        this.entriesChannel = FileChannel.open(entriesPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                               StandardOpenOption.WRITE);
+        this.memosChannel = FileChannel.open(memosPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                             StandardOpenOption.WRITE);
+        try {
+            this.memoEnd = memosChannel.size();
+            this.capacity = Math.min(MAX_CAPACITY, Math.max(INITIAL_CAPACITY, entriesChannel.size()));
+            this.buffer = entriesChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+            if (created) {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, FORMAT_VERSION);
+                buffer.putInt(8, nextIdFloor);
+                buffer.force(0, HEADER_SIZE);
+            } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("가계부 데이터 파일 형식이 아닙니다: " + entriesPath);
+            }
+            this.nextIdFloor = buffer.getInt(8);
+            recover();
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void recover() {
+        int slots = slotCapacity();
+        count = 0;
+        while (count < slots && isValid(count)) count++;
+        syncedCount = count;
+
+        // 유효한 마지막 레코드 뒤에 남은 레코드(쓰다 만 묶음의 일부)를 비운다.
+        boolean cleared = false;
+        for (int slot = count; slot < slots; slot++) {
+            if (buffer.get(offset(slot)) != 0) {
+                buffer.put(offset(slot), (byte) 0);
+                cleared = true;
+            }
+        }
+        if (cleared) buffer.force();
+    }
+
+    private boolean isValid(int slot) {
+        int offset = offset(slot);
+        byte kind = buffer.get(offset);
+        if (kind != ENTRY && kind != TOMBSTONE) return false;
+        if (buffer.getInt(offset + CHECKSUM_OFFSET) != checksum(offset)) return false;
+        int memoLength = buffer.getInt(offset + 20);
+        return memoLength <= 0 || buffer.getLong(offset + 32) + memoLength <= memoEnd;
+    }
+
+    private int checksum(int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, CHECKSUM_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static int offset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    private int slotCapacity() {
+        return (int) ((capacity - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    public int getCount() { return count; }
+    public int getNextIdFloor() { return nextIdFloor; }
+
+    // --- 읽기 ---
+
+    public byte kind(int slot) { return buffer.get(offset(slot)); }
+    public int typeCode(int slot) { return buffer.get(offset(slot) + 1); }
+    public int entryId(int slot) { return buffer.getInt(offset(slot) + 4); }
+    public int userRef(int slot) { return buffer.getInt(offset(slot) + 8); }
+    public int day(int slot) { return buffer.getInt(offset(slot) + 12); }
+    public int categoryId(int slot) { return buffer.getInt(offset(slot) + 16); }
+    public long amount(int slot) { return buffer.getLong(offset(slot) + 24); }
+
+    public String memo(int slot) throws IOException {
+        int length = buffer.getInt(offset(slot) + 20);
+        if (length < 0) return null;
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        long position = buffer.getLong(offset(slot) + 32);
+        while (bytes.hasRemaining()) {
+            if (memosChannel.read(bytes, position + bytes.position()) < 0) {
+                throw new IOException("메모 파일이 손상되었습니다: " + memosPath);
+            }
+        }
+        return new String(bytes.array(), StandardCharsets.UTF_8);
+    }
+
+    // --- 쓰기 (sync() 전까지는 디스크에 내려가지 않음) ---
+
+    public int appendEntry(int entryId, int userRef, int day, int typeCode, int categoryId, long amount, String memo)
+            throws IOException {
+        int memoLength = -1;
+        long memoPosition = 0;
+        if (memo != null) {
+            ByteBuffer bytes = ByteBuffer.wrap(memo.getBytes(StandardCharsets.UTF_8));
+            memoLength = bytes.remaining();
+            memoPosition = memoEnd;
+            while (bytes.hasRemaining()) {
+                memosChannel.write(bytes, memoPosition + bytes.position());
+            }
+            memoEnd += memoLength;
+        }
+        return append(ENTRY, typeCode, entryId, userRef, day, categoryId, memoLength, amount, memoPosition);
+    }
+
+    public int appendTombstone(int entryId) throws IOException {
+        return append(TOMBSTONE, 0, entryId, 0, 0, 0, -1, 0, 0);
+    }
+
+    private int append(byte kind, int typeCode, int entryId, int userRef, int day, int categoryId,
+                       int memoLength, long amount, long memoPosition) throws IOException {
+        if (count == slotCapacity()) grow();
+        int offset = offset(count);
+        buffer.put(offset + 1, (byte) typeCode);
+        buffer.putShort(offset + 2, (short) 0);
+        buffer.putInt(offset + 4, entryId);
+        buffer.putInt(offset + 8, userRef);
+        buffer.putInt(offset + 12, day);
+        buffer.putInt(offset + 16, categoryId);
+        buffer.putInt(offset + 20, memoLength);
+        buffer.putLong(offset + 24, amount);
+        buffer.putLong(offset + 32, memoPosition);
+        buffer.put(offset, kind);
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(offset));
+        buffer.putInt(offset + 44, 0);
+        return count++;
+    }
+
+    private void grow() throws IOException {
+        if (capacity >= MAX_CAPACITY) throw new IOException("데이터 파일이 가득 찼습니다: " + entriesPath);
+        buffer.force();
+        capacity = Math.min(MAX_CAPACITY, capacity * 2);
+        buffer = entriesChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    // 메모를 먼저 내리고 레코드를 내린다.
+    public void sync() throws IOException {
+        if (syncedCount == count) return;
+        memosChannel.force(false);
+        buffer.force(offset(syncedCount), (count - syncedCount) * RECORD_SIZE);
+        syncedCount = count;
+    }
+
+    // sync 하지 못한 레코드를 버린다. (쓰기 실패 시 되돌리기)
+    public void discardFrom(int slot) {
+        for (int i = slot; i < count; i++) {
+            buffer.put(offset(i), (byte) 0);
+        }
+        count = slot;
+        syncedCount = Math.min(syncedCount, slot);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (buffer != null) buffer.force();
+        } finally {
+            entriesChannel.close();
+            memosChannel.close();
+        }
+    }
+
+    // close() 한 뒤 호출한다. (컴팩션으로 교체된 이전 세대)
+    public void delete() throws IOException {
+        Files.deleteIfExists(entriesPath);
+        Files.deleteIfExists(memosPath);
+    }
+}
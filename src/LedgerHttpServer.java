@@ -0,0 +1,516 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 가족 구성원의 앱이나 스크립트가 한 가계부를 같이 쓰도록 DataService 를 JSON HTTP API 로 연다.
+// JDK 내장 HttpServer 를 쓰고, 요청마다 가상 스레드 하나에서 처리한다.
+//
+//   POST   /api/login                        {"id": "...", "password": "..."} -> {"token": "...", "idleTimeoutSeconds"}
+//   POST   /api/logout                       토큰을 바로 지운다. (이미 만료된 토큰이면 401)
+//   GET    /api/entries?date=yyyy-MM-dd      하루치 항목 목록
+//   POST   /api/entries                      {"date", "type": "수익|지출|INCOME|EXPENSE", "category", "amount", "memo"} -> 201 {"id"}
+//   DELETE /api/entries/{id}
+//   GET    /api/summary/daily?date=yyyy-MM-dd
+//   GET    /api/summary/monthly?month=yyyy-MM   월 합계, 잔액, 일별 합계
+//   GET    /api/summary/categories?month=yyyy-MM
+//   GET    /api/savings?month=yyyy-MM           적금 추천과 상품별 모의실험 순위
+//   GET    /api/budgets?month=yyyy-MM           카테고리별 월 예산과 지출, 넘은 기준선(level: WARNING 80%, EXCEEDED)
+//   PUT    /api/budgets                         {"category", "limit"}
+//   DELETE /api/budgets?category=...
+//
+// login 외에는 Authorization: Bearer <token> 헤더가 필요하다. 토큰은 서버 메모리에만 있어 재시작하면 다시 로그인한다.
+// 토큰은 마지막 요청 후 sessionIdleTimeout(기본 30분)이 지나면 만료되고, 만료된 토큰은 1분마다 지운다.
+// month/date 를 생략하면 이번 달/오늘
+public class LedgerHttpServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int BACKLOG = 1024;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int TOKEN_BYTES = 24;
+    static final Duration DEFAULT_SESSION_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final long SESSION_SWEEP_SECONDS = 60;
+
+    // 내장 서버는 헤더와 본문을 따로 보내므로 Nagle 알고리즘이 켜져 있으면 응답마다 지연 ACK(약 40ms)를 기다린다.
+    // 설정값은 서버 클래스가 처음 로드될 때 읽히므로 그보다 먼저 켠다. (명시적으로 지정했으면 그대로 둔다)
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final DataService dataService;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>(); // 토큰 -> 세션
+    private final long sessionIdleNanos;
+    private final ScheduledExecutorService sessionSweeper;
+    private final SecureRandom random = new SecureRandom();
+
+    // 로그인한 사용자와 만료 시각. 요청마다 만료 시각을 뒤로 미룬다.
+    // 만료 시각은 요청 스레드들과 session-sweeper 가 함께 바꾸므로 CAS 로만 바꾸고, 한 번 끝난(ENDED) 세션은
+    // 다시 연장하지 않는다. 그래서 쓸어 낸 세션을 다른 요청이 방금 연장했다며 성공으로 응답하는 일이 없다.
+    private static final class Session {
+        private static final long ENDED = Long.MIN_VALUE; // 로그아웃했거나 만료되어 쓸어 낸 세션
+
+        final String userId;
+        private final AtomicLong expiresAt; // System.nanoTime 기준
+
+        Session(String userId, long expiresAt) {
+            this.userId = userId;
+            this.expiresAt = new AtomicLong(expiresAt);
+        }
+
+        // 유효하면 만료 시각을 now + idleNanos 로 미루고 true. 끝났거나 만료됐으면 false
+        boolean touch(long now, long idleNanos) {
+            while (true) {
+                long current = expiresAt.get();
+                if (current == ENDED || now - current >= 0) return false;
+                long next = now + idleNanos;
+                // 늦게 도착한 요청이 만료 시각을 앞으로 당기지 않게 한다.
+                if (next - current <= 0 || expiresAt.compareAndSet(current, next)) return true;
+            }
+        }
+
+        // 만료됐으면 끝난 세션으로 표시하고 true (session-sweeper)
+        boolean endIfExpired(long now) {
+            while (true) {
+                long current = expiresAt.get();
+                if (current == ENDED) return true;
+                if (now - current < 0) return false;
+                if (expiresAt.compareAndSet(current, ENDED)) return true;
+            }
+        }
+
+        // 아직 유효하면 끝난 세션으로 표시하고 true (로그아웃). 이미 끝났거나 만료됐으면 false
+        boolean end(long now) {
+            while (true) {
+                long current = expiresAt.get();
+                if (current == ENDED || now - current >= 0) return false;
+                if (expiresAt.compareAndSet(current, ENDED)) return true;
+            }
+        }
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Response ok(String body) {
+            return new Response(200, body);
+        }
+    }
+
+    // 요청을 처리하다 클라이언트에 돌려줄 오류
+    private static final class HttpError extends RuntimeException {
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    public LedgerHttpServer(DataService dataService, InetSocketAddress address) throws IOException {
+        this(dataService, address, DEFAULT_SESSION_IDLE_TIMEOUT);
+    }
+
+    public LedgerHttpServer(DataService dataService, InetSocketAddress address, Duration sessionIdleTimeout)
+            throws IOException {
+        this.dataService = dataService;
+        this.sessionIdleNanos = sessionIdleTimeout.toNanos();
+        this.server = HttpServer.create(address, BACKLOG);
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+
+        this.sessionSweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sessionSweeper.scheduleWithFixedDelay(this::evictExpiredSessions,
+            SESSION_SWEEP_SECONDS, SESSION_SWEEP_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // 포트 0 으로 만들었을 때 실제로 열린 포트
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+        sessionSweeper.shutdownNow();
+        sessions.clear();
+    }
+
+    // 만료된 토큰을 지운다. 다시 쓰이지 않는 토큰이 메모리에 쌓이지 않도록 주기적으로 호출된다.
+    void evictExpiredSessions() {
+        long now = System.nanoTime();
+        sessions.values().removeIf(session -> session.endIfExpired(now));
+    }
+
+    int sessionCount() {
+        return sessions.size();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Response response;
+            try {
+                response = route(exchange);
+            } catch (HttpError e) {
+                response = new Response(e.status, errorBody(e.getMessage()));
+            } catch (DateTimeParseException | IllegalArgumentException e) {
+                response = new Response(400, errorBody(e.getMessage()));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                response = new Response(500, errorBody("서버 오류"));
+            }
+            send(exchange, response);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        if (path.equals("/api/login")) {
+            requireMethod(method, "POST");
+            return Response.ok(login(readBody(exchange)));
+        }
+        if (path.equals("/api/logout")) {
+            requireMethod(method, "POST");
+            String token = bearerToken(exchange);
+            Session session = token == null ? null : sessions.remove(token);
+            if (session == null) throw new HttpError(401, "로그인이 필요합니다.");
+            if (!session.end(System.nanoTime())) throw new HttpError(401, "로그인이 만료되었습니다. 다시 로그인하세요.");
+            return Response.ok("{\"loggedOut\":true}");
+        }
+
+        String userId = authenticate(exchange);
+        switch (path) {
+            case "/api/entries":
+                if (method.equals("GET")) {
+                    return Response.ok(entriesJson(dataService.getEntriesByDate(userId, date(query))));
+                }
+                requireMethod(method, "POST");
+                return new Response(201, addEntry(userId, readBody(exchange)));
+            case "/api/summary/daily":
+                requireMethod(method, "GET");
+                return Response.ok(dailySummary(userId, date(query)));
+            case "/api/summary/monthly":
+                requireMethod(method, "GET");
+                return Response.ok(monthlySummary(userId, month(query)));
+            case "/api/summary/categories":
+                requireMethod(method, "GET");
+                return Response.ok(categorySummary(userId, month(query)));
+            case "/api/savings":
+                requireMethod(method, "GET");
+                YearMonth savingsMonth = month(query);
+                return Response.ok(savings(dataService.getSavingsAdvice(userId, savingsMonth),
+                                           dataService.getSavingsProjection(userId, savingsMonth)));
+            case "/api/budgets":
+                if (method.equals("GET")) return Response.ok(budgets(dataService.getDashboardSnapshot(userId, month(query))));
+                if (method.equals("DELETE")) {
+                    String category = query.get("category");
+                    if (category == null || !dataService.deleteBudget(userId, category)) {
+                        throw new HttpError(404, "예산이 없습니다: " + category);
+                    }
+                    return Response.ok("{\"deleted\":true}");
+                }
+                requireMethod(method, "PUT");
+                return Response.ok(setBudget(userId, readBody(exchange)));
+            default:
+                if (path.startsWith("/api/entries/")) {
+                    requireMethod(method, "DELETE");
+                    int entryId = Integer.parseInt(path.substring("/api/entries/".length()));
+                    if (!dataService.deleteEntry(userId, entryId)) throw new HttpError(404, "항목이 없습니다: " + entryId);
+                    return Response.ok("{\"deleted\":" + entryId + "}");
+                }
+                throw new HttpError(404, "없는 경로입니다: " + path);
+        }
+    }
+
+    // --- 요청 처리 ---
+
+    private String login(Map<String, Object> body) {
+        String id = requiredString(body, "id");
+        String password = requiredString(body, "password");
+        if (!dataService.login(id, password)) throw new HttpError(401, "아이디 또는 비밀번호가 틀렸습니다.");
+
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, new Session(id, System.nanoTime() + sessionIdleNanos));
+        StringBuilder json = new StringBuilder("{\"token\":");
+        Json.appendQuoted(json, token);
+        json.append(",\"idleTimeoutSeconds\":").append(TimeUnit.NANOSECONDS.toSeconds(sessionIdleNanos));
+        return json.append('}').toString();
+    }
+
+    // 만료된 토큰은 그 자리에서 지우고, 유효하면 만료 시각을 미룬다.
+    private String authenticate(HttpExchange exchange) {
+        String token = bearerToken(exchange);
+        Session session = token == null ? null : sessions.get(token);
+        if (session == null) throw new HttpError(401, "로그인이 필요합니다.");
+        if (!session.touch(System.nanoTime(), sessionIdleNanos)) {
+            sessions.remove(token, session);
+            throw new HttpError(401, "로그인이 만료되었습니다. 다시 로그인하세요.");
+        }
+        return session.userId;
+    }
+
+    // Authorization: Bearer <token> 의 토큰. 없으면 null
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        return header != null && header.startsWith("Bearer ") ? header.substring(7).trim() : null;
+    }
+
+    private String addEntry(String userId, Map<String, Object> body) {
+        LocalDate date = LocalDate.parse(requiredString(body, "date"));
+        EntryType type = parseType(requiredString(body, "type"));
+        Object amount = body.get("amount");
+        if (!(amount instanceof Long) || (Long) amount <= 0) throw new HttpError(400, "amount 는 0보다 큰 정수여야 합니다.");
+        String category = optionalString(body, "category");
+        String memo = optionalString(body, "memo");
+
+        AccountEntry entry = new AccountEntry(userId, date, type, category, (Long) amount, memo);
+        if (!dataService.addEntry(entry)) throw new HttpError(500, "항목을 저장하지 못했습니다.");
+        return "{\"id\":" + entry.getId() + "}";
+    }
+
+    private String dailySummary(String userId, LocalDate date) {
+        Map<String, Long> summary = dataService.getDailySummary(userId, date);
+        return "{\"date\":\"" + date + "\",\"income\":" + summary.get("income") +
+               ",\"expense\":" + summary.get("expense") + "}";
+    }
+
+    private String monthlySummary(String userId, YearMonth month) {
+        DashboardSnapshot snapshot = dataService.getDashboardSnapshot(userId, month);
+        MonthSummary days = dataService.getMonthSummary(userId, month);
+        StringBuilder json = new StringBuilder();
+        json.append("{\"month\":\"").append(month).append('"')
+            .append(",\"balance\":").append(snapshot.getBalance())
+            .append(",\"income\":").append(snapshot.getMonthIncome())
+            .append(",\"expense\":").append(snapshot.getMonthExpense())
+            .append(",\"days\":[");
+        for (int day = 1; day <= month.lengthOfMonth(); day++) {
+            if (day > 1) json.append(',');
+            json.append("{\"day\":").append(day)
+                .append(",\"income\":").append(days.getIncome(day))
+                .append(",\"expense\":").append(days.getExpense(day)).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private String categorySummary(String userId, YearMonth month) {
+        DashboardSnapshot snapshot = dataService.getDashboardSnapshot(userId, month);
+        StringBuilder json = new StringBuilder();
+        json.append("{\"month\":\"").append(month).append('"')
+            .append(",\"expense\":").append(snapshot.getMonthExpense())
+            .append(",\"categories\":[");
+        boolean first = true;
+        for (Map.Entry<String, Long> entry : snapshot.getCategoryExpenses().entrySet()) {
+            if (!first) json.append(',');
+            first = false;
+            json.append("{\"category\":");
+            Json.appendQuoted(json, entry.getKey());
+            json.append(",\"amount\":").append(entry.getValue())
+                .append(",\"ratio\":").append(String.format(Locale.ROOT, "%.2f", snapshot.getCategoryRatio(entry.getKey())))
+                .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private String setBudget(String userId, Map<String, Object> body) {
+        String category = requiredString(body, "category");
+        Object limit = body.get("limit");
+        if (!(limit instanceof Long) || (Long) limit <= 0) throw new HttpError(400, "limit 은 0보다 큰 정수여야 합니다.");
+        if (!dataService.setBudget(userId, category, (Long) limit)) throw new HttpError(500, "예산을 저장하지 못했습니다.");
+        StringBuilder json = new StringBuilder("{\"category\":");
+        Json.appendQuoted(json, category);
+        return json.append(",\"limit\":").append(limit).append('}').toString();
+    }
+
+    private static String budgets(DashboardSnapshot snapshot) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"month\":\"").append(snapshot.getMonth()).append('"')
+            .append(",\"budgets\":[");
+        boolean first = true;
+        for (Map.Entry<String, Long> budget : new TreeMap<>(snapshot.getBudgets()).entrySet()) {
+            if (!first) json.append(',');
+            first = false;
+            BudgetAlert.Level level = snapshot.getBudgetLevel(budget.getKey());
+            json.append("{\"category\":");
+            Json.appendQuoted(json, budget.getKey());
+            json.append(",\"limit\":").append(budget.getValue())
+                .append(",\"spent\":").append(snapshot.getCategoryExpenses().getOrDefault(budget.getKey(), 0L))
+                .append(",\"level\":").append(level == null ? "null" : "\"" + level.name() + "\"")
+                .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String savings(SavingsAdvice advice, SavingsProjection projection) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"month\":\"").append(advice.getMonth()).append('"')
+            .append(",\"netIncome\":").append(advice.getNetIncome())
+            .append(",\"averageNetIncome\":").append(advice.getAverageNetIncome())
+            .append(",\"netIncomeSlope\":").append(Math.round(advice.getNetIncomeSlope()))
+            .append(",\"plan\":\"").append(advice.getPlan()).append('"')
+            .append(",\"text\":");
+        Json.appendQuoted(json, advice.getText());
+        // 모의실험 순위. 가입할 수 없는 상품은 뒤에 eligible=false 와 사유로 온다.
+        json.append(",\"scenarios\":").append(projection.getScenarios())
+            .append(",\"products\":[");
+        List<SavingsProjection.ProductOutcome> outcomes = projection.getOutcomes();
+        for (int i = 0; i < outcomes.size(); i++) {
+            SavingsProjection.ProductOutcome outcome = outcomes.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"name\":");
+            Json.appendQuoted(json, outcome.getProduct().getName());
+            json.append(",\"eligible\":").append(outcome.isEligible());
+            if (!outcome.isEligible()) {
+                json.append(",\"reason\":");
+                Json.appendQuoted(json, outcome.getIneligibleReason());
+            } else {
+                json.append(",\"monthlyDeposit\":").append(outcome.getPlannedDeposit())
+                    .append(",\"completionRate\":")
+                    .append(String.format(Locale.ROOT, "%.3f", outcome.getCompletionRate()))
+                    .append(",\"meanInterest\":").append(outcome.getMeanInterest())
+                    .append(",\"p10Final\":").append(outcome.getP10Final())
+                    .append(",\"p50Final\":").append(outcome.getP50Final())
+                    .append(",\"p90Final\":").append(outcome.getP90Final());
+            }
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    // 내보내기(JSON Lines)와 같은 모양
+    private static String entriesJson(List<AccountEntry> entries) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < entries.size(); i++) {
+            AccountEntry entry = entries.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"id\":").append(entry.getId())
+                .append(",\"date\":\"").append(entry.getDate()).append('"')
+                .append(",\"type\":\"").append(entry.getType().getLabel()).append('"')
+                .append(",\"category\":");
+            Json.appendQuoted(json, entry.getCategory());
+            json.append(",\"amount\":").append(entry.getAmount())
+                .append(",\"memo\":");
+            Json.appendQuoted(json, entry.getMemo());
+            json.append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    // --- 입력 읽기 ---
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) throw new HttpError(405, "허용되지 않는 메서드입니다: " + method);
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) throw new HttpError(413, "요청 본문이 너무 큽니다.");
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq < 0) continue;
+            query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                      URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static LocalDate date(Map<String, String> query) {
+        String date = query.get("date");
+        return date == null ? LocalDate.now() : LocalDate.parse(date);
+    }
+
+    private static YearMonth month(Map<String, String> query) {
+        String month = query.get("month");
+        return month == null ? YearMonth.now() : YearMonth.parse(month);
+    }
+
+    private static EntryType parseType(String type) {
+        for (EntryType candidate : EntryType.values()) {
+            if (candidate.name().equalsIgnoreCase(type) || candidate.getLabel().equals(type)) return candidate;
+        }
+        throw new HttpError(400, "type 은 수익/지출(INCOME/EXPENSE) 중 하나여야 합니다: " + type);
+    }
+
+    private static String requiredString(Map<String, Object> body, String key) {
+        String value = optionalString(body, key);
+        if (value == null || value.isEmpty()) throw new HttpError(400, key + " 값이 필요합니다.");
+        return value;
+    }
+
+    private static String optionalString(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        if (value != null && !(value instanceof String)) throw new HttpError(400, key + " 는 문자열이어야 합니다.");
+        return (String) value;
+    }
+
+    // --- 응답 쓰기 ---
+
+    private static String errorBody(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        Json.appendQuoted(json, message);
+        return json.append('}').toString();
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] bytes = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
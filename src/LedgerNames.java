@@ -0,0 +1,106 @@
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// MappedLedgerStore 의 사용자/카테고리 사전. 항목 레코드는 고정 길이라 문자열 대신 여기서 받은 번호를 저장한다.
+// 파일은 덧붙이기만 하는 로그(RecordLog)이고, 시작할 때 전체를 읽어 메모리에 올린다.
+public class LedgerNames implements AutoCloseable {
+
+    private static final byte USER = 1;      // 사용자 번호 = 등록 순서
+    private static final byte PASSWORD = 2;  // 사용자 번호, 비밀번호
+    private static final byte CATEGORY = 3;  // 카테고리 번호 = 등록 순서 + 1 (0 은 카테고리 없음)
+    private final RecordLog log;
+    private final List<String> users = new ArrayList<>();
+    private final Map<String, Integer> userRefs = new HashMap<>();
+    private final Map<Integer, String> passwords = new HashMap<>();
+    private final List<String> categories = new ArrayList<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+
+    public LedgerNames(Path file) throws IOException {
+        this.log = new RecordLog(file, this::apply);
+    }
+
+    private void apply(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        if (kind == USER) {
+            String name = in.readUTF();
+            userRefs.put(name, users.size());
+            users.add(name);
+        } else if (kind == PASSWORD) {
+            passwords.put(in.readInt(), in.readUTF());
+        } else if (kind == CATEGORY) {
+            String name = in.readUTF();
+            categories.add(name);
+            categoryIds.put(name, categories.size());
+        } else {
+            throw new IOException("알 수 없는 사전 레코드: " + kind);
+        }
+    }
+
+    // 사용자 번호. 처음 보는 아이디이면 create 가 true 일 때만 등록하고, 아니면 -1
+    public synchronized int userRef(String name, boolean create) throws IOException {
+        Integer ref = userRefs.get(name);
+        if (ref != null) return ref;
+        if (!create) return -1;
+
+        log.append(out -> {
+            out.writeByte(USER);
+            out.writeUTF(name);
+        });
+        userRefs.put(name, users.size());
+        users.add(name);
+        return users.size() - 1;
+    }
+
+    public synchronized String userName(int ref) {
+        return users.get(ref);
+    }
+
+    public synchronized String password(String name) {
+        Integer ref = userRefs.get(name);
+        return ref == null ? null : passwords.get(ref);
+    }
+
+    // 비밀번호가 아직 없는 사용자에게만 설정한다. (가입)
+    public synchronized boolean setPasswordIfAbsent(String name, String password) throws IOException {
+        int ref = userRef(name, true);
+        if (passwords.containsKey(ref)) return false;
+
+        log.append(out -> {
+            out.writeByte(PASSWORD);
+            out.writeInt(ref);
+            out.writeUTF(password);
+        });
+        passwords.put(ref, password);
+        return true;
+    }
+
+    // 카테고리 번호. null 이면 0, 처음 보는 이름이면 create 가 true 일 때만 등록하고, 아니면 -1
+    public synchronized int categoryId(String name, boolean create) throws IOException {
+        if (name == null) return 0;
+        Integer id = categoryIds.get(name);
+        if (id != null) return id;
+        if (!create) return -1;
+
+        log.append(out -> {
+            out.writeByte(CATEGORY);
+            out.writeUTF(name);
+        });
+        categories.add(name);
+        categoryIds.put(name, categories.size());
+        return categories.size();
+    }
+
+    public synchronized String categoryName(int id) {
+        return id == 0 ? null : categories.get(id - 1);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+}
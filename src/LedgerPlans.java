@@ -0,0 +1,264 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+// MappedLedgerStore 의 반복 규칙과 카테고리 예산. 항목 파일과 따로 덧붙이기 전용 로그(RecordLog)에 저장하고,
+// 시작할 때 전체를 읽어 메모리에 올린다. 사용자/카테고리는 LedgerNames 의 번호로 저장한다.
+// 발생 확정은 항목 ID 를 먼저 기록한 뒤 항목을 덧붙이므로, 그 사이에 멈추면 항목 없는 확정 기록이 남는다.
+// 저장소가 시작할 때 cancelUnwritten 으로 그런 기록을 취소한다.
+public class LedgerPlans implements AutoCloseable {
+
+    private static final byte RULE = 1;               // 규칙 ID, 사용자 번호, 분류, 카테고리 번호, 금액, 메모, 주기, 간격, 시작일, 종료일
+    private static final byte RULE_END = 2;           // 규칙 ID, 종료일
+    private static final byte RULE_DELETE = 3;        // 규칙 ID
+    private static final byte MATERIALIZE = 4;        // 규칙 ID, 날짜, 항목 ID
+    private static final byte MATERIALIZE_CANCEL = 5; // 규칙 ID, 날짜
+    private static final byte BUDGET = 6;             // 사용자 번호, 카테고리 번호, 금액
+    private static final byte BUDGET_DELETE = 7;      // 사용자 번호, 카테고리 번호
+
+    // 날짜는 epoch day, 없는 날짜(끝 없음)는 NO_DAY 로 저장한다.
+    private static final int NO_DAY = Integer.MIN_VALUE;
+
+    private static final class Plan {
+        final int id;
+        final int userRef;
+        final EntryType type;
+        final int categoryId;
+        final long amount;
+        final String memo;
+        final RecurringRule.Frequency frequency;
+        final int interval;
+        final int startDay;
+        int endDay;
+        final Map<Integer, Integer> materialized = new HashMap<>(); // 날짜 -> 항목 ID
+
+        Plan(int id, int userRef, EntryType type, int categoryId, long amount, String memo,
+             RecurringRule.Frequency frequency, int interval, int startDay, int endDay) {
+            this.id = id;
+            this.userRef = userRef;
+            this.type = type;
+            this.categoryId = categoryId;
+            this.amount = amount;
+            this.memo = memo;
+            this.frequency = frequency;
+            this.interval = interval;
+            this.startDay = startDay;
+            this.endDay = endDay;
+        }
+    }
+
+    private final RecordLog log;
+    private final TreeMap<Integer, Plan> plans = new TreeMap<>(); // 규칙 ID 순
+    private int nextRuleId = 1;
+    // 사용자 번호 -> 카테고리 번호 -> 월 예산
+    private final Map<Integer, Map<Integer, Long>> budgets = new HashMap<>();
+
+    public LedgerPlans(Path file) throws IOException {
+        this.log = new RecordLog(file, this::apply);
+    }
+
+    private void apply(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        if (kind == RULE) {
+            int id = in.readInt();
+            Plan plan = new Plan(id, in.readInt(), EntryType.fromCode(in.readByte()), in.readInt(), in.readLong(),
+                                 in.readBoolean() ? in.readUTF() : null,
+                                 RecurringRule.Frequency.fromCode(in.readByte()), in.readInt(),
+                                 in.readInt(), in.readInt());
+            plans.put(id, plan);
+            nextRuleId = Math.max(nextRuleId, id + 1);
+        } else if (kind == RULE_END) {
+            Plan plan = plans.get(in.readInt());
+            int endDay = in.readInt();
+            if (plan != null) plan.endDay = endDay;
+        } else if (kind == RULE_DELETE) {
+            plans.remove(in.readInt());
+        } else if (kind == MATERIALIZE) {
+            Plan plan = plans.get(in.readInt());
+            int day = in.readInt();
+            int entryId = in.readInt();
+            if (plan != null) plan.materialized.put(day, entryId);
+        } else if (kind == MATERIALIZE_CANCEL) {
+            Plan plan = plans.get(in.readInt());
+            int day = in.readInt();
+            if (plan != null) plan.materialized.remove(day);
+        } else if (kind == BUDGET) {
+            budgets.computeIfAbsent(in.readInt(), ref -> new HashMap<>()).put(in.readInt(), in.readLong());
+        } else if (kind == BUDGET_DELETE) {
+            Map<Integer, Long> limits = budgets.get(in.readInt());
+            int categoryId = in.readInt();
+            if (limits != null) limits.remove(categoryId);
+        } else {
+            throw new IOException("알 수 없는 계획 레코드: " + kind);
+        }
+    }
+
+    // --- 반복 규칙 ---
+
+    // 사용자의 규칙 (ID 순). 확정한 발생일도 함께 표시한다.
+    public synchronized List<RecurringRule> rules(int userRef, String userId, IntFunction<String> categoryName) {
+        List<RecurringRule> rules = new ArrayList<>();
+        for (Plan plan : plans.values()) {
+            if (plan.userRef != userRef) continue;
+            RecurringRule rule = new RecurringRule(plan.id, userId, plan.type, categoryName.apply(plan.categoryId),
+                                                   plan.amount, plan.memo, plan.frequency, plan.interval,
+                                                   LocalDate.ofEpochDay(plan.startDay), toDate(plan.endDay));
+            List<LocalDate> dates = new ArrayList<>();
+            for (int day : plan.materialized.keySet()) {
+                dates.add(LocalDate.ofEpochDay(day));
+            }
+            rules.add(dates.isEmpty() ? rule : rule.withMaterialized(dates));
+        }
+        return rules;
+    }
+
+    // 새 규칙 ID 를 돌려준다.
+    public synchronized int addRule(int userRef, int categoryId, RecurringRule rule) throws IOException {
+        Plan plan = new Plan(nextRuleId, userRef, rule.getType(), categoryId, rule.getAmount(), rule.getMemo(),
+                             rule.getFrequency(), rule.getInterval(), (int) rule.getStartDate().toEpochDay(),
+                             toDay(rule.getEndDate()));
+        log.append(out -> {
+            out.writeByte(RULE);
+            out.writeInt(plan.id);
+            out.writeInt(plan.userRef);
+            out.writeByte(plan.type.getCode());
+            out.writeInt(plan.categoryId);
+            out.writeLong(plan.amount);
+            writeNullable(out, plan.memo);
+            out.writeByte(plan.frequency.getCode());
+            out.writeInt(plan.interval);
+            out.writeInt(plan.startDay);
+            out.writeInt(plan.endDay);
+        });
+        plans.put(plan.id, plan);
+        nextRuleId++;
+        return plan.id;
+    }
+
+    // userRef 의 규칙일 때만 지운다. 확정 기록도 함께 사라진다. 없으면 false
+    public synchronized boolean deleteRule(int userRef, int ruleId) throws IOException {
+        if (owned(userRef, ruleId) == null) return false;
+        log.append(out -> {
+            out.writeByte(RULE_DELETE);
+            out.writeInt(ruleId);
+        });
+        plans.remove(ruleId);
+        return true;
+    }
+
+    // userRef 의 규칙이 아니거나 종료일이 시작일보다 이르면 false
+    public synchronized boolean setEndDate(int userRef, int ruleId, LocalDate endDate) throws IOException {
+        Plan plan = owned(userRef, ruleId);
+        int endDay = toDay(endDate);
+        if (plan == null || (endDay != NO_DAY && endDay < plan.startDay)) return false;
+        log.append(out -> {
+            out.writeByte(RULE_END);
+            out.writeInt(ruleId);
+            out.writeInt(endDay);
+        });
+        plan.endDay = endDay;
+        return true;
+    }
+
+    // 발생을 entryId 항목으로 확정했다고 기록한다. userRef 의 규칙이 아니거나 이미 확정한 날짜이면 false
+    // 항목을 덧붙이지 못하면 cancelMaterialize 로 되돌린다.
+    public synchronized boolean materialize(int userRef, int ruleId, LocalDate date, int entryId) throws IOException {
+        Plan plan = owned(userRef, ruleId);
+        int day = (int) date.toEpochDay();
+        if (plan == null || plan.materialized.containsKey(day)) return false;
+        log.append(out -> {
+            out.writeByte(MATERIALIZE);
+            out.writeInt(ruleId);
+            out.writeInt(day);
+            out.writeInt(entryId);
+        });
+        plan.materialized.put(day, entryId);
+        return true;
+    }
+
+    public synchronized void cancelMaterialize(int ruleId, LocalDate date) throws IOException {
+        int day = (int) date.toEpochDay();
+        log.append(out -> {
+            out.writeByte(MATERIALIZE_CANCEL);
+            out.writeInt(ruleId);
+            out.writeInt(day);
+        });
+        Plan plan = plans.get(ruleId);
+        if (plan != null) plan.materialized.remove(day);
+    }
+
+    // 항목 ID 가 nextEntryId 이상인 확정 기록(항목을 덧붙이기 전에 멈춘 것)을 취소한다. 시작할 때 한 번 부른다.
+    public synchronized void cancelUnwritten(int nextEntryId) throws IOException {
+        for (Plan plan : new ArrayList<>(plans.values())) {
+            for (Map.Entry<Integer, Integer> entry : new ArrayList<>(plan.materialized.entrySet())) {
+                if (entry.getValue() >= nextEntryId) cancelMaterialize(plan.id, LocalDate.ofEpochDay(entry.getKey()));
+            }
+        }
+    }
+
+    private Plan owned(int userRef, int ruleId) {
+        Plan plan = plans.get(ruleId);
+        return plan == null || plan.userRef != userRef ? null : plan;
+    }
+
+    // --- 카테고리 예산 ---
+
+    // 카테고리 이름 -> 월 예산
+    public synchronized Map<String, Long> budgets(int userRef, IntFunction<String> categoryName) {
+        Map<String, Long> named = new HashMap<>();
+        Map<Integer, Long> limits = budgets.get(userRef);
+        if (limits != null) {
+            limits.forEach((categoryId, limit) -> named.put(categoryName.apply(categoryId), limit));
+        }
+        return named;
+    }
+
+    public synchronized void setBudget(int userRef, int categoryId, long limit) throws IOException {
+        log.append(out -> {
+            out.writeByte(BUDGET);
+            out.writeInt(userRef);
+            out.writeInt(categoryId);
+            out.writeLong(limit);
+        });
+        budgets.computeIfAbsent(userRef, ref -> new HashMap<>()).put(categoryId, limit);
+    }
+
+    // 없으면 false
+    public synchronized boolean deleteBudget(int userRef, int categoryId) throws IOException {
+        Map<Integer, Long> limits = budgets.get(userRef);
+        if (limits == null || !limits.containsKey(categoryId)) return false;
+        log.append(out -> {
+            out.writeByte(BUDGET_DELETE);
+            out.writeInt(userRef);
+            out.writeInt(categoryId);
+        });
+        limits.remove(categoryId);
+        return true;
+    }
+
+    private static int toDay(LocalDate date) {
+        return date == null ? NO_DAY : (int) date.toEpochDay();
+    }
+
+    private static LocalDate toDate(int day) {
+        return day == NO_DAY ? null : LocalDate.ofEpochDay(day);
+    }
+
+    private static void writeNullable(DataOutputStream out, String text) throws IOException {
+        out.writeBoolean(text != null);
+        if (text != null) out.writeUTF(text);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.close();
+    }
+}
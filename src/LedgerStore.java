@@ -0,0 +1,120 @@
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// 사용자/가계부 항목을 저장하는 엔진. DataService 는 이 인터페이스만 사용하고,
+// 집계 캐시와 오류 처리(로그 후 false/빈 값 반환)는 DataService 쪽에서 한다.
+//   - SqliteLedgerStore: SQLite JDBC (기본)
+//   - MappedLedgerStore: 메모리 매핑 파일에 고정 길이 레코드를 덧붙이는 로그
+// 모든 메서드는 여러 스레드에서 동시에 호출될 수 있다.
+public interface LedgerStore extends AutoCloseable {
+
+    // 대량 등록(EntryImporter)용. add 한 항목은 commit 해야 저장되고, rollback 하면 마지막 commit 이후 것을 버린다.
+    interface BatchWriter extends AutoCloseable {
+        void add(AccountEntry entry) throws StorageException;
+        void commit() throws StorageException;
+        void rollback() throws StorageException;
+        // commit 하지 않은 항목은 버린다.
+        @Override
+        void close() throws StorageException;
+    }
+
+    // scanEntries 가 항목을 하나씩 넘겨준다.
+    @FunctionalInterface
+    interface EntryVisitor {
+        void visit(AccountEntry entry) throws IOException;
+    }
+
+    // scanHistory 가 항목 값을 하나씩 넘겨준다. 객체를 만들지 않도록 필요한 값만 넘긴다.
+    @FunctionalInterface
+    interface HistoryVisitor {
+        void visit(int entryId, int epochDay, EntryType type, String category, long amount);
+    }
+
+    // --- 회원 ---
+
+    // 이미 있는 아이디이면 false
+    boolean registerUser(String id, String password) throws StorageException;
+
+    boolean login(String id, String password) throws StorageException;
+
+    // --- 항목 ---
+
+    // 저장에 성공하면 entry 에 새 ID 를 넣는다.
+    void addEntry(AccountEntry entry) throws StorageException;
+
+    // userId 의 항목일 때만 지우고, 삭제한 항목을 돌려준다. 없거나 다른 사용자의 항목이면 null
+    AccountEntry deleteEntry(String userId, int entryId) throws StorageException;
+
+    // 기다리지 않는 addEntry. 저장(커밋)되면 새 ID 로 완료된다.
+    // 기본 구현은 호출한 스레드에서 바로 저장한다. 쓰기를 모아 커밋하는 엔진은 재정의한다.
+    default CompletableFuture<Integer> submitAddEntry(AccountEntry entry) {
+        try {
+            addEntry(entry);
+            return CompletableFuture.completedFuture(entry.getId());
+        } catch (StorageException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 기다리지 않는 deleteEntry
+    default CompletableFuture<AccountEntry> submitDeleteEntry(String userId, int entryId) {
+        try {
+            return CompletableFuture.completedFuture(deleteEntry(userId, entryId));
+        } catch (StorageException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 하루치 항목, ID 순
+    List<AccountEntry> getEntriesByDate(String userId, LocalDate date) throws StorageException;
+
+    // 조건에 맞는 항목을 (날짜, ID) 내림차순으로 limit 건. after 이후부터 이어서 읽는다.
+    List<AccountEntry> searchEntries(EntryQuery query, AccountEntry after, int limit) throws StorageException;
+
+    // 메모 검색. 관련도 높은 순, 같으면 최신순
+    List<AccountEntry> searchMemo(String userId, String text, int limit) throws StorageException;
+
+    // from ~ to(null 이면 제한 없음) 항목을 (날짜, ID) 오름차순으로 visitor 에 넘긴다.
+    void scanEntries(String userId, LocalDate from, LocalDate to, EntryVisitor visitor)
+        throws StorageException, IOException;
+
+    // 사용자의 전체 항목을 (날짜, ID) 오름차순으로 visitor 에 넘긴다. (AggregateCache 캐시 미스 시)
+    void scanHistory(String userId, HistoryVisitor visitor) throws StorageException;
+
+    BatchWriter openBatchWriter() throws StorageException;
+
+    // --- 반복 항목 ---
+
+    // 사용자의 반복 규칙. 이미 확정한 발생일도 함께 표시해서(withMaterialized) 돌려준다.
+    List<RecurringRule> getRecurringRules(String userId) throws StorageException;
+
+    // 저장한 규칙의 새 ID 를 돌려준다. (RecurringRule 은 불변이므로 rule 은 바꾸지 않는다)
+    int addRecurringRule(RecurringRule rule) throws StorageException;
+
+    // userId 의 규칙일 때만 지운다. 규칙으로 확정해 둔 항목은 남는다. 없으면 false
+    boolean deleteRecurringRule(String userId, int ruleId) throws StorageException;
+
+    // 종료일을 바꾼다. (null 이면 끝 없음) userId 의 규칙이 아니거나 종료일이 시작일보다 이르면 false
+    boolean setRecurringEndDate(String userId, int ruleId, LocalDate endDate) throws StorageException;
+
+    // entry 의 날짜에 해당하는 ruleId 의 발생을 실제 항목(entry)으로 저장하고 확정했다고 기록한다. (한 트랜잭션)
+    // entry 에는 새 ID 를 넣는다. 규칙이 entry 사용자의 것이 아니거나 이미 확정한 날짜이면 false
+    boolean materializeOccurrence(int ruleId, AccountEntry entry) throws StorageException;
+
+    // --- 카테고리 예산 ---
+
+    // 카테고리 -> 월 예산
+    Map<String, Long> getBudgets(String userId) throws StorageException;
+
+    // 있으면 바꾼다.
+    void setBudget(String userId, String category, long limit) throws StorageException;
+
+    // 없으면 false
+    boolean deleteBudget(String userId, String category) throws StorageException;
+
+    @Override
+    void close();
+}
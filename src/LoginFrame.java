@@ -3,9 +3,11 @@ import java.awt.*;
 
 public class LoginFrame extends JFrame {
 
-    private final DataService dataService = new DataService();
+    private final AsyncDataService asyncData = AsyncDataService.getInstance();
     private JTextField idField;
     private JPasswordField pwField;
+    private JButton loginButton;
+    private JButton registerButton;
 
     public LoginFrame() {
         setTitle("가계부 프로그램 - 로그인");
@@ -26,8 +28,8 @@ public class LoginFrame extends JFrame {
         inputPanel.add(pwField);
 
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
-        JButton loginButton = new JButton("로그인");
-        JButton registerButton = new JButton("회원가입");
+        loginButton = new JButton("로그인");
+        registerButton = new JButton("회원가입");
         
         loginButton.addActionListener(e -> attemptLogin());
         registerButton.addActionListener(e -> attemptRegister());
@@ -45,15 +47,21 @@ public class LoginFrame extends JFrame {
         String id = idField.getText();
         String pw = new String(pwField.getPassword());
 
-        if (dataService.login(id, pw)) {
-            JOptionPane.showMessageDialog(this, "로그인 성공!", "성공", JOptionPane.INFORMATION_MESSAGE);
-            
-            dispose(); // 현재 로그인 창 닫기
-            new DashboardPanel(id); // 대시보드 화면 열기
-            
-        } else {
-            JOptionPane.showMessageDialog(this, "ID 또는 비밀번호가 틀렸습니다.", "오류", JOptionPane.ERROR_MESSAGE);
-        }
+        setBusy(true);
+        asyncData.login(id, pw).whenCompleteAsync((success, error) -> {
+            setBusy(false);
+            if (error != null) {
+                showError(error);
+            } else if (success) {
+                JOptionPane.showMessageDialog(this, "로그인 성공!", "성공", JOptionPane.INFORMATION_MESSAGE);
+                
+                dispose(); // 현재 로그인 창 닫기
+                new DashboardPanel(id); // 대시보드 화면 열기
+                
+            } else {
+                JOptionPane.showMessageDialog(this, "ID 또는 비밀번호가 틀렸습니다.", "오류", JOptionPane.ERROR_MESSAGE);
+            }
+        }, AsyncDataService.EDT);
     }
 
     private void attemptRegister() {
@@ -65,10 +73,28 @@ public class LoginFrame extends JFrame {
              return;
         }
 
-        if (dataService.registerUser(id, pw)) {
-            JOptionPane.showMessageDialog(this, "회원가입 성공! 로그인 해주세요.", "성공", JOptionPane.INFORMATION_MESSAGE);
-        } else {
-            JOptionPane.showMessageDialog(this, "이미 존재하는 ID이거나 등록 실패.", "오류", JOptionPane.ERROR_MESSAGE);
-        }
+        setBusy(true);
+        asyncData.registerUser(id, pw).whenCompleteAsync((success, error) -> {
+            setBusy(false);
+            if (error != null) {
+                showError(error);
+            } else if (success) {
+                JOptionPane.showMessageDialog(this, "회원가입 성공! 로그인 해주세요.", "성공", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "이미 존재하는 ID이거나 등록 실패.", "오류", JOptionPane.ERROR_MESSAGE);
+            }
+        }, AsyncDataService.EDT);
+    }
+
+    // DB 응답을 기다리는 동안 버튼을 막고 대기 커서를 보여준다.
+    private void setBusy(boolean busy) {
+        loginButton.setEnabled(!busy);
+        registerButton.setEnabled(!busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    private void showError(Throwable error) {
+        error.printStackTrace();
+        JOptionPane.showMessageDialog(this, "처리 중 오류가 발생했습니다.", "오류", JOptionPane.ERROR_MESSAGE);
     }
 }
\ No newline at end of file
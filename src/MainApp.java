@@ -1,10 +1,32 @@
 import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.net.InetSocketAddress;
 
 public class MainApp {
     public static void main(String[] args) {
+        // --server [포트] : 화면 없이 HTTP API 서버(LedgerHttpServer)로 실행한다.
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : LedgerHttpServer.DEFAULT_PORT;
+            startServer(port);
+            return;
+        }
+
         // Swing GUI를 안전하게 시작합니다.
         SwingUtilities.invokeLater(() -> {
             new LoginFrame(); // 로그인 화면으로 프로그램 시작
         });
     }
-}
\ No newline at end of file
+
+    private static void startServer(int port) {
+        try {
+            LedgerHttpServer server = new LedgerHttpServer(DataService.getInstance(), new InetSocketAddress(port));
+            // DataService 의 종료 훅보다 먼저 등록되지 않아도 되도록 서버만 멈춘다.
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            server.start();
+            System.out.println("가계부 API 서버가 " + server.getPort() + " 포트에서 실행 중입니다. (종료: Ctrl+C)");
+        } catch (IOException e) {
+            System.err.println("서버를 시작할 수 없습니다: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,644 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 덧붙이기 전용 로그 저장소. 한 사용자의 항목이 매우 많을 때 SQLite 보다 쓰기/전체 훑기가 빠르다.
+//   - 항목은 LedgerFile 의 고정 길이 레코드로 저장하고, 삭제는 툼스톤 레코드를 덧붙인다.
+//   - 사용자 -> 날짜 -> 레코드 위치 인덱스를 메모리에 두고, 시작할 때 파일을 한 번 훑어서 만든다.
+//   - 지워진 레코드가 많아지면 백그라운드에서 살아있는 레코드만 새 세대 파일로 옮긴다. (컴팩션)
+//     CURRENT 파일이 가리키는 세대만 유효하므로 컴팩션 도중에 멈춰도 이전 세대로 다시 열린다.
+// 메모 검색은 단어별 부분 문자열 일치로 SQLite trigram 인덱스와 같은 결과를 내지만, 사용자의 메모를 모두 읽는다.
+// 반복 규칙과 예산은 항목 파일과 따로 LedgerPlans(plans.dat)에 저장한다. 컴팩션 대상이 아니다.
+public class MappedLedgerStore implements LedgerStore {
+
+    private static final String CURRENT = "CURRENT";
+    private static final long COMPACT_INTERVAL_MINUTES = 10;
+    // 지워진 레코드(삭제된 항목 + 툼스톤)가 이 수 이상이고 전체의 1/4 이상이면 컴팩션한다.
+    private static final int COMPACT_MIN_DEAD = 10_000;
+
+    private final Path dir;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final LedgerNames names;
+    private final LedgerPlans plans;
+    private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService compactor;
+
+    private long generation;
+    private LedgerFile file;
+    // 사용자 번호 -> 날짜 -> 레코드 위치 (같은 날짜 안에서는 ID 순)
+    private final List<NavigableMap<Integer, Slots>> userIndex = new ArrayList<>();
+    // 항목 ID -> 레코드 위치 + 1 (0 이면 없음)
+    private int[] slotById = new int[1024];
+    private int nextId;
+    private int deadRecords;
+
+    public MappedLedgerStore(Path dir) throws StorageException {
+        this.dir = dir;
+        try {
+            Files.createDirectories(dir);
+            this.lockChannel = FileChannel.open(dir.resolve("LOCK"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.lock = lockChannel.tryLock();
+            if (lock == null) {
+                lockChannel.close();
+                throw new StorageException("다른 프로그램이 사용 중인 저장소입니다: " + dir);
+            }
+            this.names = new LedgerNames(dir.resolve("names.dat"));
+            this.plans = new LedgerPlans(dir.resolve("plans.dat"));
+            this.generation = readCurrentGeneration();
+            deleteOtherGenerations();
+            this.file = new LedgerFile(dir, generation, 1);
+            buildIndex();
+            plans.cancelUnwritten(nextId);
+        } catch (IOException e) {
+            throw new StorageException("저장소를 열 수 없습니다: " + dir, e);
+        }
+
+        this.compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ledger-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(() -> {
+            try {
+                compactIfNeeded();
+            } catch (StorageException e) {
+                e.printStackTrace();
+            }
+        }, COMPACT_INTERVAL_MINUTES, COMPACT_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdown();
+        rwLock.writeLock().lock();
+        try {
+            file.close();
+            names.close();
+            plans.close();
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            System.err.println("저장소 종료 중 오류 발생: " + e.getMessage());
+        } finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    // --- 시작 / 복구 ---
+
+    private long readCurrentGeneration() throws IOException {
+        Path current = dir.resolve(CURRENT);
+        if (!Files.exists(current)) return 0;
+        return Long.parseLong(Files.readString(current, StandardCharsets.UTF_8).trim());
+    }
+
+    // 컴팩션 도중 멈춰서 남은 다음 세대 파일이나, 지우지 못한 이전 세대 파일을 정리한다.
+    private void deleteOtherGenerations() throws IOException {
+        String keepEntries = LedgerFile.entriesPath(dir, generation).getFileName().toString();
+        String keepMemos = LedgerFile.memosPath(dir, generation).getFileName().toString();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "{entries,memos}-*.dat")) {
+            for (Path path : files) {
+                String name = path.getFileName().toString();
+                if (!name.equals(keepEntries) && !name.equals(keepMemos)) Files.delete(path);
+            }
+        }
+    }
+
+    // 파일을 처음부터 훑어 인덱스를 만든다. 툼스톤을 만나면 앞서 넣은 항목을 뺀다.
+    private void buildIndex() {
+        userIndex.clear();
+        Arrays.fill(slotById, 0);
+        nextId = file.getNextIdFloor();
+        deadRecords = 0;
+
+        for (int slot = 0; slot < file.getCount(); slot++) {
+            int id = file.entryId(slot);
+            nextId = Math.max(nextId, id + 1);
+            if (file.kind(slot) == LedgerFile.ENTRY) {
+                index(slot);
+            } else {
+                unindex(id);
+                deadRecords += 2;
+            }
+        }
+    }
+
+    private void index(int slot) {
+        int id = file.entryId(slot);
+        if (id >= slotById.length) slotById = Arrays.copyOf(slotById, Math.max(id + 1, slotById.length * 2));
+        slotById[id] = slot + 1;
+
+        int userRef = file.userRef(slot);
+        while (userIndex.size() <= userRef) userIndex.add(new TreeMap<>());
+        userIndex.get(userRef).computeIfAbsent(file.day(slot), day -> new Slots()).add(slot);
+    }
+
+    private void unindex(int id) {
+        if (id >= slotById.length || slotById[id] == 0) return;
+        int slot = slotById[id] - 1;
+        slotById[id] = 0;
+
+        NavigableMap<Integer, Slots> days = userIndex.get(file.userRef(slot));
+        Slots slots = days.get(file.day(slot));
+        slots.remove(slot);
+        if (slots.size == 0) days.remove(file.day(slot));
+    }
+
+    // 인덱스에 없는 사용자이면 빈 맵
+    private NavigableMap<Integer, Slots> daysOf(String userId) throws IOException {
+        int ref = names.userRef(userId, false);
+        return ref < 0 || ref >= userIndex.size() ? new TreeMap<>() : userIndex.get(ref);
+    }
+
+    // --- 회원 ---
+
+    @Override
+    public boolean registerUser(String id, String password) throws StorageException {
+        try {
+            return names.setPasswordIfAbsent(id, password);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public boolean login(String id, String password) {
+        String saved = names.password(id);
+        return saved != null && saved.equals(password);
+    }
+
+    // --- 항목 ---
+
+    @Override
+    public void addEntry(AccountEntry entry) throws StorageException {
+        appendAll(List.of(entry));
+    }
+
+    // 여러 항목을 덧붙이고 한 번에 디스크에 내린다. 실패하면 이번에 덧붙인 레코드를 모두 버린다.
+    private void appendAll(List<AccountEntry> entries) throws StorageException {
+        rwLock.writeLock().lock();
+        int firstSlot = file.getCount();
+        int firstId = nextId;
+        try {
+            for (AccountEntry entry : entries) {
+                int userRef = names.userRef(entry.getUserId(), true);
+                int categoryId = names.categoryId(entry.getCategory(), true);
+                file.appendEntry(nextId++, userRef, (int) entry.getDate().toEpochDay(), entry.getType().getCode(),
+                                 categoryId, entry.getAmount(), entry.getMemo());
+            }
+            file.sync();
+            for (int slot = firstSlot; slot < file.getCount(); slot++) {
+                index(slot);
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                entries.get(i).setId(firstId + i);
+            }
+        } catch (IOException e) {
+            file.discardFrom(firstSlot);
+            nextId = firstId;
+            throw new StorageException(e);
+        } finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public AccountEntry deleteEntry(String userId, int entryId) throws StorageException {
+        rwLock.writeLock().lock();
+        try {
+            if (entryId <= 0 || entryId >= slotById.length || slotById[entryId] == 0) return null;
+            AccountEntry deleted = readEntry(slotById[entryId] - 1);
+            if (!deleted.getUserId().equals(userId)) return null;
+
+            int tombstone = file.appendTombstone(entryId);
+            try {
+                file.sync();
+            } catch (IOException e) {
+                file.discardFrom(tombstone);
+                throw e;
+            }
+            unindex(entryId);
+            deadRecords += 2;
+            return deleted;
+        } catch (IOException e) {
+            throw new StorageException(e);
+        } finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<AccountEntry> getEntriesByDate(String userId, LocalDate date) throws StorageException {
+        rwLock.readLock().lock();
+        try {
+            List<AccountEntry> entries = new ArrayList<>();
+            Slots slots = daysOf(userId).get((int) date.toEpochDay());
+            if (slots != null) {
+                for (int i = 0; i < slots.size; i++) {
+                    entries.add(readEntry(slots.slots[i]));
+                }
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new StorageException(e);
+        } finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<AccountEntry> searchEntries(EntryQuery query, AccountEntry after, int limit) throws StorageException {
+        List<AccountEntry> entries = new ArrayList<>();
+        List<String> words = memoWords(query.getMemoContains());
+        if (query.getMemoContains() != null && !query.getMemoContains().isEmpty() && words.isEmpty()) return entries;
+
+        rwLock.readLock().lock();
+        try {
+            int categoryId = 0;
+            if (query.getCategory() != null && !query.getCategory().isEmpty()) {
+                categoryId = names.categoryId(query.getCategory(), false);
+                if (categoryId < 0) return entries; // 없는 카테고리
+            }
+
+            long from = query.getFrom() == null ? Integer.MIN_VALUE : query.getFrom().toEpochDay();
+            long to = query.getTo() == null ? Integer.MAX_VALUE : query.getTo().toEpochDay();
+            if (after != null) to = Math.min(to, after.getDate().toEpochDay());
+            if (from > to) return entries;
+
+            NavigableMap<Integer, Slots> days = daysOf(query.getUserId()).subMap((int) from, true, (int) to, true);
+            for (Map.Entry<Integer, Slots> day : days.descendingMap().entrySet()) {
+                Slots slots = day.getValue();
+                for (int i = slots.size - 1; i >= 0; i--) {
+                    int slot = slots.slots[i];
+                    if (after != null && day.getKey() == after.getDate().toEpochDay()
+                            && file.entryId(slot) >= after.getId()) continue;
+                    if (!matches(slot, query, categoryId, words)) continue;
+                    entries.add(readEntry(slot));
+                    if (entries.size() == limit) return entries;
+                }
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new StorageException(e);
+        } finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    private boolean matches(int slot, EntryQuery query, int categoryId, List<String> words) throws IOException {
+        if (query.getType() != null && file.typeCode(slot) != query.getType().getCode()) return false;
+        if (categoryId != 0 && file.categoryId(slot) != categoryId) return false;
+        long amount = file.amount(slot);
+        if (query.getMinAmount() != null && amount < query.getMinAmount()) return false;
+        if (query.getMaxAmount() != null && amount > query.getMaxAmount()) return false;
+        return words.isEmpty() || memoScore(file.memo(slot), words) >= 0;
+    }
+
+    // 모든 검색어가 메모에 (대소문자 구분 없이) 들어 있으면 메모의 단어와 완전히 일치한 검색어 수를, 아니면 -1 을 돌려준다.
+    private static int memoScore(String memo, List<String> words) {
+        if (memo == null) return -1;
+        String lower = memo.toLowerCase();
+        for (String word : words) {
+            if (!lower.contains(word)) return -1;
+        }
+        List<String> tokens = memoTokens(lower);
+        int exact = 0;
+        for (String word : words) {
+            if (tokens.contains(word)) exact++;
+        }
+        return exact;
+    }
+
+    // 검색어를 공백으로 나누고 소문자로 바꾼다. (SqliteLedgerStore.memoWords 와 같은 규칙)
+    private static List<String> memoWords(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) return words;
+        for (String word : text.trim().split("\\s+")) {
+            if (!word.isEmpty()) words.add(word.toLowerCase());
+        }
+        return words;
+    }
+
+    // 점수 계산용: 메모를 글자/숫자가 아닌 문자로 나눈다.
+    private static List<String> memoTokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    @Override
+    public List<AccountEntry> searchMemo(String userId, String text, int limit) throws StorageException {
+        List<String> words = memoWords(text);
+        if (words.isEmpty()) return new ArrayList<>();
+
+        rwLock.readLock().lock();
+        try {
+            // 점수(완전 일치 단어 수) 높은 순, 같으면 최신순
+            List<long[]> matches = new ArrayList<>();
+            for (Map.Entry<Integer, Slots> day : daysOf(userId).entrySet()) {
+                Slots slots = day.getValue();
+                for (int i = 0; i < slots.size; i++) {
+                    int score = memoScore(file.memo(slots.slots[i]), words);
+                    if (score >= 0) matches.add(new long[] {score, day.getKey(), slots.slots[i]});
+                }
+            }
+            matches.sort(Comparator.<long[]>comparingLong(m -> -m[0])
+                                   .thenComparingLong(m -> -m[1])
+                                   .thenComparingLong(m -> -m[2]));
+
+            List<AccountEntry> entries = new ArrayList<>();
+            for (int i = 0; i < matches.size() && i < limit; i++) {
+                entries.add(readEntry((int) matches.get(i)[2]));
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new StorageException(e);
+        } finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    // 읽는 동안 쓰기는 기다린다.
+    @Override
+    public void scanEntries(String userId, LocalDate from, LocalDate to, EntryVisitor visitor)
+            throws StorageException, IOException {
+        rwLock.readLock().lock();
+        try {
+            int fromDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+            int toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+            if (fromDay > toDay) return;
+            for (Slots slots : daysOf(userId).subMap(fromDay, true, toDay, true).values()) {
+                for (int i = 0; i < slots.size; i++) {
+                    visitor.visit(readEntry(slots.slots[i]));
+                }
+            }
+        } finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void scanHistory(String userId, HistoryVisitor visitor) throws StorageException {
+        rwLock.readLock().lock();
+        try {
+            for (Map.Entry<Integer, Slots> day : daysOf(userId).entrySet()) {
+                Slots slots = day.getValue();
+                for (int i = 0; i < slots.size; i++) {
+                    int slot = slots.slots[i];
+                    visitor.visit(file.entryId(slot), day.getKey(), EntryType.fromCode(file.typeCode(slot)),
+                                  names.categoryName(file.categoryId(slot)), file.amount(slot));
+                }
+            }
+        } catch (IOException e) {
+            throw new StorageException(e);
+        } finally {
+            rwLock.readLock().unlock();
+        }
+    }
+
+    // 추가한 항목을 메모리에 모아 두었다가 commit 때 한 번에 덧붙이고 디스크에 내린다.
+    @Override
+    public BatchWriter openBatchWriter() {
+        return new BatchWriter() {
+            private final List<AccountEntry> pending = new ArrayList<>();
+
+            @Override
+            public void add(AccountEntry entry) {
+                pending.add(entry);
+            }
+
+            @Override
+            public void commit() throws StorageException {
+                if (pending.isEmpty()) return;
+                appendAll(pending);
+                pending.clear();
+            }
+
+            @Override
+            public void rollback() {
+                pending.clear();
+            }
+
+            @Override
+            public void close() {
+                pending.clear();
+            }
+        };
+    }
+
+    private AccountEntry readEntry(int slot) throws IOException {
+        return new AccountEntry(
+            file.entryId(slot),
+            names.userName(file.userRef(slot)),
+            LocalDate.ofEpochDay(file.day(slot)),
+            EntryType.fromCode(file.typeCode(slot)),
+            names.categoryName(file.categoryId(slot)),
+            file.amount(slot),
+            file.memo(slot));
+    }
+
+    // --- 반복 항목 ---
+
+    @Override
+    public List<RecurringRule> getRecurringRules(String userId) throws StorageException {
+        try {
+            int userRef = names.userRef(userId, false);
+            if (userRef < 0) return new ArrayList<>();
+            return plans.rules(userRef, userId, names::categoryName);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public int addRecurringRule(RecurringRule rule) throws StorageException {
+        try {
+            return plans.addRule(names.userRef(rule.getUserId(), true), names.categoryId(rule.getCategory(), true), rule);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public boolean deleteRecurringRule(String userId, int ruleId) throws StorageException {
+        try {
+            int userRef = names.userRef(userId, false);
+            return userRef >= 0 && plans.deleteRule(userRef, ruleId);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public boolean setRecurringEndDate(String userId, int ruleId, LocalDate endDate) throws StorageException {
+        try {
+            int userRef = names.userRef(userId, false);
+            return userRef >= 0 && plans.setEndDate(userRef, ruleId, endDate);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    // 확정 기록(다음 항목 ID)을 먼저 남기고 항목을 덧붙인다. 덧붙이지 못하면 확정 기록을 취소한다.
+    // 쓰기 잠금을 잡고 있으므로 그 사이에 다른 항목이 ID 를 가져가지 않는다.
+    @Override
+    public boolean materializeOccurrence(int ruleId, AccountEntry entry) throws StorageException {
+        rwLock.writeLock().lock();
+        try {
+            int userRef = names.userRef(entry.getUserId(), false);
+            if (userRef < 0 || !plans.materialize(userRef, ruleId, entry.getDate(), nextId)) return false;
+            try {
+                appendAll(List.of(entry));
+            } catch (StorageException e) {
+                plans.cancelMaterialize(ruleId, entry.getDate());
+                throw e;
+            }
+            return true;
+        } catch (IOException e) {
+            throw new StorageException(e);
+        } finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    // --- 카테고리 예산 ---
+
+    @Override
+    public Map<String, Long> getBudgets(String userId) throws StorageException {
+        try {
+            int userRef = names.userRef(userId, false);
+            if (userRef < 0) return new HashMap<>();
+            return plans.budgets(userRef, names::categoryName);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void setBudget(String userId, String category, long limit) throws StorageException {
+        try {
+            plans.setBudget(names.userRef(userId, true), names.categoryId(category, true), limit);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public boolean deleteBudget(String userId, String category) throws StorageException {
+        try {
+            int userRef = names.userRef(userId, false);
+            int categoryId = names.categoryId(category, false);
+            return userRef >= 0 && categoryId >= 0 && plans.deleteBudget(userRef, categoryId);
+        } catch (IOException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    // --- 컴팩션 ---
+
+    public void compactIfNeeded() throws StorageException {
+        rwLock.readLock().lock();
+        try {
+            if (deadRecords < COMPACT_MIN_DEAD || deadRecords * 4L < file.getCount()) return;
+        } finally {
+            rwLock.readLock().unlock();
+        }
+        compact();
+    }
+
+    // 살아있는 항목만 다음 세대 파일에 (원래 순서대로) 옮긴 뒤 CURRENT 를 바꾼다.
+    public void compact() throws StorageException {
+        rwLock.writeLock().lock();
+        try {
+            long nextGeneration = generation + 1;
+            LedgerFile next = new LedgerFile(dir, nextGeneration, nextId);
+            try {
+                for (int slot = 0; slot < file.getCount(); slot++) {
+                    if (file.kind(slot) != LedgerFile.ENTRY) continue;
+                    int id = file.entryId(slot);
+                    if (slotById[id] != slot + 1) continue; // 삭제된 항목
+                    next.appendEntry(id, file.userRef(slot), file.day(slot), file.typeCode(slot),
+                                     file.categoryId(slot), file.amount(slot), file.memo(slot));
+                }
+                next.sync();
+                writeCurrentGeneration(nextGeneration);
+            } catch (IOException e) {
+                next.close();
+                next.delete();
+                throw e;
+            }
+
+            LedgerFile previous = file;
+            file = next;
+            generation = nextGeneration;
+            buildIndex();
+            previous.close();
+            previous.delete();
+        } catch (IOException e) {
+            throw new StorageException("컴팩션 실패: " + e.getMessage(), e);
+        } finally {
+            rwLock.writeLock().unlock();
+        }
+    }
+
+    // 임시 파일에 쓰고 원자적으로 바꿔서, 도중에 멈춰도 CURRENT 는 이전 값이나 새 값 중 하나다.
+    private void writeCurrentGeneration(long generation) throws IOException {
+        Path tmp = dir.resolve(CURRENT + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(StandardCharsets.UTF_8.encode(Long.toString(generation)));
+            channel.force(true);
+        }
+        Files.move(tmp, dir.resolve(CURRENT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // 레코드 위치 목록 (추가 순서 = ID 순)
+    private static class Slots {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    System.arraycopy(slots, i + 1, slots, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+    }
+}
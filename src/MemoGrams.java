@@ -0,0 +1,74 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+import org.sqlite.Function;
+
+// 1~2글자 메모 검색어용 인덱스(entries_grams)의 토큰.
+// trigram 토크나이저는 3글자보다 짧은 검색어를 찾지 못하므로, 메모를 공백으로 나눈 단어마다
+// 한 글자(unigram)와 이웃한 두 글자(bigram)를 토큰으로 만들어 따로 색인한다. 그러면 1~2글자 검색어는
+// 토큰 하나와 정확히 일치하는지만 보면 되고, 메모의 어느 위치에 있든 인덱스로 찾는다. ("점심" -> "회사점심값")
+// 토큰은 글자의 코드 포인트를 16진수로 적어서(g + 첫 글자 [+ x + 둘째 글자]) 토크나이저가 문장 부호 등을
+// 나누거나 버리지 않게 한다. 대소문자는 소문자로 맞춘다.
+// 트리거가 memo_grams() SQL 함수로 토큰을 만들므로 entries 에 쓰는 커넥션에는 register 로 함수를 등록해야 한다.
+public final class MemoGrams {
+
+    // 이보다 짧은 검색어(글자 수)는 이 인덱스로 찾는다. 나머지는 trigram 인덱스
+    static final int MAX_LENGTH = 2;
+    static final String FUNCTION_NAME = "memo_grams";
+    // sqlite3.h 의 SQLITE_INNOCUOUS. trusted_schema 가 꺼져 있어도 트리거에서 부를 수 있게 한다.
+    private static final int FLAG_INNOCUOUS = 0x200000;
+
+    private MemoGrams() {
+    }
+
+    // conn 에 memo_grams(memo) 함수를 등록한다. (ConnectionPool 이 새 커넥션마다 부른다)
+    public static void register(Connection conn) throws SQLException {
+        Function.create(conn, FUNCTION_NAME, new Function() {
+            @Override
+            protected void xFunc() throws SQLException {
+                String memo = value_text(0);
+                if (memo == null) {
+                    result();
+                } else {
+                    result(grams(memo));
+                }
+            }
+        }, 1, Function.FLAG_DETERMINISTIC | FLAG_INNOCUOUS);
+    }
+
+    // 메모의 토큰을 공백으로 이어 붙인 문자열 (entries_grams 에 넣는 값)
+    static String grams(String memo) {
+        StringBuilder grams = new StringBuilder();
+        for (String word : memo.toLowerCase(Locale.ROOT).trim().split("\\s+")) {
+            int previous = -1;
+            for (int i = 0; i < word.length(); ) {
+                int codePoint = word.codePointAt(i);
+                appendToken(grams, codePoint, -1);
+                if (previous >= 0) appendToken(grams, previous, codePoint);
+                previous = codePoint;
+                i += Character.charCount(codePoint);
+            }
+        }
+        return grams.toString();
+    }
+
+    // 1~2글자 검색어를 모두 포함하는 MATCH 식. 그런 검색어가 없으면 null
+    static String matchQuery(List<String> words) {
+        StringBuilder match = new StringBuilder();
+        for (String word : words) {
+            int[] codePoints = word.toLowerCase(Locale.ROOT).codePoints().toArray();
+            if (codePoints.length > MAX_LENGTH) continue;
+            if (match.length() > 0) match.append(" AND ");
+            appendToken(match, codePoints[0], codePoints.length == 2 ? codePoints[1] : -1);
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    private static void appendToken(StringBuilder out, int first, int second) {
+        if (out.length() > 0 && out.charAt(out.length() - 1) != ' ') out.append(' ');
+        out.append('g').append(Integer.toHexString(first));
+        if (second >= 0) out.append('x').append(Integer.toHexString(second));
+    }
+}
@@ -0,0 +1,28 @@
+import java.time.YearMonth;
+
+// 한 달치 일별 수익/지출 합계. 배열 인덱스가 곧 날짜(1~말일)이며 0번은 사용하지 않는다.
+public class MonthSummary {
+    private final YearMonth yearMonth;
+    private final long[] income;
+    private final long[] expense;
+
+    public MonthSummary(YearMonth yearMonth) {
+        this.yearMonth = yearMonth;
+        this.income = new long[yearMonth.lengthOfMonth() + 1];
+        this.expense = new long[yearMonth.lengthOfMonth() + 1];
+    }
+
+    public YearMonth getYearMonth() { return yearMonth; }
+    public long getIncome(int day) { return income[day]; }
+    public long getExpense(int day) { return expense[day]; }
+
+    public MonthSummary copy() {
+        MonthSummary copy = new MonthSummary(yearMonth);
+        System.arraycopy(income, 0, copy.income, 0, income.length);
+        System.arraycopy(expense, 0, copy.expense, 0, expense.length);
+        return copy;
+    }
+
+    void addIncome(int day, long amount) { income[day] += amount; }
+    void addExpense(int day, long amount) { expense[day] += amount; }
+}
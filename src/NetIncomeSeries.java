@@ -0,0 +1,82 @@
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+// 연속된 N개월의 월별 수익/지출/순수익. 인덱스 0 이 시작 월이다.
+public class NetIncomeSeries {
+    private final YearMonth start;
+    private final long[] income;
+    private final long[] expense;
+
+    public NetIncomeSeries(YearMonth start, int months) {
+        this.start = start;
+        this.income = new long[months];
+        this.expense = new long[months];
+    }
+
+    public YearMonth getStart() { return start; }
+    public YearMonth getEnd() { return start.plusMonths(income.length - 1); }
+    public int size() { return income.length; }
+
+    public YearMonth getMonth(int index) { return start.plusMonths(index); }
+    public long getIncome(int index) { return income[index]; }
+    public long getExpense(int index) { return expense[index]; }
+    public long getNetIncome(int index) { return income[index] - expense[index]; }
+
+    // 범위 밖이면 -1
+    public int indexOf(YearMonth month) {
+        long index = start.until(month, ChronoUnit.MONTHS);
+        return index >= 0 && index < income.length ? (int) index : -1;
+    }
+
+    public boolean contains(YearMonth from, YearMonth to) {
+        return indexOf(from) >= 0 && indexOf(to) >= 0;
+    }
+
+    // 수익/지출 기록이 하나도 없는 달 (통계에서 제외한다)
+    public boolean isEmpty(int index) {
+        return income[index] == 0 && expense[index] == 0;
+    }
+
+    // [fromIndex, toIndex] 구간에서 기록이 있는 달의 평균 순수익
+    public long averageNetIncome(int fromIndex, int toIndex) {
+        long sum = 0;
+        int count = 0;
+        for (int i = fromIndex; i <= toIndex; i++) {
+            if (isEmpty(i)) continue;
+            sum += getNetIncome(i);
+            count++;
+        }
+        return count == 0 ? 0 : sum / count;
+    }
+
+    // [fromIndex, toIndex] 구간에서 기록이 있는 달의 순수익 최소제곱 기울기 (월당 증감액)
+    public double netIncomeSlope(int fromIndex, int toIndex) {
+        int n = 0;
+        double sumX = 0;
+        double sumY = 0;
+        for (int i = fromIndex; i <= toIndex; i++) {
+            if (isEmpty(i)) continue;
+            n++;
+            sumX += i;
+            sumY += getNetIncome(i);
+        }
+        if (n < 2) return 0;
+
+        double meanX = sumX / n;
+        double meanY = sumY / n;
+        double num = 0;
+        double den = 0;
+        for (int i = fromIndex; i <= toIndex; i++) {
+            if (isEmpty(i)) continue;
+            double dx = i - meanX;
+            num += dx * (getNetIncome(i) - meanY);
+            den += dx * dx;
+        }
+        return num / den;
+    }
+
+    void set(int index, long incomeValue, long expenseValue) {
+        income[index] = incomeValue;
+        expense[index] = expenseValue;
+    }
+}
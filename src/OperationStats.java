@@ -0,0 +1,42 @@
+import java.beans.ConstructorProperties;
+
+// 한 작업의 통계 스냅샷. JMX 에서는 CompositeData 로 보인다. 시간은 마이크로초 단위
+public class OperationStats {
+
+    private final String operation;
+    private final long count;
+    private final long errors;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p95Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+
+    @ConstructorProperties({"operation", "count", "errors", "meanMicros", "p50Micros", "p95Micros", "p99Micros", "maxMicros"})
+    public OperationStats(String operation, long count, long errors, long meanMicros,
+                          long p50Micros, long p95Micros, long p99Micros, long maxMicros) {
+        this.operation = operation;
+        this.count = count;
+        this.errors = errors;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p95Micros = p95Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getOperation() { return operation; }
+    public long getCount() { return count; }
+    public long getErrors() { return errors; }
+    public long getMeanMicros() { return meanMicros; }
+    public long getP50Micros() { return p50Micros; }
+    public long getP95Micros() { return p95Micros; }
+    public long getP99Micros() { return p99Micros; }
+    public long getMaxMicros() { return maxMicros; }
+
+    @Override
+    public String toString() {
+        return String.format("%s count=%d errors=%d mean=%dus p50=%dus p95=%dus p99=%dus max=%dus",
+                             operation, count, errors, meanMicros, p50Micros, p95Micros, p99Micros, maxMicros);
+    }
+}
@@ -0,0 +1,45 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 임의 기간의 수익/지출 합계와 카테고리별 합계. (EntryColumns 에서 계산한 불변 객체)
+public class RangeSummary {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long income;
+    private final long expense;
+    private final Map<String, Long> incomeByCategory;  // 금액이 큰 순서
+    private final Map<String, Long> expenseByCategory; // 금액이 큰 순서
+
+    public RangeSummary(LocalDate from, LocalDate to, long income, long expense,
+                        Map<String, Long> incomeByCategory, Map<String, Long> expenseByCategory) {
+        this.from = from;
+        this.to = to;
+        this.income = income;
+        this.expense = expense;
+        this.incomeByCategory = sortedByAmount(incomeByCategory);
+        this.expenseByCategory = sortedByAmount(expenseByCategory);
+    }
+
+    private static Map<String, Long> sortedByAmount(Map<String, Long> sums) {
+        List<Map.Entry<String, Long>> sorted = new ArrayList<>(sums.entrySet());
+        sorted.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : sorted) {
+            ordered.put(entry.getKey(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(ordered);
+    }
+
+    // null 이면 해당 방향으로 제한 없음
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public long getIncome() { return income; }
+    public long getExpense() { return expense; }
+    public long getNetIncome() { return income - expense; }
+    public Map<String, Long> getIncomeByCategory() { return incomeByCategory; }
+    public Map<String, Long> getExpenseByCategory() { return expenseByCategory; }
+}
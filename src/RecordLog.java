@@ -0,0 +1,94 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+// MappedLedgerStore 의 작은 메타데이터 파일(LedgerNames, LedgerPlans)이 쓰는 덧붙이기 전용 로그.
+// 파일은 [길이][CRC][내용] 레코드의 연속이고, 열 때 전체를 읽어 레코드마다 reader 에 넘긴다.
+// 마지막 레코드가 쓰다 만 상태(길이/CRC 불일치)이면 그 앞까지만 읽고 잘라낸다.
+// 스레드 안전하지 않으므로 쓰는 쪽에서 동기화한다.
+class RecordLog implements AutoCloseable {
+
+    private static final int FRAME_HEADER = 8;
+
+    @FunctionalInterface
+    interface RecordReader {
+        void read(DataInputStream in) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private final FileChannel channel;
+
+    RecordLog(Path file, RecordReader reader) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                        StandardOpenOption.WRITE);
+        try {
+            long end = recover(Files.readAllBytes(file), reader);
+            if (end < channel.size()) {
+                channel.truncate(end);
+                channel.force(true);
+            }
+            channel.position(end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // 읽을 수 있는 마지막 레코드의 끝 위치를 돌려준다.
+    private static long recover(byte[] data, RecordReader reader) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        CRC32C crc = new CRC32C();
+        while (buffer.remaining() >= FRAME_HEADER) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) return start;
+            crc.reset();
+            crc.update(data, buffer.position(), length);
+            if ((int) crc.getValue() != checksum) return start;
+
+            reader.read(new DataInputStream(new ByteArrayInputStream(data, buffer.position(), length)));
+            buffer.position(buffer.position() + length);
+        }
+        return buffer.position();
+    }
+
+    // 레코드 하나를 덧붙이고 디스크에 내린다. 실패하면 쓰다 만 레코드를 남기지 않는다.
+    void append(RecordWriter writer) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        writer.write(new DataOutputStream(payload));
+        byte[] bytes = payload.toByteArray();
+
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER + bytes.length);
+        frame.putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+
+        long start = channel.position();
+        try {
+            while (frame.hasRemaining()) channel.write(frame);
+            channel.force(false);
+        } catch (IOException e) {
+            channel.truncate(start);
+            channel.position(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
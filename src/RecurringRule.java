@@ -0,0 +1,204 @@
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Collection;
+
+// 반복 항목 규칙 (월급, 교통카드 충전, 구독료 등). 규칙에서 생기는 항목(발생)은 DB 에 행으로 저장하지 않고
+// 조회할 때 계산한다. n 번째 발생일은 시작일에서 바로 계산하므로(occurrence) 어느 기간이든 그 기간의 발생만 훑는다.
+// 발생을 실제 항목으로 확정(materialize)하면 그 날짜는 이후 계산에서 건너뛴다.
+// 불변 객체다. 종료일을 바꾸거나 발생을 확정하면 withEndDate/withMaterialized 로 새 규칙을 만들어
+// 저장소에 반영한 뒤 RecurringSchedule 에서 바꿔 끼우므로, 이미 넘겨준 규칙(Occurrence 등)은 바뀌지 않는다.
+public class RecurringRule {
+
+    public enum Frequency {
+        DAILY(0, "일마다"),
+        WEEKLY(1, "주마다"),
+        MONTHLY(2, "개월마다");
+
+        private static final Frequency[] VALUES = values();
+
+        private final int code;
+        private final String label;
+
+        Frequency(int code, String label) {
+            this.code = code;
+            this.label = label;
+        }
+
+        public int getCode() { return code; }
+        public String getLabel() { return label; }
+
+        public static Frequency fromCode(int code) {
+            for (Frequency frequency : VALUES) {
+                if (frequency.code == code) return frequency;
+            }
+            throw new IllegalArgumentException("알 수 없는 반복 주기 코드: " + code);
+        }
+    }
+
+    // 규칙에서 계산한 발생 하나. 화면의 "반복 예정" 목록용
+    public static class Occurrence {
+        private final RecurringRule rule;
+        private final LocalDate date;
+
+        Occurrence(RecurringRule rule, LocalDate date) {
+            this.rule = rule;
+            this.date = date;
+        }
+
+        public RecurringRule getRule() { return rule; }
+        public LocalDate getDate() { return date; }
+
+        @Override
+        public String toString() {
+            return String.format("[%s] %s: %,d원 (%s) - %d%s 반복",
+                                 rule.type.getLabel(), rule.category, rule.amount, rule.memo,
+                                 rule.interval, rule.frequency.getLabel());
+        }
+    }
+
+    private final int id;
+    private final String userId;
+    private final EntryType type;
+    private final String category;
+    private final long amount;
+    private final String memo;
+    private final Frequency frequency;
+    private final int interval; // 몇 일/주/개월마다
+    private final LocalDate startDate; // 첫 발생일. 매월 반복이면 이 날짜의 일(말일 보정)에 발생한다.
+    private final LocalDate endDate; // 이 날짜까지 발생. null 이면 끝 없음
+    private final BitSet materialized; // 확정한 발생의 번호. 만든 뒤에는 바꾸지 않으므로 새 규칙과 같이 써도 된다.
+
+    public RecurringRule(int id, String userId, EntryType type, String category, long amount, String memo,
+                         Frequency frequency, int interval, LocalDate startDate, LocalDate endDate) {
+        this(id, userId, type, category, amount, memo, frequency, interval, startDate, endDate, new BitSet());
+    }
+
+    private RecurringRule(int id, String userId, EntryType type, String category, long amount, String memo,
+                          Frequency frequency, int interval, LocalDate startDate, LocalDate endDate,
+                          BitSet materialized) {
+        if (interval <= 0) throw new IllegalArgumentException("반복 간격은 1 이상이어야 합니다.");
+        if (endDate != null && endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("종료일은 시작일보다 빠를 수 없습니다.");
+        }
+        this.id = id;
+        this.userId = userId;
+        this.type = type;
+        this.category = category;
+        this.amount = amount;
+        this.memo = memo;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.materialized = materialized;
+    }
+
+    // 새 규칙 등록 시
+    public RecurringRule(String userId, EntryType type, String category, long amount, String memo,
+                         Frequency frequency, int interval, LocalDate startDate, LocalDate endDate) {
+        this(-1, userId, type, category, amount, memo, frequency, interval, startDate, endDate);
+    }
+
+    public int getId() { return id; }
+    public String getUserId() { return userId; }
+    public EntryType getType() { return type; }
+    public String getCategory() { return category; }
+    public long getAmount() { return amount; }
+    public String getMemo() { return memo; }
+    public Frequency getFrequency() { return frequency; }
+    public int getInterval() { return interval; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+
+    // 저장소가 새 ID 를 정한 뒤
+    RecurringRule withId(int newId) {
+        return new RecurringRule(newId, userId, type, category, amount, memo, frequency, interval,
+                                 startDate, endDate, materialized);
+    }
+
+    // 종료일만 바꾼 규칙 (확정한 발생은 그대로)
+    RecurringRule withEndDate(LocalDate newEndDate) {
+        return new RecurringRule(id, userId, type, category, amount, memo, frequency, interval,
+                                 startDate, newEndDate, materialized);
+    }
+
+    // dates 중 이 규칙의 발생일을 확정했다고 기록한 규칙. 발생일이 아닌 날짜는 건너뛴다.
+    RecurringRule withMaterialized(Collection<LocalDate> dates) {
+        BitSet copy = (BitSet) materialized.clone();
+        for (LocalDate date : dates) {
+            int n = indexOf(date);
+            if (n >= 0) copy.set(n);
+        }
+        return new RecurringRule(id, userId, type, category, amount, memo, frequency, interval,
+                                 startDate, endDate, copy);
+    }
+
+    // date 가 이 규칙의 발생일(확정 여부와 관계없이)이면 발생 번호, 아니면 -1
+    int indexOf(LocalDate date) {
+        int n = firstIndexOnOrAfter(date);
+        return occurrence(n).equals(date) ? n : -1;
+    }
+
+    // 확정하지 않은 발생일인지
+    boolean isPending(LocalDate date) {
+        int n = indexOf(date);
+        return n >= 0 && (endDate == null || !date.isAfter(endDate)) && !materialized.get(n);
+    }
+
+    // 이 항목으로 확정할 때 저장할 항목
+    AccountEntry toEntry(LocalDate date) {
+        return new AccountEntry(userId, date, type, category, amount, memo);
+    }
+
+    // n 번째(0부터) 발생일. 매월 반복은 시작일에서 바로 더하므로 31일 시작이면 말일로 보정된 뒤에도 31일로 돌아온다.
+    LocalDate occurrence(int n) {
+        switch (frequency) {
+            case DAILY:  return startDate.plusDays((long) n * interval);
+            case WEEKLY: return startDate.plusDays((long) n * interval * 7);
+            default:     return startDate.plusMonths((long) n * interval);
+        }
+    }
+
+    // from 이후(같은 날 포함) 첫 발생의 번호. 종료일은 보지 않는다.
+    int firstIndexOnOrAfter(LocalDate from) {
+        if (!from.isAfter(startDate)) return 0;
+        int n;
+        if (frequency == Frequency.MONTHLY) {
+            long months = ChronoUnit.MONTHS.between(YearMonth.from(startDate), YearMonth.from(from));
+            n = (int) ((months + interval - 1) / interval);
+        } else {
+            long days = from.toEpochDay() - startDate.toEpochDay();
+            long step = frequency == Frequency.WEEKLY ? interval * 7L : interval;
+            n = (int) ((days + step - 1) / step);
+        }
+        return occurrence(n).isBefore(from) ? n + 1 : n;
+    }
+
+    // to 이전(같은 날 포함, 종료일까지) 마지막 발생의 번호. 없으면 -1
+    int lastIndexOnOrBefore(LocalDate to) {
+        if (endDate != null && endDate.isBefore(to)) to = endDate;
+        if (to.isBefore(startDate)) return -1;
+        int n;
+        if (frequency == Frequency.MONTHLY) {
+            long months = ChronoUnit.MONTHS.between(YearMonth.from(startDate), YearMonth.from(to));
+            n = (int) (months / interval);
+        } else {
+            long days = to.toEpochDay() - startDate.toEpochDay();
+            long step = frequency == Frequency.WEEKLY ? interval * 7L : interval;
+            n = (int) (days / step);
+        }
+        return occurrence(n).isAfter(to) ? n - 1 : n;
+    }
+
+    // 0 ~ last 번 발생 중 확정하지 않은 수
+    int pendingCount(int last) {
+        if (last < 0) return 0;
+        return last + 1 - materialized.get(0, last + 1).cardinality();
+    }
+
+    boolean isMaterialized(int n) {
+        return materialized.get(n);
+    }
+}
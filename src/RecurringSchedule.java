@@ -0,0 +1,97 @@
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+// 한 사용자의 반복 항목 규칙 목록. UserRollup 이 들고 있고 AggregateCache 의 잠금 안에서만 바꾼다.
+// 규칙은 불변이고 목록도 바꿀 때마다 새로 만들어 끼우므로, 읽는 쪽은 시작할 때의 목록을 끝까지 그대로 본다.
+// 규칙은 사용자마다 몇 개뿐이고, 기간의 발생은 규칙마다 그 기간에 드는 번호만 계산하므로
+// 한 달치를 펼치는 데 (규칙 수 + 발생 수) 만큼만 든다.
+public class RecurringSchedule {
+
+    @FunctionalInterface
+    public interface OccurrenceVisitor {
+        void visit(RecurringRule rule, LocalDate date);
+    }
+
+    private volatile List<RecurringRule> rules;
+
+    public RecurringSchedule(List<RecurringRule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    public List<RecurringRule> getRules() {
+        return rules;
+    }
+
+    // 없으면 null
+    public RecurringRule find(int ruleId) {
+        for (RecurringRule rule : rules) {
+            if (rule.getId() == ruleId) return rule;
+        }
+        return null;
+    }
+
+    void add(RecurringRule rule) {
+        List<RecurringRule> next = new ArrayList<>(rules);
+        next.add(rule);
+        rules = Collections.unmodifiableList(next);
+    }
+
+    void remove(int ruleId) {
+        List<RecurringRule> next = new ArrayList<>(rules);
+        next.removeIf(rule -> rule.getId() == ruleId);
+        rules = Collections.unmodifiableList(next);
+    }
+
+    // 같은 ID 의 규칙을 rule 로 바꿔 끼운다. (종료일 변경, 발생 확정) 없으면 아무것도 하지 않는다.
+    void replace(RecurringRule rule) {
+        List<RecurringRule> next = new ArrayList<>(rules);
+        next.replaceAll(current -> current.getId() == rule.getId() ? rule : current);
+        rules = Collections.unmodifiableList(next);
+    }
+
+    // from ~ to 사이의 확정하지 않은 발생을 규칙 순서대로 visitor 에 넘긴다.
+    public void forEachOccurrence(LocalDate from, LocalDate to, OccurrenceVisitor visitor) {
+        List<RecurringRule> rules = this.rules;
+        for (int r = 0; r < rules.size(); r++) {
+            RecurringRule rule = rules.get(r);
+            int last = rule.lastIndexOnOrBefore(to);
+            for (int n = rule.firstIndexOnOrAfter(from); n <= last; n++) {
+                if (!rule.isMaterialized(n)) visitor.visit(rule, rule.occurrence(n));
+            }
+        }
+    }
+
+    // from ~ to 사이 (type, category) 규칙의 확정하지 않은 발생 금액 합계. 발생을 하나씩 만들지 않고 개수로 계산한다.
+    public long pendingTotal(EntryType type, String category, LocalDate from, LocalDate to) {
+        long total = 0;
+        List<RecurringRule> rules = this.rules;
+        for (int r = 0; r < rules.size(); r++) {
+            RecurringRule rule = rules.get(r);
+            if (rule.getType() != type || !Objects.equals(rule.getCategory(), category)) continue;
+            int first = rule.firstIndexOnOrAfter(from);
+            int last = rule.lastIndexOnOrBefore(to);
+            if (last < first) continue;
+            total += rule.getAmount() * (rule.pendingCount(last) - rule.pendingCount(first - 1));
+        }
+        return total;
+    }
+
+    // date 까지(같은 날 포함) 확정하지 않은 발생의 잔액 합계 (수익 +, 지출 -). 발생을 하나씩 만들지 않고 개수로 계산한다.
+    public long balanceThrough(LocalDate date) {
+        long balance = 0;
+        List<RecurringRule> rules = this.rules;
+        for (int r = 0; r < rules.size(); r++) {
+            RecurringRule rule = rules.get(r);
+            long total = rule.getAmount() * rule.pendingCount(rule.lastIndexOnOrBefore(date));
+            balance += rule.getType() == EntryType.INCOME ? total : -total;
+        }
+        return balance;
+    }
+}
@@ -0,0 +1,38 @@
+import java.time.YearMonth;
+
+// 한 달을 기준으로 한 적금 추천 결과. SavingsAdvisor 가 만든다.
+public class SavingsAdvice {
+
+    // 추천 종류
+    public enum Plan {
+        REDUCE_SPENDING, // 평균 순수익이 음수: 지출 절약이 먼저
+        SMALL_START,     // 평균 순수익 0원: 소액 적금부터
+        FLEXIBLE,        // 자유 적립식 적금
+        STANDARD,        // 표준형 적금 A
+        PREMIUM          // 프리미엄 적금 B
+    }
+
+    private final YearMonth month;
+    private final long netIncome;
+    private final long averageNetIncome;
+    private final double netIncomeSlope;
+    private final Plan plan;
+    private final String text;
+
+    public SavingsAdvice(YearMonth month, long netIncome, long averageNetIncome, double netIncomeSlope,
+                         Plan plan, String text) {
+        this.month = month;
+        this.netIncome = netIncome;
+        this.averageNetIncome = averageNetIncome;
+        this.netIncomeSlope = netIncomeSlope;
+        this.plan = plan;
+        this.text = text;
+    }
+
+    public YearMonth getMonth() { return month; }
+    public long getNetIncome() { return netIncome; }
+    public long getAverageNetIncome() { return averageNetIncome; }
+    public double getNetIncomeSlope() { return netIncomeSlope; }
+    public Plan getPlan() { return plan; }
+    public String getText() { return text; }
+}
@@ -0,0 +1,74 @@
+import java.time.YearMonth;
+
+// 월별 순수익으로 적금 상품을 추천한다. 화면(SavingsFrame)과 HTTP API 가 같은 규칙을 쓴다.
+// 한 달의 순수익이 아니라 최근 TREND_MONTHS 개월의 평균 순수익을 기준으로 하고, 추세는 참고 문구로 덧붙인다.
+// 상품 조건은 SavingsProduct.CATALOGUE 에서 읽고, 예상 수령액은 SavingsSimulator 의 모의실험 결과로 안내한다.
+public final class SavingsAdvisor {
+
+    // 추세/평균을 계산하는 기간
+    public static final int TREND_MONTHS = 12;
+
+    private SavingsAdvisor() {
+    }
+
+    // series 는 month 를 포함해 그 이전 TREND_MONTHS - 1 개월까지 담고 있어야 한다.
+    public static SavingsAdvice advise(NetIncomeSeries series, YearMonth month) {
+        int end = series.indexOf(month);
+        int start = end - TREND_MONTHS + 1;
+        if (end < 0 || start < 0) {
+            throw new IllegalArgumentException("최근 " + TREND_MONTHS + "개월의 순수익이 필요합니다: " + month);
+        }
+        long netIncome = series.getNetIncome(end);
+        long average = series.averageNetIncome(start, end);
+        double slope = series.netIncomeSlope(start, end);
+
+        SavingsAdvice.Plan plan;
+        String recommendationText;
+        String basis = String.format("이번 달 순수익 %,d원, 최근 %d개월 평균 %,d원을 기준으로 추천합니다.\n",
+                                     netIncome, TREND_MONTHS, average);
+
+        if (average < 0) {
+            plan = SavingsAdvice.Plan.REDUCE_SPENDING;
+            recommendationText = "최근 지출이 수입보다 많았습니다.\n" +
+                                 "적금보다는 지출 절약을 통한 재정 안정화가 우선입니다.";
+        } else if (average >= 3000000) {
+            // 평균 순수익 300만원 이상
+            plan = SavingsAdvice.Plan.PREMIUM;
+            recommendationText = productText("프리미엄 적금 B",
+                                             "높은 금액을 위한 우대금리가 적용되는 고액 정기 적금을 추천합니다.");
+        } else if (average >= 1000000) {
+            // 평균 순수익 100만원 이상 300만원 미만
+            plan = SavingsAdvice.Plan.STANDARD;
+            recommendationText = productText("표준형 적금 A",
+                                             "조건 없이 기본 금리가 높은 표준 정기 적금을 추천합니다.");
+        } else if (average > 0) {
+            // 평균 순수익 1만원 이상 100만원 미만
+            plan = SavingsAdvice.Plan.FLEXIBLE;
+            recommendationText = productText("자유 적립식 적금",
+                                             "유동적인 수입에 맞춰 여윳돈이 생길 때마다 납입할 수 있는 적금을 추천합니다.");
+        } else {
+            // 평균 순수익 0원
+            plan = SavingsAdvice.Plan.SMALL_START;
+            recommendationText = "최근 순수익이 0원입니다.\n" +
+                                 "지출을 점검하고, 최소한의 금액부터 시작하는 소액 적금 상품을 고려해 보세요.\n" +
+                                 "(" + SavingsProduct.find("소액 정기 적금").describe() + ")";
+        }
+
+        // 추세에 따른 참고 문구 (평균의 5% 이상 변할 때만)
+        String trendNote = "";
+        if (average > 0 && Math.abs(slope) >= average * 0.05) {
+            trendNote = slope < 0
+                ? "\n\n참고: 순수익이 줄어드는 추세입니다. 납입액을 평균보다 보수적으로 잡으세요."
+                : "\n\n참고: 순수익이 늘어나는 추세입니다. 납입액을 조금씩 늘려가도 좋습니다.";
+        }
+
+        return new SavingsAdvice(month, netIncome, average, slope, plan, basis + "\n" + recommendationText + trendNote);
+    }
+
+    private static String productText(String name, String summary) {
+        SavingsProduct product = SavingsProduct.find(name);
+        return "[" + name + " 추천]\n\n" + summary + "\n" +
+               "조건: " + product.describe() + ".\n" +
+               "예상 수령액은 아래 모의실험 결과를 참고하세요.";
+    }
+}
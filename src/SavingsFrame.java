@@ -4,19 +4,28 @@ import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 
 public class SavingsFrame extends JFrame {
-    private final DataService dataService;
+    // 추세/평균을 계산하는 기간
+    private static final int TREND_MONTHS = SavingsAdvisor.TREND_MONTHS;
+    // 한 번에 불러오는 기간: 선택한 달 이전 23개월 ~ 이후 12개월
+    private static final int LOAD_MONTHS_BEFORE = 23;
+    private static final int LOAD_MONTHS = 36;
+
+    private final AsyncDataService asyncData;
     private final String currentUserId;
     private final JLabel netIncomeLabel;
+    private final JLabel trendLabel;
+    private final TrendChart trendChart;
     private final JTextArea recommendationArea;
     private YearMonth currentMonth;
+    private NetIncomeSeries series; // 불러온 월별 순수익 (월 이동은 이 안에서 처리)
 
-    public SavingsFrame(DataService dataService, String userId) {
-        this.dataService = dataService;
+    public SavingsFrame(AsyncDataService asyncData, String userId) {
+        this.asyncData = asyncData;
         this.currentUserId = userId;
         this.currentMonth = YearMonth.now();
 
         setTitle("적금 추천 시스템");
-        setSize(400, 500);
+        setSize(460, 720);
         setLayout(new BorderLayout(10, 10));
         setLocationRelativeTo(null);
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -47,15 +56,27 @@ public class SavingsFrame extends JFrame {
         
         add(topPanel, BorderLayout.NORTH);
 
-        // --- 중앙 패널 (추천 결과) ---
+        // --- 중앙 패널 (순수익 추세 + 추천 결과) ---
+        JPanel centerPanel = new JPanel(new BorderLayout(5, 5));
+
+        JPanel trendPanel = new JPanel(new BorderLayout());
+        trendPanel.setBorder(BorderFactory.createTitledBorder("최근 " + TREND_MONTHS + "개월 순수익 추세"));
+        trendChart = new TrendChart();
+        trendLabel = new JLabel("", SwingConstants.CENTER);
+        trendLabel.setFont(textFont);
+        trendPanel.add(trendChart, BorderLayout.CENTER);
+        trendPanel.add(trendLabel, BorderLayout.SOUTH);
+        centerPanel.add(trendPanel, BorderLayout.NORTH);
+
         recommendationArea = new JTextArea();
         recommendationArea.setFont(textFont);
         recommendationArea.setEditable(false);
         recommendationArea.setLineWrap(true);
         recommendationArea.setWrapStyleWord(true);
         JScrollPane scrollPane = new JScrollPane(recommendationArea);
+        centerPanel.add(scrollPane, BorderLayout.CENTER);
         
-        add(scrollPane, BorderLayout.CENTER);
+        add(centerPanel, BorderLayout.CENTER);
 
         // 초기 데이터 로드 및 추천
         updateMonth(0); 
@@ -63,55 +84,120 @@ public class SavingsFrame extends JFrame {
         setVisible(true);
     }
 
+    // 진단 통계: ui.updateMonth 는 화면 반영 시간, ui.updateMonth.total 은 요청부터 반영까지 걸린 시간
     private void updateMonth(int monthDelta) {
+        long requested = System.nanoTime();
         currentMonth = currentMonth.plusMonths(monthDelta);
-        
-        // yyyy-MM 형식으로 포맷
-        String yearMonthStr = currentMonth.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-        
-        // 순수익 계산
-        int netIncome = dataService.getMonthlyNetIncome(currentUserId, yearMonthStr);
-        
-        netIncomeLabel.setText(
-            currentMonth.format(DateTimeFormatter.ofPattern("yyyy년 MM월")) + 
-            " 순수익: " + String.format("%,d원", netIncome)
-        );
-        
-        // 적금 추천 로직 실행
-        recommendSavings(netIncome);
+
+        // 이미 불러온 기간 안이면 DB를 다시 조회하지 않는다.
+        if (series != null && series.contains(currentMonth.minusMonths(TREND_MONTHS - 1), currentMonth)) {
+            showMonth();
+            Diagnostics.getInstance().record("ui.updateMonth", requested);
+            Diagnostics.getInstance().record("ui.updateMonth.total", requested);
+            return;
+        }
+
+        YearMonth requestedMonth = currentMonth;
+        netIncomeLabel.setText(formatMonth(currentMonth) + " 순수익: 불러오는 중...");
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        asyncData.getMonthlyNetIncomeSeries(currentUserId, requestedMonth.minusMonths(LOAD_MONTHS_BEFORE), LOAD_MONTHS)
+            .whenCompleteAsync((loaded, error) -> {
+                // 응답을 기다리는 사이 다른 달로 이동했다면 그 달의 요청이 처리한다.
+                if (!requestedMonth.equals(currentMonth)) return;
+                long start = System.nanoTime();
+                setCursor(Cursor.getDefaultCursor());
+                if (error != null) {
+                    error.printStackTrace();
+                    netIncomeLabel.setText(formatMonth(currentMonth) + " 순수익: 조회 실패");
+                    return;
+                }
+                series = loaded;
+                showMonth();
+                Diagnostics.getInstance().record("ui.updateMonth", start);
+                Diagnostics.getInstance().record("ui.updateMonth.total", requested);
+            }, AsyncDataService.EDT);
     }
 
-    private void recommendSavings(int netIncome) {
-        String recommendationText;
-        
-        if (netIncome < 0) {
-            recommendationText = "해당 월은 지출이 수입보다 많았습니다.\n" +
-                                 "적금보다는 지출 절약을 통한 재정 안정화가 우선입니다.";
-        } else if (netIncome >= 3000000) {
-            // 순수익 300만원 이상
-            recommendationText = "[프리미엄 적금 B 추천]\n\n" +
-                                 "월 200만원 이상** 납입이 가능하며, 높은 금액을 위한 특별 우대금리가 적용되는 고액 정기 적금 B를 추천합니다.\n" +
-                                 "특징: 최대 5년, 최고 금리 연 5.5% (조건 충족 시).\n" +
-                                 "팁: 월 300만원을 1년 적금 시, 약 3,750만원의 목돈을 만들 수 있습니다.";
-        } else if (netIncome >= 1000000) {
-            // 순수익 100만원 이상 300만원 미만
-            recommendationText = "[표준형 적금 A 추천]\n\n" +
-                                 "월 100만원~300만원** 납입이 적절하며, 조건 없이 기본 금리가 높은 표준 정기 적금 A를 추천합니다.\n" +
-                                 "특징: 최대 3년, 기본 금리 연 4.2%.\n" +
-                                 "팁: 월 150만원을 2년 적금 시, 약 3,780만원의 목돈을 만들 수 있습니다.";
-        } else if (netIncome > 0) {
-            // 순수익 1만원 이상 100만원 미만
-            recommendationText = "[자유 적립식 적금 추천]\n\n" +
-                                 "월 50만원 이하 자유롭게 납입 가능한 자유 적립식 적금을 추천합니다.\n" +
-                                 "특징: 유동적인 수입에 맞춰 납입 가능, 기본 금리 연 3.5%.\n" +
-                                 "팁: 매월 여윳돈이 생길 때마다 납입하여 저축 습관을 기르세요.";
-        } else {
-             // 순수익 0원
-             recommendationText = "해당 월은 순수익이 0원입니다.\n" +
-                                  "지출을 점검하고, 최소한의 금액(예: 월 10만원)부터 시작하는 소액 적금 상품을 고려해 보세요.";
+    private void showMonth() {
+        int end = series.indexOf(currentMonth);
+        int start = end - TREND_MONTHS + 1;
+        SavingsAdvice advice = SavingsAdvisor.advise(series, currentMonth);
+
+        netIncomeLabel.setText(formatMonth(currentMonth) + " 순수익: " + String.format("%,d원", advice.getNetIncome()));
+        trendLabel.setText(String.format("평균 %,d원 / 추세 월 %+,d원",
+                                         advice.getAverageNetIncome(), Math.round(advice.getNetIncomeSlope())));
+        trendChart.setData(series, start, end);
+
+        // 적금 추천 결과. 상품별 모의실험은 백그라운드에서 계산해 아래에 덧붙인다.
+        recommendationArea.setText(advice.getText() + "\n\n[모의실험] 계산 중...");
+        recommendationArea.setCaretPosition(0);
+        showProjection(currentMonth, advice);
+    }
+
+    // 진단 통계: ui.savingsProjection.total 은 요청부터 결과 표시까지 걸린 시간 (같은 달을 다시 보면 기억해 둔 결과)
+    private void showProjection(YearMonth month, SavingsAdvice advice) {
+        long requested = System.nanoTime();
+        asyncData.getSavingsProjection(currentUserId, month).whenCompleteAsync((projection, error) -> {
+            // 그 사이 다른 달로 이동했다면 그 달의 요청이 표시한다.
+            if (!month.equals(currentMonth)) return;
+            if (error != null) {
+                error.printStackTrace();
+                recommendationArea.setText(advice.getText() + "\n\n[모의실험] 계산 실패");
+                return;
+            }
+            recommendationArea.setText(advice.getText() + "\n\n" + projection.describe());
+            recommendationArea.setCaretPosition(0);
+            Diagnostics.getInstance().record("ui.savingsProjection.total", requested);
+        }, AsyncDataService.EDT);
+    }
+
+    private static String formatMonth(YearMonth month) {
+        return month.format(DateTimeFormatter.ofPattern("yyyy년 MM월"));
+    }
+
+    // 최근 기간의 월별 순수익 막대 그래프 (양수 파랑, 음수 빨강, 선택한 달은 진하게)
+    private static class TrendChart extends JComponent {
+        private NetIncomeSeries series;
+        private int start;
+        private int end;
+
+        TrendChart() {
+            setPreferredSize(new Dimension(380, 120));
+        }
+
+        void setData(NetIncomeSeries series, int start, int end) {
+            this.series = series;
+            this.start = start;
+            this.end = end;
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (series == null) return;
+
+            long maxAbs = 1;
+            for (int i = start; i <= end; i++) maxAbs = Math.max(maxAbs, Math.abs(series.getNetIncome(i)));
+
+            int n = end - start + 1;
+            int width = getWidth();
+            int height = getHeight();
+            int baseline = height / 2;
+            int slot = width / n;
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawLine(0, baseline, width, baseline);
+
+            for (int i = 0; i < n; i++) {
+                long value = series.getNetIncome(start + i);
+                int barHeight = (int) (Math.abs(value) * (baseline - 4) / maxAbs);
+                Color color = value >= 0 ? Color.BLUE : Color.RED;
+                g.setColor(start + i == end ? color.darker() : color.brighter());
+                int x = i * slot + 2;
+                int y = value >= 0 ? baseline - barHeight : baseline;
+                g.fillRect(x, y, Math.max(1, slot - 4), barHeight);
+            }
         }
-        
-        recommendationArea.setText(recommendationText);
-        recommendationArea.setCaretPosition(0); 
     }
 }
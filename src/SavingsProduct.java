@@ -0,0 +1,91 @@
+import java.util.List;
+
+// 적금 상품 정보. SavingsSimulator 가 이 조건으로 납입/이자를 모의실험하고, SavingsAdvisor 가 설명 문구에 쓴다.
+public class SavingsProduct {
+
+    public enum Compounding {
+        SIMPLE("단리"),   // 납입금마다 만기까지 남은 개월 수만큼 이자
+        MONTHLY("월복리"); // 매달 이자에 다시 이자
+
+        private final String label;
+
+        Compounding(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    // 이자소득세 (지방세 포함)
+    static final double INTEREST_TAX_RATE = 0.154;
+    // 중도해지 시 납입 기간에 대해 주는 금리 (단리)
+    static final double EARLY_TERMINATION_RATE = 0.01;
+
+    // 추천 상품 목록. 금리/조건은 화면 안내 문구와 모의실험에 함께 쓰인다.
+    public static final List<SavingsProduct> CATALOGUE = List.of(
+        new SavingsProduct("소액 정기 적금", 0.030, 12, 10_000, 300_000, Compounding.SIMPLE, false),
+        new SavingsProduct("자유 적립식 적금", 0.035, 12, 10_000, 500_000, Compounding.SIMPLE, true),
+        new SavingsProduct("표준형 적금 A", 0.042, 24, 1_000_000, 3_000_000, Compounding.SIMPLE, false),
+        new SavingsProduct("프리미엄 적금 B", 0.055, 12, 2_000_000, 5_000_000, Compounding.MONTHLY, false)
+    );
+
+    private final String name;
+    private final double annualRate;
+    private final int termMonths;
+    private final long minDeposit;
+    private final long maxDeposit;
+    private final Compounding compounding;
+    private final boolean flexible; // 자유 적립식: 매달 납입액을 바꾸거나 건너뛸 수 있다.
+    private final double[] interestFactors; // [i] = i 번째 달에 넣은 1원이 만기까지 받는 세전 이자
+
+    public SavingsProduct(String name, double annualRate, int termMonths, long minDeposit, long maxDeposit,
+                          Compounding compounding, boolean flexible) {
+        if (termMonths <= 0) throw new IllegalArgumentException("가입 기간은 1개월 이상이어야 합니다.");
+        if (minDeposit <= 0 || maxDeposit < minDeposit) throw new IllegalArgumentException("납입액 범위가 잘못되었습니다.");
+        this.name = name;
+        this.annualRate = annualRate;
+        this.termMonths = termMonths;
+        this.minDeposit = minDeposit;
+        this.maxDeposit = maxDeposit;
+        this.compounding = compounding;
+        this.flexible = flexible;
+        this.interestFactors = new double[termMonths];
+        for (int i = 0; i < termMonths; i++) {
+            int months = termMonths - i;
+            interestFactors[i] = compounding == Compounding.SIMPLE
+                ? annualRate * months / 12
+                : Math.pow(1 + annualRate / 12, months) - 1;
+        }
+    }
+
+    // 없으면 null
+    public static SavingsProduct find(String name) {
+        for (SavingsProduct product : CATALOGUE) {
+            if (product.name.equals(name)) return product;
+        }
+        return null;
+    }
+
+    public String getName() { return name; }
+    public double getAnnualRate() { return annualRate; }
+    public int getTermMonths() { return termMonths; }
+    public long getMinDeposit() { return minDeposit; }
+    public long getMaxDeposit() { return maxDeposit; }
+    public Compounding getCompounding() { return compounding; }
+    public boolean isFlexible() { return flexible; }
+
+    // month 번째(0부터) 달에 넣은 금액이 만기까지 받는 세전 이자
+    double interestAtMaturity(int month, long deposit) {
+        return deposit * interestFactors[month];
+    }
+
+    // 예: "연 4.2% 단리, 24개월, 월 100만~300만원 정액 납입"
+    public String describe() {
+        return String.format("연 %.1f%% %s, %d개월, 월 %s~%s원 %s", annualRate * 100, compounding.getLabel(), termMonths,
+                             formatManwon(minDeposit), formatManwon(maxDeposit), flexible ? "자유 납입" : "정액 납입");
+    }
+
+    static String formatManwon(long amount) {
+        return amount % 10_000 == 0 ? String.format("%,d만", amount / 10_000) : String.format("%,d", amount);
+    }
+}
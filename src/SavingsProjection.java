@@ -0,0 +1,107 @@
+import java.time.YearMonth;
+import java.util.List;
+
+// SavingsSimulator 의 모의실험 결과. 상품별 결과를 추천 순서(월평균 예상 이자 내림차순)로 담는다.
+public class SavingsProjection {
+
+    // 한 상품의 모의실험 결과. 금액은 원 단위, 이자는 세후
+    public static class ProductOutcome {
+        private final SavingsProduct product;
+        private final long plannedDeposit;  // 정액 상품의 월 납입액 (자유 적립식은 0: 그 달 여윳돈만큼 납입)
+        private final String ineligibleReason; // 가입할 수 없으면 사유, 아니면 null
+        private final double completionRate; // 만기까지 납입한 시나리오 비율
+        private final long meanPrincipal;
+        private final long meanInterest;
+        private final long p10Final;
+        private final long p50Final;
+        private final long p90Final;
+
+        ProductOutcome(SavingsProduct product, long plannedDeposit, double completionRate, long meanPrincipal,
+                       long meanInterest, long p10Final, long p50Final, long p90Final) {
+            this.product = product;
+            this.plannedDeposit = plannedDeposit;
+            this.ineligibleReason = null;
+            this.completionRate = completionRate;
+            this.meanPrincipal = meanPrincipal;
+            this.meanInterest = meanInterest;
+            this.p10Final = p10Final;
+            this.p50Final = p50Final;
+            this.p90Final = p90Final;
+        }
+
+        ProductOutcome(SavingsProduct product, String ineligibleReason) {
+            this.product = product;
+            this.plannedDeposit = 0;
+            this.ineligibleReason = ineligibleReason;
+            this.completionRate = 0;
+            this.meanPrincipal = 0;
+            this.meanInterest = 0;
+            this.p10Final = 0;
+            this.p50Final = 0;
+            this.p90Final = 0;
+        }
+
+        public SavingsProduct getProduct() { return product; }
+        public long getPlannedDeposit() { return plannedDeposit; }
+        public boolean isEligible() { return ineligibleReason == null; }
+        public String getIneligibleReason() { return ineligibleReason; }
+        public double getCompletionRate() { return completionRate; }
+        public long getMeanPrincipal() { return meanPrincipal; }
+        public long getMeanInterest() { return meanInterest; }
+        public long getP10Final() { return p10Final; }
+        public long getP50Final() { return p50Final; }
+        public long getP90Final() { return p90Final; }
+
+        // 추천 순서 기준: 가입 기간이 다른 상품끼리 비교하도록 한 달 평균 세후 이자
+        public double getMonthlyInterest() {
+            return (double) meanInterest / product.getTermMonths();
+        }
+    }
+
+    private final YearMonth month;
+    private final int historyMonths; // 분포로 쓴 기록이 있는 달의 수
+    private final int scenarios;
+    private final List<ProductOutcome> outcomes;
+
+    SavingsProjection(YearMonth month, int historyMonths, int scenarios, List<ProductOutcome> outcomes) {
+        this.month = month;
+        this.historyMonths = historyMonths;
+        this.scenarios = scenarios;
+        this.outcomes = outcomes;
+    }
+
+    public YearMonth getMonth() { return month; }
+    public int getHistoryMonths() { return historyMonths; }
+    public int getScenarios() { return scenarios; }
+    // 추천 순서. 가입할 수 없는 상품은 뒤에 온다.
+    public List<ProductOutcome> getOutcomes() { return outcomes; }
+
+    // 화면 표시용 요약
+    public String describe() {
+        if (outcomes.isEmpty()) {
+            return String.format("[모의실험] 순수익 기록이 있는 달이 %d개월 이상 필요합니다. (최근 %d개월 중 %d개월)\n",
+                                 SavingsSimulator.MIN_HISTORY_MONTHS, SavingsSimulator.HISTORY_MONTHS, historyMonths);
+        }
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("[모의실험] 최근 %d개월 순수익 분포로 %,d번 시뮬레이션한 결과 (세후)\n",
+                                  historyMonths, scenarios));
+        int rank = 1;
+        for (ProductOutcome outcome : outcomes) {
+            SavingsProduct product = outcome.getProduct();
+            text.append('\n');
+            if (!outcome.isEligible()) {
+                text.append("- ").append(product.getName()).append(": ").append(outcome.getIneligibleReason()).append('\n');
+                continue;
+            }
+            text.append(rank++).append(". ").append(product.getName()).append(" (").append(product.describe()).append(")\n");
+            text.append(product.isFlexible()
+                ? "   납입: 매달 여윳돈만큼\n"
+                : String.format("   납입: 월 %,d원\n", outcome.getPlannedDeposit()));
+            text.append(String.format("   만기 수령액: 보통 %,d원 (하위 10%% %,d원 ~ 상위 10%% %,d원)\n",
+                                      outcome.getP50Final(), outcome.getP10Final(), outcome.getP90Final()));
+            text.append(String.format("   예상 이자: %,d원, 만기까지 납입할 확률 %.0f%%\n",
+                                      outcome.getMeanInterest(), outcome.getCompletionRate() * 100));
+        }
+        return text.toString();
+    }
+}
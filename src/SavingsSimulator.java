@@ -0,0 +1,248 @@
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// 사용자의 과거 월별 순수익 분포로 적금 상품(SavingsProduct.CATALOGUE)별 결과를 몬테카를로 모의실험하고 순위를 매긴다.
+// 한 시나리오는 가입 기간 동안 매달 과거 순수익 중 하나를 무작위로(복원 추출) 뽑아 여윳돈에 더한다.
+//   - 정액 상품: 여윳돈이 월 납입액보다 적은 달이 오면 그 달에 중도해지한다. (중도해지 금리, 단리)
+//   - 자유 적립식: 여윳돈 중 납입 한도까지 만원 단위로 넣는다.
+// 시나리오는 ForkJoinPool 에서 나눠 실행한다. 결과는 (사용자, 기준 월, 기간의 순수익)별로 기억해 두므로
+// 월을 오가거나 같은 달을 다시 조회하면 계산하지 않는다. 시나리오마다 시드가 정해져 있어 같은 입력이면 결과도 같다.
+public class SavingsSimulator {
+
+    // 분포로 쓰는 기간 (기준 월 포함)
+    public static final int HISTORY_MONTHS = 24;
+    // 기록이 있는 달이 이보다 적으면 모의실험하지 않는다.
+    static final int MIN_HISTORY_MONTHS = 3;
+    static final int DEFAULT_SCENARIOS = 10_000;
+    // 정액 상품의 월 납입액: 순수익 하위 25% 수준 (네 달 중 세 달은 낼 수 있는 금액)을 상품의 납입 범위로 맞춘다.
+    // 최소 납입액이 그보다 크면 최소 납입액으로 실험하므로 중도해지 확률이 결과에 드러난다.
+    private static final double DEPOSIT_PERCENTILE = 0.25;
+    private static final long DEPOSIT_UNIT = 10_000;
+    private static final int LEAF_SCENARIOS = 512;
+    private static final int CACHE_SIZE = 256;
+
+    private static final class Key {
+        final String userId;
+        final YearMonth month;
+        final long[] history;
+
+        Key(String userId, YearMonth month, long[] history) {
+            this.userId = userId;
+            this.month = month;
+            this.history = history;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return userId.equals(other.userId) && month.equals(other.month) && Arrays.equals(history, other.history);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, month) * 31 + Arrays.hashCode(history);
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final int scenarios;
+    // 항목이 바뀌면 기간의 순수익이 달라져 키도 달라지므로 따로 비우지 않는다. (오래 안 쓰인 것부터 내보낸다)
+    private final Map<Key, SavingsProjection> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, SavingsProjection> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public SavingsSimulator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SCENARIOS);
+    }
+
+    public SavingsSimulator(ForkJoinPool pool, int scenarios) {
+        this.pool = pool;
+        this.scenarios = scenarios;
+    }
+
+    // series 는 month 를 포함해야 한다. month 까지 HISTORY_MONTHS 개월 중 series 에 있고 기록이 있는 달을 분포로 쓴다.
+    public SavingsProjection project(String userId, NetIncomeSeries series, YearMonth month) {
+        int end = series.indexOf(month);
+        if (end < 0) throw new IllegalArgumentException("기준 월의 순수익이 없습니다: " + month);
+        long[] history = new long[HISTORY_MONTHS];
+        int count = 0;
+        for (int i = Math.max(0, end - HISTORY_MONTHS + 1); i <= end; i++) {
+            if (!series.isEmpty(i)) history[count++] = series.getNetIncome(i);
+        }
+        history = Arrays.copyOf(history, count);
+
+        Key key = new Key(userId, month, history);
+        synchronized (cache) {
+            SavingsProjection cached = cache.get(key);
+            if (cached != null) return cached;
+        }
+        SavingsProjection projection = simulate(month, history);
+        synchronized (cache) {
+            cache.put(key, projection);
+        }
+        return projection;
+    }
+
+    private SavingsProjection simulate(YearMonth month, long[] history) {
+        if (history.length < MIN_HISTORY_MONTHS) {
+            return new SavingsProjection(month, history.length, 0, List.of());
+        }
+        long[] sorted = history.clone();
+        Arrays.sort(sorted);
+        long seed = Arrays.hashCode(history) * 0x9E3779B97F4A7C15L + month.hashCode();
+
+        List<SavingsProjection.ProductOutcome> ineligible = new ArrayList<>();
+        List<ProductRun> runs = new ArrayList<>();
+        for (SavingsProduct product : SavingsProduct.CATALOGUE) {
+            if (product.isFlexible()) {
+                if (sorted[sorted.length - 1] < product.getMinDeposit()) {
+                    ineligible.add(new SavingsProjection.ProductOutcome(product, String.format(
+                        "순수익이 월 최소 납입액 %s원을 넘은 달이 없습니다.", SavingsProduct.formatManwon(product.getMinDeposit()))));
+                } else {
+                    runs.add(new ProductRun(product, 0, history, seed, scenarios));
+                }
+                continue;
+            }
+            long median = percentile(sorted, 0.5);
+            if (median < product.getMinDeposit()) {
+                ineligible.add(new SavingsProjection.ProductOutcome(product, String.format(
+                    "절반 이상의 달에 순수익이 월 최소 납입액 %s원보다 적습니다. (중간값 %,d원)",
+                    SavingsProduct.formatManwon(product.getMinDeposit()), median)));
+                continue;
+            }
+            long typical = percentile(sorted, DEPOSIT_PERCENTILE) / DEPOSIT_UNIT * DEPOSIT_UNIT;
+            long deposit = Math.max(product.getMinDeposit(), Math.min(typical, product.getMaxDeposit()));
+            runs.add(new ProductRun(product, deposit, history, seed, scenarios));
+        }
+
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                List<ScenarioTask> tasks = new ArrayList<>();
+                for (ProductRun run : runs) tasks.add(new ScenarioTask(run, 0, scenarios));
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+
+        List<SavingsProjection.ProductOutcome> outcomes = new ArrayList<>();
+        for (ProductRun run : runs) outcomes.add(run.summarize());
+        outcomes.sort(Comparator.comparingDouble(SavingsProjection.ProductOutcome::getMonthlyInterest).reversed()
+            .thenComparing(Comparator.comparingDouble(SavingsProjection.ProductOutcome::getCompletionRate).reversed()));
+        outcomes.addAll(ineligible);
+        return new SavingsProjection(month, history.length, scenarios, outcomes);
+    }
+
+    // sorted 의 p 분위수 (아래쪽 값)
+    static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.floor(p * (sorted.length - 1))];
+    }
+
+    // 한 상품의 시나리오 결과. 작업마다 겹치지 않는 구간에만 쓴다.
+    private static final class ProductRun {
+        final SavingsProduct product;
+        final long deposit; // 정액 상품의 월 납입액 (자유 적립식은 0)
+        final long[] history;
+        final long seed;
+        final long[] principals;
+        final long[] finals;
+        final double[] interests;
+        final boolean[] completed;
+
+        ProductRun(SavingsProduct product, long deposit, long[] history, long seed, int scenarios) {
+            this.product = product;
+            this.deposit = deposit;
+            this.history = history;
+            this.seed = seed;
+            this.principals = new long[scenarios];
+            this.finals = new long[scenarios];
+            this.interests = new double[scenarios];
+            this.completed = new boolean[scenarios];
+        }
+
+        void run(int scenario) {
+            // 시나리오 번호로 시드를 정하므로 작업을 어떻게 나눠도 결과가 같다.
+            SplittableRandom random = new SplittableRandom(seed + scenario);
+            int term = product.getTermMonths();
+            long cash = 0;
+            long principal = 0;
+            double interest = 0;
+            boolean paidAll = true;
+            for (int month = 0; month < term; month++) {
+                cash += history[random.nextInt(history.length)];
+                long paid;
+                if (product.isFlexible()) {
+                    paid = Math.min(cash / DEPOSIT_UNIT * DEPOSIT_UNIT, product.getMaxDeposit());
+                    if (paid < product.getMinDeposit()) continue;
+                } else if (cash >= deposit) {
+                    paid = deposit;
+                } else {
+                    // 중도해지: 지금까지 낸 month 번의 납입금에 각각 낸 뒤 지난 개월 수만큼 중도해지 금리
+                    paidAll = false;
+                    interest = deposit * SavingsProduct.EARLY_TERMINATION_RATE / 12 * month * (month + 1) / 2.0;
+                    break;
+                }
+                cash -= paid;
+                principal += paid;
+                interest += product.interestAtMaturity(month, paid);
+            }
+            double afterTax = interest * (1 - SavingsProduct.INTEREST_TAX_RATE);
+            principals[scenario] = principal;
+            interests[scenario] = afterTax;
+            finals[scenario] = principal + Math.round(afterTax);
+            completed[scenario] = paidAll;
+        }
+
+        SavingsProjection.ProductOutcome summarize() {
+            int n = finals.length;
+            long principalSum = 0;
+            double interestSum = 0;
+            int completions = 0;
+            for (int i = 0; i < n; i++) {
+                principalSum += principals[i];
+                interestSum += interests[i];
+                if (completed[i]) completions++;
+            }
+            long[] sorted = finals.clone();
+            Arrays.sort(sorted);
+            return new SavingsProjection.ProductOutcome(product, deposit, (double) completions / n, principalSum / n,
+                Math.round(interestSum / n), percentile(sorted, 0.1), percentile(sorted, 0.5), percentile(sorted, 0.9));
+        }
+    }
+
+    // [from, to) 시나리오를 LEAF_SCENARIOS 개 이하가 될 때까지 반으로 나눠 실행한다.
+    private static final class ScenarioTask extends RecursiveAction {
+        private final ProductRun run;
+        private final int from;
+        private final int to;
+
+        ScenarioTask(ProductRun run, int from, int to) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SCENARIOS) {
+                for (int i = from; i < to; i++) run.run(i);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScenarioTask(run, from, mid), new ScenarioTask(run, mid, to));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// PRAGMA user_version 을 스키마 버전으로 사용해 기존 DB 파일을 순서대로 업그레이드한다.
+// 마이그레이션은 목록 끝에 추가만 하고, 이미 배포된 항목은 수정하지 않는다.
+public class SchemaMigrator {
+
+    @FunctionalInterface
+    interface Migration {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        SchemaMigrator::createBaseTables,         // v1
+        SchemaMigrator::createEntryIndexes,       // v2
+        SchemaMigrator::compactEntryRows,         // v3
+        SchemaMigrator::createEntryOrderIndex,    // v4
+        SchemaMigrator::createMemoIndex,          // v5
+        SchemaMigrator::createRecurringRules,     // v6
+        SchemaMigrator::createBudgets,            // v7
+        SchemaMigrator::rebuildMemoIndexTrigram,  // v8
+        SchemaMigrator::createMemoGramIndex       // v9
+    );
+
+    public static int latestVersion() {
+        return MIGRATIONS.size();
+    }
+
+    // 현재 버전 이후의 마이그레이션을 각각 하나의 트랜잭션으로 적용하고 최종 버전을 돌려준다.
+    public static int migrate(Connection conn) throws SQLException {
+        int version = currentVersion(conn);
+        boolean autoCommit = conn.getAutoCommit();
+        try (Statement stmt = conn.createStatement()) {
+            while (version < MIGRATIONS.size()) {
+                conn.setAutoCommit(false);
+                try {
+                    MIGRATIONS.get(version).apply(stmt);
+                    version++;
+                    stmt.execute("PRAGMA user_version = " + version);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new SQLException("스키마 v" + (version + 1) + " 마이그레이션 실패: " + e.getMessage(), e);
+                }
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return version;
+    }
+
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // v1: 최초 스키마. 버전 관리 이전에 만들어진 DB에서도 그대로 통과한다.
+    private static void createBaseTables(Statement stmt) throws SQLException {
+        // 사용자 테이블 생성
+        stmt.execute("CREATE TABLE IF NOT EXISTS users (id TEXT PRIMARY KEY, password TEXT NOT NULL)");
+
+        // 가계부 항목 테이블 생성
+        stmt.execute("CREATE TABLE IF NOT EXISTS entries (" +
+                     "entry_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                     "user_id TEXT NOT NULL, " +
+                     "date TEXT NOT NULL, " +
+                     "type TEXT NOT NULL, " +
+                     "category TEXT, " +
+                     "amount INTEGER NOT NULL, " +
+                     "memo TEXT, " +
+                     "FOREIGN KEY(user_id) REFERENCES users(id))");
+    }
+
+    // v2: 모든 조회가 user_id + date/type 으로 걸러지므로 테이블을 읽지 않도록 커버링 인덱스를 둔다.
+    private static void createEntryIndexes(Statement stmt) throws SQLException {
+        // 일별/월별 합계, 달력 조회용
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_entries_user_date_type_amount " +
+                     "ON entries(user_id, date, type, amount)");
+        // 분류별 월 합계, 카테고리 비율용
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_entries_user_type_date_category " +
+                     "ON entries(user_id, type, date, category, amount)");
+        stmt.execute("ANALYZE");
+    }
+
+    // v3: 날짜는 epoch day 정수, 분류는 EntryType 코드, 카테고리는 categories 테이블의 id 로 저장한다.
+    // 기존 행은 새 테이블로 옮기면서 변환하고, 인덱스도 새 컬럼 기준으로 다시 만든다.
+    private static void compactEntryRows(Statement stmt) throws SQLException {
+        // 수익/지출이 아닌 분류 문자열은 어느 코드로도 옮길 수 없으므로, 임의로 지출로 바꾸지 않고 중단한다.
+        rejectUnknownEntryTypes(stmt);
+
+        stmt.execute("CREATE TABLE IF NOT EXISTS categories (" +
+                     "category_id INTEGER PRIMARY KEY, " +
+                     "name TEXT NOT NULL UNIQUE)");
+        stmt.execute("INSERT OR IGNORE INTO categories (name) " +
+                     "SELECT DISTINCT category FROM entries WHERE category IS NOT NULL");
+
+        stmt.execute("CREATE TABLE entries_v3 (" +
+                     "entry_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                     "user_id TEXT NOT NULL, " +
+                     "date INTEGER NOT NULL, " +
+                     "type INTEGER NOT NULL, " +
+                     "category_id INTEGER, " +
+                     "amount INTEGER NOT NULL, " +
+                     "memo TEXT, " +
+                     "FOREIGN KEY(user_id) REFERENCES users(id), " +
+                     "FOREIGN KEY(category_id) REFERENCES categories(category_id))");
+        stmt.execute("INSERT INTO entries_v3 (entry_id, user_id, date, type, category_id, amount, memo) " +
+                     "SELECT e.entry_id, e.user_id, " +
+                     "CAST(ROUND(julianday(e.date) - 2440587.5) AS INTEGER), " +
+                     "CASE e.type WHEN '" + EntryType.INCOME.getLabel() + "' THEN " + EntryType.INCOME.getCode() +
+                     " WHEN '" + EntryType.EXPENSE.getLabel() + "' THEN " + EntryType.EXPENSE.getCode() + " END, " +
+                     "c.category_id, e.amount, e.memo " +
+                     "FROM entries e LEFT JOIN categories c ON c.name = e.category");
+        stmt.execute("DROP TABLE entries");
+        stmt.execute("ALTER TABLE entries_v3 RENAME TO entries");
+
+        stmt.execute("CREATE INDEX idx_entries_user_date_type_amount " +
+                     "ON entries(user_id, date, type, amount)");
+        stmt.execute("CREATE INDEX idx_entries_user_type_date_category " +
+                     "ON entries(user_id, type, date, category_id, amount)");
+        stmt.execute("ANALYZE");
+    }
+
+    // v3 이전 entries.type 에 수익/지출 말고 다른 값이 있으면 해당 행(앞의 일부)과 개수를 알려 주며 실패한다.
+    private static void rejectUnknownEntryTypes(Statement stmt) throws SQLException {
+        StringBuilder rows = new StringBuilder();
+        int count = 0;
+        try (ResultSet rs = stmt.executeQuery(
+                 "SELECT entry_id, type FROM entries WHERE type NOT IN ('" + EntryType.INCOME.getLabel() + "', '" +
+                 EntryType.EXPENSE.getLabel() + "') ORDER BY entry_id")) {
+            while (rs.next()) {
+                if (count++ < 5) {
+                    if (rows.length() > 0) rows.append(", ");
+                    rows.append("entry_id ").append(rs.getLong(1)).append(" '").append(rs.getString(2)).append("'");
+                }
+            }
+        }
+        if (count > 0) {
+            throw new SQLException("분류가 '" + EntryType.INCOME.getLabel() + "'/'" + EntryType.EXPENSE.getLabel() +
+                                   "' 가 아닌 항목 " + count + "건: " + rows + (count > 5 ? " 등" : ""));
+        }
+    }
+
+    // v4: (user_id, date) 인덱스. rowid(entry_id)가 뒤에 붙으므로 날짜+ID 순 정렬을 정렬 작업 없이 읽을 수 있다.
+    private static void createEntryOrderIndex(Statement stmt) throws SQLException {
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_entries_user_date ON entries(user_id, date)");
+    }
+
+    // v5: 메모 전문 검색용 FTS5 인덱스. 본문은 entries 테이블을 그대로 참조하고(external content)
+    // 트리거로 항목 추가/삭제/수정을 따라간다. 한글은 공백 단위로 토큰이 나뉘므로
+    // "점심*" 같은 접두어 검색을 빠르게 하려고 1~2글자 접두어 인덱스를 함께 둔다.
+    private static void createMemoIndex(Statement stmt) throws SQLException {
+        stmt.execute("CREATE VIRTUAL TABLE entries_fts USING fts5(" +
+                     "memo, content='entries', content_rowid='entry_id', " +
+                     "tokenize='unicode61', prefix='1 2')");
+        stmt.execute("CREATE TRIGGER entries_fts_insert AFTER INSERT ON entries BEGIN " +
+                     "INSERT INTO entries_fts (rowid, memo) VALUES (new.entry_id, new.memo); END");
+        stmt.execute("CREATE TRIGGER entries_fts_delete AFTER DELETE ON entries BEGIN " +
+                     "INSERT INTO entries_fts (entries_fts, rowid, memo) VALUES ('delete', old.entry_id, old.memo); END");
+        stmt.execute("CREATE TRIGGER entries_fts_update AFTER UPDATE OF memo ON entries BEGIN " +
+                     "INSERT INTO entries_fts (entries_fts, rowid, memo) VALUES ('delete', old.entry_id, old.memo); " +
+                     "INSERT INTO entries_fts (rowid, memo) VALUES (new.entry_id, new.memo); END");
+        // 기존 항목 채우기
+        stmt.execute("INSERT INTO entries_fts (entries_fts) VALUES ('rebuild')");
+    }
+
+    // v6: 반복 항목 규칙. 발생은 저장하지 않고 조회할 때 계산하며, 실제 항목으로 확정한 발생일만
+    // recurring_materialized 에 남겨서 계산에서 뺀다. 날짜는 entries 와 같이 epoch day 정수로 저장한다.
+    private static void createRecurringRules(Statement stmt) throws SQLException {
+        stmt.execute("CREATE TABLE recurring_rules (" +
+                     "rule_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                     "user_id TEXT NOT NULL, " +
+                     "type INTEGER NOT NULL, " +
+                     "category_id INTEGER, " +
+                     "amount INTEGER NOT NULL, " +
+                     "memo TEXT, " +
+                     "frequency INTEGER NOT NULL, " +
+                     "interval INTEGER NOT NULL, " +
+                     "start_date INTEGER NOT NULL, " +
+                     "end_date INTEGER, " +
+                     "FOREIGN KEY(user_id) REFERENCES users(id), " +
+                     "FOREIGN KEY(category_id) REFERENCES categories(category_id))");
+        stmt.execute("CREATE INDEX idx_recurring_rules_user ON recurring_rules(user_id)");
+        stmt.execute("CREATE TABLE recurring_materialized (" +
+                     "rule_id INTEGER NOT NULL, " +
+                     "date INTEGER NOT NULL, " +
+                     "PRIMARY KEY(rule_id, date), " +
+                     "FOREIGN KEY(rule_id) REFERENCES recurring_rules(rule_id)) WITHOUT ROWID");
+    }
+
+    // v7: 카테고리별 월 예산. 사용자마다 몇 행뿐이고 집계 캐시를 만들 때 한 번에 읽으므로 (user_id, category_id) 를 키로 둔다.
+    private static void createBudgets(Statement stmt) throws SQLException {
+        stmt.execute("CREATE TABLE budgets (" +
+                     "user_id TEXT NOT NULL, " +
+                     "category_id INTEGER NOT NULL, " +
+                     "amount INTEGER NOT NULL, " +
+                     "PRIMARY KEY(user_id, category_id), " +
+                     "FOREIGN KEY(user_id) REFERENCES users(id), " +
+                     "FOREIGN KEY(category_id) REFERENCES categories(category_id)) WITHOUT ROWID");
+    }
+
+    // v8: 메모 인덱스를 trigram 토크나이저로 다시 만든다. unicode61 은 공백 단위 토큰의 접두어만 찾으므로
+    // "아이스커피" 의 "커피" 처럼 단어 중간에 있는 글자를 찾지 못했다. trigram 은 3글자 이상 검색어를
+    // 메모의 어느 위치든 부분 문자열로 찾는다. (1~2글자 검색어는 v9 의 entries_grams 로 찾는다)
+    private static void rebuildMemoIndexTrigram(Statement stmt) throws SQLException {
+        stmt.execute("DROP TRIGGER entries_fts_insert");
+        stmt.execute("DROP TRIGGER entries_fts_delete");
+        stmt.execute("DROP TRIGGER entries_fts_update");
+        stmt.execute("DROP TABLE entries_fts");
+        stmt.execute("CREATE VIRTUAL TABLE entries_fts USING fts5(" +
+                     "memo, content='entries', content_rowid='entry_id', tokenize='trigram')");
+        stmt.execute("CREATE TRIGGER entries_fts_insert AFTER INSERT ON entries BEGIN " +
+                     "INSERT INTO entries_fts (rowid, memo) VALUES (new.entry_id, new.memo); END");
+        stmt.execute("CREATE TRIGGER entries_fts_delete AFTER DELETE ON entries BEGIN " +
+                     "INSERT INTO entries_fts (entries_fts, rowid, memo) VALUES ('delete', old.entry_id, old.memo); END");
+        stmt.execute("CREATE TRIGGER entries_fts_update AFTER UPDATE OF memo ON entries BEGIN " +
+                     "INSERT INTO entries_fts (entries_fts, rowid, memo) VALUES ('delete', old.entry_id, old.memo); " +
+                     "INSERT INTO entries_fts (rowid, memo) VALUES (new.entry_id, new.memo); END");
+        stmt.execute("INSERT INTO entries_fts (entries_fts) VALUES ('rebuild')");
+    }
+
+    // v9: trigram 으로 찾을 수 없는 1~2글자 검색어("점심" 등)용 인덱스. 메모 단어의 글자와 이웃한 두 글자를
+    // 토큰으로 색인한다. (MemoGrams) 토큰은 memo_grams() 로 다시 만들 수 있으므로 본문을 두지 않고(contentless),
+    // 삭제는 rowid 로 한다. 트리거가 memo_grams() 를 부르므로 entries 에 쓰는 커넥션에는 그 함수가 등록돼 있어야 한다.
+    private static void createMemoGramIndex(Statement stmt) throws SQLException {
+        stmt.execute("CREATE VIRTUAL TABLE entries_grams USING fts5(" +
+                     "grams, content='', contentless_delete=1, tokenize='unicode61')");
+        stmt.execute("CREATE TRIGGER entries_grams_insert AFTER INSERT ON entries BEGIN " +
+                     "INSERT INTO entries_grams (rowid, grams) VALUES (new.entry_id, memo_grams(new.memo)); END");
+        stmt.execute("CREATE TRIGGER entries_grams_delete AFTER DELETE ON entries BEGIN " +
+                     "DELETE FROM entries_grams WHERE rowid = old.entry_id; END");
+        stmt.execute("CREATE TRIGGER entries_grams_update AFTER UPDATE OF memo ON entries BEGIN " +
+                     "DELETE FROM entries_grams WHERE rowid = old.entry_id; " +
+                     "INSERT INTO entries_grams (rowid, grams) VALUES (new.entry_id, memo_grams(new.memo)); END");
+        // 기존 항목 채우기
+        stmt.execute("INSERT INTO entries_grams (rowid, grams) " +
+                     "SELECT entry_id, memo_grams(memo) FROM entries WHERE memo IS NOT NULL");
+    }
+}
@@ -0,0 +1,154 @@
+import javax.swing.*;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// 기간/분류/카테고리/금액/메모 조건으로 전체 내역을 검색하는 화면.
+// 결과는 LazyEntryListModel 이 스크롤에 맞춰 한 페이지씩 불러온다.
+public class SearchFrame extends JFrame {
+
+    private static final String ALL = "전체";
+
+    private final AsyncDataService asyncData;
+    private final String currentUserId;
+    private final LazyEntryListModel resultModel;
+    private int summaryRequest; // 늦게 도착한 이전 기간의 합계를 버리기 위한 번호
+
+    private final JTextField fromField = new JTextField(8);
+    private final JTextField toField = new JTextField(8);
+    private final JComboBox<Object> typeComboBox = new JComboBox<>(new Object[] {ALL, EntryType.INCOME, EntryType.EXPENSE});
+    private final JComboBox<String> categoryComboBox = new JComboBox<>();
+    private final JTextField minAmountField = new JTextField(7);
+    private final JTextField maxAmountField = new JTextField(7);
+    private final JTextField memoField = new JTextField(10);
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JLabel summaryLabel = new JLabel(" ", SwingConstants.RIGHT);
+
+    public SearchFrame(AsyncDataService asyncData, String userId) {
+        this.asyncData = asyncData;
+        this.currentUserId = userId;
+        this.resultModel = new LazyEntryListModel(asyncData);
+
+        setTitle("내역 검색 - " + userId);
+        setSize(720, 560);
+        setLayout(new BorderLayout(5, 5));
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        // 1. 검색 조건 패널
+        categoryComboBox.addItem(ALL);
+        for (String cat : EntryDialog.INCOME_CATS) categoryComboBox.addItem(cat);
+        for (String cat : EntryDialog.EXPENSE_CATS) categoryComboBox.addItem(cat);
+        categoryComboBox.setEditable(true); // 가져오기로 들어온 카테고리도 검색할 수 있게
+
+        JPanel filterPanel = new JPanel(new GridLayout(2, 1));
+        JPanel firstRow = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        firstRow.add(new JLabel("기간(yyyy-MM-dd):"));
+        firstRow.add(fromField);
+        firstRow.add(new JLabel("~"));
+        firstRow.add(toField);
+        firstRow.add(new JLabel("분류:"));
+        firstRow.add(typeComboBox);
+        firstRow.add(new JLabel("카테고리:"));
+        firstRow.add(categoryComboBox);
+
+        JPanel secondRow = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        secondRow.add(new JLabel("금액:"));
+        secondRow.add(minAmountField);
+        secondRow.add(new JLabel("~"));
+        secondRow.add(maxAmountField);
+        secondRow.add(new JLabel("메모:"));
+        memoField.setToolTipText("메모에 들어 있는 글자로 찾습니다. 공백으로 나눈 단어가 모두 들어 있어야 합니다.");
+        secondRow.add(memoField);
+        JButton searchButton = new JButton("검색");
+        searchButton.addActionListener(e -> search());
+        secondRow.add(searchButton);
+
+        filterPanel.add(firstRow);
+        filterPanel.add(secondRow);
+        add(filterPanel, BorderLayout.NORTH);
+
+        // 2. 결과 목록 (셀 높이를 고정해 JList 가 모든 항목을 측정하지 않게 한다)
+        JList<AccountEntry> resultList = new JList<>(resultModel);
+        resultList.setFixedCellHeight(22);
+        resultList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                AccountEntry entry = (AccountEntry) value;
+                String memo = entry.getMemo() == null ? "" : entry.getMemo();
+                String text = String.format("%s  [%s] %s: %,d원  %s",
+                    entry.getDate(), entry.getType(), entry.getCategory(), entry.getAmount(), memo);
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+        add(new JScrollPane(resultList), BorderLayout.CENTER);
+
+        // 3. 상태 표시 (왼쪽: 불러온 건수, 오른쪽: 기간 합계)
+        JPanel statusPanel = new JPanel(new BorderLayout());
+        statusPanel.setBorder(BorderFactory.createEmptyBorder(0, 10, 5, 10));
+        statusPanel.add(statusLabel, BorderLayout.WEST);
+        statusPanel.add(summaryLabel, BorderLayout.EAST);
+        add(statusPanel, BorderLayout.SOUTH);
+        resultModel.setStatusListener(statusLabel::setText);
+
+        getRootPane().setDefaultButton(searchButton);
+        search();
+
+        setVisible(true);
+    }
+
+    private void search() {
+        EntryQuery query = new EntryQuery(currentUserId);
+        try {
+            query.setDateRange(parseDate(fromField), parseDate(toField));
+            if (query.getFrom() != null && query.getTo() != null && query.getFrom().isAfter(query.getTo())) {
+                throw new DateTimeParseException("시작일이 종료일보다 늦습니다.", fromField.getText(), 0);
+            }
+            query.setAmountRange(parseAmount(minAmountField), parseAmount(maxAmountField));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "날짜(yyyy-MM-dd) 또는 금액 형식이 올바르지 않습니다.", "입력 오류", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        Object type = typeComboBox.getSelectedItem();
+        if (type instanceof EntryType) query.setType((EntryType) type);
+
+        Object category = categoryComboBox.getSelectedItem();
+        if (category != null && !ALL.equals(category) && !category.toString().isBlank()) {
+            query.setCategory(category.toString().trim());
+        }
+
+        String memo = memoField.getText().trim();
+        if (!memo.isEmpty()) query.setMemoContains(memo);
+
+        resultModel.setQuery(query);
+        showRangeSummary(query.getFrom(), query.getTo());
+    }
+
+    // 다른 조건과 관계없이 기간 전체의 수익/지출 합계를 보여준다.
+    private void showRangeSummary(LocalDate from, LocalDate to) {
+        int request = ++summaryRequest;
+        summaryLabel.setText("기간 합계 계산 중...");
+        asyncData.getRangeSummary(currentUserId, from, to).whenCompleteAsync((summary, error) -> {
+            if (request != summaryRequest) return;
+            if (error != null) {
+                error.printStackTrace();
+                summaryLabel.setText(" ");
+                return;
+            }
+            summaryLabel.setText(String.format("기간 합계  수익 %,d원 / 지출 %,d원 / 순수익 %,d원",
+                summary.getIncome(), summary.getExpense(), summary.getNetIncome()));
+        }, AsyncDataService.EDT);
+    }
+
+    private static LocalDate parseDate(JTextField field) {
+        String text = field.getText().trim();
+        return text.isEmpty() ? null : LocalDate.parse(text);
+    }
+
+    private static Long parseAmount(JTextField field) {
+        String text = field.getText().trim().replace(",", "");
+        return text.isEmpty() ? null : Long.parseLong(text);
+    }
+}
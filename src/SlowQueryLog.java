@@ -0,0 +1,144 @@
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+// 실행 시간이 기준을 넘은 SQLite 문장을 SQL, 바인딩 값, 걸린 시간, EXPLAIN QUERY PLAN 과 함께
+// 회전 로그 파일(slow-query.0.log ~ slow-query.4.log, 각 1MB)에 남긴다.
+// 비밀번호나 메모처럼 남기면 안 되는 값은 secret() 으로 감싸서 바인딩하면 로그에 *** 로 찍힌다.
+//   Object[] params = {userId, SlowQueryLog.secret(password)};
+//   long start = System.nanoTime();
+//   SlowQueryLog.bind(pstmt, params);
+//   ... 실행하고 결과를 끝까지 읽는다 ...
+//   slowQueries.check(conn, sql, params, start);
+public class SlowQueryLog {
+
+    public static final long DEFAULT_THRESHOLD_MILLIS = 100;
+
+    static final String LOG_PATTERN = "slow-query.%g.log";
+    private static final int LOG_LIMIT_BYTES = 1 << 20;
+    private static final int LOG_COUNT = 5;
+    private static final String REDACTED = "***";
+
+    private static Logger logger;
+
+    private volatile long thresholdNanos;
+
+    // 로그에 값 대신 *** 로 남길 바인딩 값
+    private static final class Secret {
+        final Object value;
+        Secret(Object value) { this.value = value; }
+    }
+
+    public SlowQueryLog(long thresholdMillis) {
+        setThresholdMillis(thresholdMillis);
+    }
+
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public static Object secret(Object value) {
+        return new Secret(value);
+    }
+
+    public static void bind(PreparedStatement pstmt, Object[] params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            Object value = params[i];
+            pstmt.setObject(i + 1, value instanceof Secret ? ((Secret) value).value : value);
+        }
+    }
+
+    // startNanos 부터 지금까지가 기준을 넘었으면 같은 커넥션에서 실행 계획을 뽑아 기록한다.
+    public void check(PooledConnection conn, String sql, Object[] params, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        if (elapsed < thresholdNanos) return;
+
+        StringBuilder message = new StringBuilder();
+        message.append(String.format("느린 쿼리 %.1fms (기준 %dms)%n", elapsed / 1_000_000.0, getThresholdMillis()));
+        message.append("  SQL: ").append(sql).append(System.lineSeparator());
+        message.append("  파라미터: ").append(formatParams(params)).append(System.lineSeparator());
+        message.append("  실행 계획:");
+        try {
+            for (String line : explain(conn, sql, params)) {
+                message.append(System.lineSeparator()).append("    ").append(line);
+            }
+        } catch (SQLException e) {
+            message.append(" (가져오지 못함: ").append(e.getMessage()).append(')');
+        }
+        logger().warning(message.toString());
+    }
+
+    static String formatParams(Object[] params) {
+        StringBuilder text = new StringBuilder("[");
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) text.append(", ");
+            Object value = params[i];
+            if (value instanceof Secret) text.append(REDACTED);
+            else if (value instanceof String) text.append('\'').append(value).append('\'');
+            else text.append(value);
+        }
+        return text.append(']').toString();
+    }
+
+    // EXPLAIN QUERY PLAN 결과를 트리 깊이만큼 들여쓴 줄 목록으로 돌려준다.
+    static List<String> explain(PooledConnection conn, String sql, Object[] params) throws SQLException {
+        PreparedStatement pstmt = conn.prepare("EXPLAIN QUERY PLAN " + sql);
+        bind(pstmt, params);
+        List<String> lines = new ArrayList<>();
+        Map<Integer, Integer> depths = new HashMap<>();
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                int id = rs.getInt("id");
+                int depth = depths.getOrDefault(rs.getInt("parent"), -1) + 1;
+                depths.put(id, depth);
+                lines.add("  ".repeat(depth) + rs.getString("detail"));
+            }
+        }
+        return lines;
+    }
+
+    // 실행 계획에 table(별칭이면 별칭)을 인덱스 검색 없이 처음부터 끝까지 읽는 단계가 있는지
+    static boolean hasFullScan(List<String> plan, String table) {
+        for (String line : plan) {
+            String detail = line.trim();
+            if (detail.equals("SCAN " + table) || detail.startsWith("SCAN " + table + " ")) return true;
+        }
+        return false;
+    }
+
+    static void warn(String message) {
+        logger().warning(message);
+    }
+
+    // 로그 파일 핸들러는 JVM 전체에서 한 번만 연다. 열 수 없으면 표준 오류로 남긴다.
+    private static synchronized Logger logger() {
+        if (logger == null) {
+            logger = Logger.getLogger("household.slowquery");
+            try {
+                FileHandler handler = new FileHandler(LOG_PATTERN, LOG_LIMIT_BYTES, LOG_COUNT, true);
+                handler.setFormatter(new SimpleFormatter());
+                handler.setEncoding("UTF-8");
+                logger.addHandler(handler);
+                logger.setUseParentHandlers(false);
+            } catch (IOException e) {
+                System.err.println("느린 쿼리 로그 파일을 열 수 없습니다: " + e.getMessage());
+            }
+            logger.setLevel(Level.ALL);
+        }
+        return logger;
+    }
+}
@@ -0,0 +1,718 @@
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+// SQLite JDBC 저장소. 커넥션 풀과 스키마 마이그레이션(SchemaMigrator)을 사용한다.
+// DB 는 WAL 모드로 연다. 읽기는 query_only 커넥션 풀(readers)에서, 쓰기는 쓰기 전용 커넥션 하나(WriteCoordinator)에서 하므로
+// 저장이나 대량 등록이 진행 중이어도 읽기는 마지막으로 커밋된 내용을 기다리지 않고 읽는다.
+// 체크포인트는 커밋 중에 하지 않고 WalCheckpointer 가 백그라운드에서 한다.
+public class SqliteLedgerStore implements LedgerStore {
+
+    private static final int READER_POOL_SIZE = 4;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int EXPORT_FETCH_SIZE = 1_000;
+
+    static final String INSERT_ENTRY_SQL =
+        "INSERT INTO entries (user_id, date, type, category_id, amount, memo) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String EXPORT_SQL =
+        "SELECT * FROM entries WHERE user_id = ? AND date BETWEEN ? AND ? ORDER BY date, entry_id";
+
+    private static final String REGISTER_SQL = "INSERT OR IGNORE INTO users (id, password) VALUES (?, ?)";
+    private static final String LOGIN_SQL = "SELECT password FROM users WHERE id = ?";
+    private static final String DELETE_ENTRY_SQL = "DELETE FROM entries WHERE entry_id = ? AND user_id = ? RETURNING *";
+    private static final String ENTRIES_BY_DATE_SQL =
+        "SELECT * FROM entries WHERE user_id = ? AND date = ? ORDER BY entry_id";
+    private static final String SEARCH_SQL =
+        "SELECT * FROM entries WHERE user_id = ? AND date BETWEEN ? AND ?";
+    private static final String SEARCH_ORDER_SQL = " ORDER BY date DESC, entry_id DESC LIMIT ?";
+    // CROSS JOIN 으로 FTS 인덱스를 먼저 읽게 고정한다. (entries 를 먼저 훑고 행마다 MATCH 하지 않도록)
+    private static final String MEMO_SEARCH_SQL =
+        "SELECT e.* FROM entries_fts f CROSS JOIN entries e ON e.entry_id = f.rowid " +
+        "WHERE entries_fts MATCH ? AND e.user_id = ?";
+    private static final String MEMO_SEARCH_ORDER_SQL = " ORDER BY bm25(entries_fts), e.date DESC, e.entry_id DESC LIMIT ?";
+    // 검색어가 모두 1~2글자라 trigram 인덱스를 쓸 수 없을 때: 1~2글자 토큰 인덱스(entries_grams, MemoGrams)를 먼저 읽는다.
+    private static final String MEMO_GRAM_SEARCH_SQL =
+        "SELECT e.* FROM entries_grams g CROSS JOIN entries e ON e.entry_id = g.rowid " +
+        "WHERE entries_grams MATCH ? AND e.user_id = ?";
+    private static final String MEMO_GRAM_SEARCH_ORDER_SQL =
+        " ORDER BY bm25(entries_grams), e.date DESC, e.entry_id DESC LIMIT ?";
+    // 3글자 이상 검색어와 섞여 있을 때 1~2글자 검색어 조건
+    private static final String MEMO_GRAM_FILTER_SQL =
+        " AND e.entry_id IN (SELECT rowid FROM entries_grams WHERE entries_grams MATCH ?)";
+    // 집계 캐시(일별/월별 합계, 카테고리 비율)를 만들 때 읽는 쿼리
+    private static final String HISTORY_SQL =
+        "SELECT entry_id, date, type, category_id, amount FROM entries " +
+        "WHERE user_id = ? ORDER BY date, entry_id";
+
+    // PRAGMA synchronous 기본값. WAL 모드에서 NORMAL 은 전원이 나가면 마지막 커밋 몇 개를 잃을 수 있지만 DB 는 깨지지 않는다.
+    static final String DEFAULT_SYNCHRONOUS = "NORMAL";
+    // PRAGMA cache_size 기본값 (커넥션마다, KiB)
+    static final int DEFAULT_CACHE_SIZE_KIB = 8 * 1024;
+    // 체크포인트 등과 잠깐 겹칠 때 바로 SQLITE_BUSY 를 내지 않고 기다린다.
+    static final String BUSY_TIMEOUT_PRAGMA = "PRAGMA busy_timeout = 5000";
+
+    private static final String RULES_SQL = "SELECT * FROM recurring_rules WHERE user_id = ? ORDER BY rule_id";
+    private static final String MATERIALIZED_SQL =
+        "SELECT m.rule_id, m.date FROM recurring_materialized m " +
+        "JOIN recurring_rules r ON r.rule_id = m.rule_id WHERE r.user_id = ?";
+    private static final String INSERT_RULE_SQL =
+        "INSERT INTO recurring_rules (user_id, type, category_id, amount, memo, frequency, interval, start_date, end_date) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // 규칙이 entry 사용자의 것일 때만 확정 기록을 남긴다. 이미 확정한 날짜이면 무시된다.
+    private static final String MATERIALIZE_SQL =
+        "INSERT OR IGNORE INTO recurring_materialized (rule_id, date) " +
+        "SELECT rule_id, ? FROM recurring_rules WHERE rule_id = ? AND user_id = ?";
+
+    private static final String BUDGETS_SQL = "SELECT category_id, amount FROM budgets WHERE user_id = ?";
+    private static final String SET_BUDGET_SQL =
+        "INSERT INTO budgets (user_id, category_id, amount) VALUES (?, ?, ?) " +
+        "ON CONFLICT(user_id, category_id) DO UPDATE SET amount = excluded.amount";
+
+    private final ConnectionPool readers;
+    private final ConnectionPool writerConnection; // 크기 1. WriteCoordinator 와 시작 시 마이그레이션만 쓴다.
+    private final CategoryDictionary categories = new CategoryDictionary();
+    private final SlowQueryLog slowQueries;
+    // 회원 등록, 항목 추가/삭제, 대량 등록은 모두 이 쓰기 스레드 하나가 묶어서 커밋한다.
+    private final WriteCoordinator writer;
+    private final WalCheckpointer checkpointer;
+
+    // 시작할 때 실행 계획을 확인하는 자주 쓰는 쿼리. table 은 계획에 나오는 entries 의 이름(별칭)
+    private static final class HotQuery {
+        final String name;
+        final String sql;
+        final String table;
+        final Object[] params;
+
+        HotQuery(String name, String sql, String table, Object... params) {
+            this.name = name;
+            this.sql = sql;
+            this.table = table;
+            this.params = params;
+        }
+    }
+
+    private static final HotQuery[] HOT_QUERIES = {
+        new HotQuery("getEntriesByDate", ENTRIES_BY_DATE_SQL, "entries", "", 0L),
+        new HotQuery("searchEntries", SEARCH_SQL + SEARCH_ORDER_SQL, "entries", "", 0L, 0L, 1),
+        new HotQuery("searchMemo", MEMO_SEARCH_SQL + MEMO_SEARCH_ORDER_SQL, "e", "\"abc\"", "", 1),
+        new HotQuery("searchMemo (1~2글자)", MEMO_GRAM_SEARCH_SQL + MEMO_GRAM_SEARCH_ORDER_SQL, "e", "g61", "", 1),
+        new HotQuery("scanHistory (일별/월별 합계)", HISTORY_SQL, "entries", ""),
+        new HotQuery("scanEntries (내보내기)", EXPORT_SQL, "entries", "", 0L, 0L),
+        new HotQuery("deleteEntry", DELETE_ENTRY_SQL, "entries", 0, ""),
+    };
+
+    public SqliteLedgerStore(String dbUrl) {
+        this(dbUrl, SlowQueryLog.DEFAULT_THRESHOLD_MILLIS);
+    }
+
+    // slowQueryMillis 보다 오래 걸린 문장은 SlowQueryLog 에 남긴다.
+    public SqliteLedgerStore(String dbUrl, long slowQueryMillis) {
+        this(dbUrl, slowQueryMillis, DEFAULT_SYNCHRONOUS, DEFAULT_CACHE_SIZE_KIB);
+    }
+
+    // synchronous: OFF, NORMAL, FULL, EXTRA 중 하나. cacheSizeKib: 커넥션마다 쓸 페이지 캐시 크기
+    public SqliteLedgerStore(String dbUrl, long slowQueryMillis, String synchronous, int cacheSizeKib) {
+        if (!List.of("OFF", "NORMAL", "FULL", "EXTRA").contains(synchronous)) {
+            throw new IllegalArgumentException("알 수 없는 synchronous 값: " + synchronous + " (OFF, NORMAL, FULL, EXTRA)");
+        }
+        if (cacheSizeKib <= 0) throw new IllegalArgumentException("cache_size 는 1 KiB 이상이어야 합니다.");
+        try {
+            // SQLite JDBC 드라이버 로드
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            System.err.println("SQLite JDBC 드라이버를 찾을 수 없습니다. JAR 파일을 Classpath에 추가해주세요.");
+            e.printStackTrace();
+        }
+        String cacheSize = "PRAGMA cache_size = -" + cacheSizeKib; // 음수면 페이지 수가 아니라 KiB
+        // journal_mode 는 DB 파일에 기록되므로 읽기 커넥션은 쓰기 커넥션이 바꿔 둔 WAL 모드로 열린다.
+        this.writerConnection = new ConnectionPool(dbUrl, 1,
+            BUSY_TIMEOUT_PRAGMA, "PRAGMA journal_mode = WAL", "PRAGMA synchronous = " + synchronous, cacheSize,
+            "PRAGMA wal_autocheckpoint = 0");
+        this.readers = new ConnectionPool(dbUrl, READER_POOL_SIZE,
+            BUSY_TIMEOUT_PRAGMA, cacheSize, "PRAGMA query_only = ON");
+        this.slowQueries = new SlowQueryLog(slowQueryMillis);
+
+        try (PooledConnection conn = writerConnection.borrow()) {
+            SchemaMigrator.migrate(conn.getConnection());
+        } catch (SQLException e) {
+            System.err.println("DB 초기화 중 오류 발생: " + e.getMessage());
+        }
+        try (PooledConnection conn = readers.borrow()) {
+            categories.load(conn);
+            checkQueryPlans(conn);
+        } catch (SQLException e) {
+            System.err.println("DB 초기화 중 오류 발생: " + e.getMessage());
+        }
+
+        // 롤백된 트랜잭션에서 새로 등록한 카테고리 ID 가 사전에 남지 않도록 비운다.
+        this.writer = new WriteCoordinator(writerConnection, categories::clear);
+        this.checkpointer = new WalCheckpointer(dbUrl, WalCheckpointer.DEFAULT_INTERVAL_SECONDS);
+    }
+
+    @Override
+    public void close() {
+        writer.close(); // 대기 중인 쓰기를 모두 커밋한 뒤 커넥션을 닫는다.
+        readers.close();
+        writerConnection.close();
+        checkpointer.close(); // 마지막으로 WAL 을 DB 파일에 모두 옮긴다.
+    }
+
+    public SlowQueryLog getSlowQueryLog() {
+        return slowQueries;
+    }
+
+    // 자주 쓰는 쿼리가 인덱스를 타지 않고 entries 전체를 훑는지 확인한다. 걸린 쿼리 이름을 돌려준다.
+    List<String> checkQueryPlans(PooledConnection conn) {
+        List<String> fullScans = new ArrayList<>();
+        for (HotQuery query : HOT_QUERIES) {
+            try {
+                List<String> plan = SlowQueryLog.explain(conn, query.sql, query.params);
+                if (SlowQueryLog.hasFullScan(plan, query.table)) {
+                    fullScans.add(query.name);
+                    String message = "자주 쓰는 쿼리가 entries 전체를 훑습니다: " + query.name + System.lineSeparator() +
+                                     "  SQL: " + query.sql + System.lineSeparator() +
+                                     "  실행 계획:" + System.lineSeparator() + "    " +
+                                     String.join(System.lineSeparator() + "    ", plan);
+                    System.err.println(message);
+                    SlowQueryLog.warn(message);
+                }
+            } catch (SQLException e) {
+                System.err.println("실행 계획 확인 중 오류 발생 (" + query.name + "): " + e.getMessage());
+            }
+        }
+        return fullScans;
+    }
+
+    // --- 회원 ---
+
+    @Override
+    public boolean registerUser(String id, String password) throws StorageException {
+        Object[] params = {id, SlowQueryLog.secret(password)};
+        return await(writer.submit(conn -> {
+            long start = System.nanoTime();
+            PreparedStatement pstmt = conn.prepare(REGISTER_SQL);
+            SlowQueryLog.bind(pstmt, params);
+            boolean inserted = pstmt.executeUpdate() > 0;
+            slowQueries.check(conn, REGISTER_SQL, params, start);
+            return inserted;
+        }));
+    }
+
+    @Override
+    public boolean login(String id, String password) throws StorageException {
+        Object[] params = {id};
+        try (PooledConnection conn = readers.borrow()) {
+            long start = System.nanoTime();
+            PreparedStatement pstmt = conn.prepare(LOGIN_SQL);
+            SlowQueryLog.bind(pstmt, params);
+            boolean matched;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                matched = rs.next() && rs.getString("password").equals(password);
+            }
+            slowQueries.check(conn, LOGIN_SQL, params, start);
+            return matched;
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    // --- 항목 ---
+
+    @Override
+    public void addEntry(AccountEntry entry) throws StorageException {
+        await(submitAddEntry(entry));
+    }
+
+    @Override
+    public CompletableFuture<Integer> submitAddEntry(AccountEntry entry) {
+        return writer.submit(conn -> insertEntry(conn, entry));
+    }
+
+    private int insertEntry(PooledConnection conn, AccountEntry entry) throws SQLException {
+        long start = System.nanoTime();
+        Object[] params = {entry.getUserId(), entry.getDate().toEpochDay(), entry.getType().getCode(),
+                           categories.idOf(conn, entry.getCategory()), entry.getAmount(),
+                           SlowQueryLog.secret(entry.getMemo())};
+        PreparedStatement pstmt = conn.prepare(INSERT_ENTRY_SQL, Statement.RETURN_GENERATED_KEYS);
+        SlowQueryLog.bind(pstmt, params);
+        pstmt.executeUpdate();
+        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+            if (!generatedKeys.next()) throw new SQLException("새 항목 ID 를 받지 못했습니다.");
+            entry.setId(generatedKeys.getInt(1));
+        }
+        slowQueries.check(conn, INSERT_ENTRY_SQL, params, start);
+        return entry.getId();
+    }
+
+    @Override
+    public AccountEntry deleteEntry(String userId, int entryId) throws StorageException {
+        return await(submitDeleteEntry(userId, entryId));
+    }
+
+    @Override
+    public CompletableFuture<AccountEntry> submitDeleteEntry(String userId, int entryId) {
+        return writer.submit(conn -> {
+            Object[] params = {entryId, userId};
+            long start = System.nanoTime();
+            PreparedStatement pstmt = conn.prepare(DELETE_ENTRY_SQL);
+            SlowQueryLog.bind(pstmt, params);
+            AccountEntry deleted;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                deleted = rs.next() ? readEntry(conn, rs) : null;
+            }
+            slowQueries.check(conn, DELETE_ENTRY_SQL, params, start);
+            return deleted;
+        });
+    }
+
+    // 쓰기 스레드가 커밋할 때까지 기다린다.
+    private static <T> T await(CompletableFuture<T> future) throws StorageException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new StorageException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("쓰기 완료를 기다리다 중단되었습니다.", e);
+        }
+    }
+
+    @Override
+    public List<AccountEntry> getEntriesByDate(String userId, LocalDate date) throws StorageException {
+        try (PooledConnection conn = readers.borrow()) {
+            return queryEntries(conn, ENTRIES_BY_DATE_SQL, userId, date.toEpochDay());
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public List<AccountEntry> searchEntries(EntryQuery query, AccountEntry after, int limit) throws StorageException {
+        StringBuilder sql = new StringBuilder(SEARCH_SQL);
+        List<Object> params = new ArrayList<>();
+        params.add(query.getUserId());
+
+        long from = query.getFrom() == null ? Long.MIN_VALUE : query.getFrom().toEpochDay();
+        long to = query.getTo() == null ? Long.MAX_VALUE : query.getTo().toEpochDay();
+        if (after != null) {
+            // 커서 날짜까지로 범위를 좁히고, 같은 날짜 안에서는 ID로 이어간다.
+            long afterDay = after.getDate().toEpochDay();
+            to = Math.min(to, afterDay);
+            sql.append(" AND (date < ? OR entry_id < ?)");
+            params.add(from);
+            params.add(to);
+            params.add(afterDay);
+            params.add(after.getId());
+        } else {
+            params.add(from);
+            params.add(to);
+        }
+        if (query.getType() != null) {
+            sql.append(" AND type = ?");
+            params.add(query.getType().getCode());
+        }
+        if (query.getMinAmount() != null) {
+            sql.append(" AND amount >= ?");
+            params.add(query.getMinAmount());
+        }
+        if (query.getMaxAmount() != null) {
+            sql.append(" AND amount <= ?");
+            params.add(query.getMaxAmount());
+        }
+        if (query.getMemoContains() != null && !query.getMemoContains().isEmpty()) {
+            List<String> words = memoWords(query.getMemoContains());
+            if (words.isEmpty()) return new ArrayList<>(); // 검색할 단어가 없음
+            String match = memoMatchQuery(words);
+            if (match != null) {
+                sql.append(" AND entry_id IN (SELECT rowid FROM entries_fts WHERE entries_fts MATCH ?)");
+                params.add(SlowQueryLog.secret(match));
+            }
+            String gramMatch = MemoGrams.matchQuery(words);
+            if (gramMatch != null) {
+                sql.append(" AND entry_id IN (SELECT rowid FROM entries_grams WHERE entries_grams MATCH ?)");
+                params.add(SlowQueryLog.secret(gramMatch));
+            }
+        }
+        boolean filterCategory = query.getCategory() != null && !query.getCategory().isEmpty();
+        if (filterCategory) sql.append(" AND category_id = ?");
+        sql.append(SEARCH_ORDER_SQL);
+
+        try (PooledConnection conn = readers.borrow()) {
+            if (filterCategory) {
+                Integer categoryId = categories.findId(conn, query.getCategory());
+                if (categoryId == null) return new ArrayList<>(); // 없는 카테고리
+                params.add(categoryId);
+            }
+            params.add(limit);
+            return queryEntries(conn, sql.toString(), params.toArray());
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public List<AccountEntry> searchMemo(String userId, String text, int limit) throws StorageException {
+        List<String> words = memoWords(text);
+        if (words.isEmpty()) return new ArrayList<>();
+        MemoSearch search = memoSearch(userId, words, limit);
+
+        try (PooledConnection conn = readers.borrow()) {
+            return queryEntries(conn, search.sql, search.params);
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    // searchMemo 가 실행할 쿼리
+    static final class MemoSearch {
+        final String sql;
+        final Object[] params;
+
+        MemoSearch(String sql, Object[] params) {
+            this.sql = sql;
+            this.params = params;
+        }
+    }
+
+    // 3글자 이상 검색어가 있으면 trigram 인덱스(entries_fts)를, 모두 1~2글자이면 토큰 인덱스(entries_grams)를
+    // 먼저 읽고 그 인덱스의 bm25 순으로 정렬한다. 나머지 검색어는 다른 인덱스의 MATCH 로 거른다. (LIKE 로 훑지 않는다)
+    static MemoSearch memoSearch(String userId, List<String> words, int limit) {
+        String match = memoMatchQuery(words);
+        String gramMatch = MemoGrams.matchQuery(words);
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql;
+        if (match != null) {
+            sql = new StringBuilder(MEMO_SEARCH_SQL);
+            params.add(SlowQueryLog.secret(match));
+            params.add(userId);
+            if (gramMatch != null) {
+                sql.append(MEMO_GRAM_FILTER_SQL);
+                params.add(SlowQueryLog.secret(gramMatch));
+            }
+            sql.append(MEMO_SEARCH_ORDER_SQL);
+        } else {
+            sql = new StringBuilder(MEMO_GRAM_SEARCH_SQL);
+            params.add(SlowQueryLog.secret(gramMatch));
+            params.add(userId);
+            sql.append(MEMO_GRAM_SEARCH_ORDER_SQL);
+        }
+        params.add(limit);
+        return new MemoSearch(sql.toString(), params.toArray());
+    }
+
+    // 검색어를 공백으로 나눈 단어 목록. 모든 단어가 메모 어딘가에 (대소문자 구분 없이) 들어 있는 항목을 찾는다.
+    static List<String> memoWords(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.trim().split("\\s+")) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+
+    // 3글자 이상 단어를 trigram MATCH 식으로 바꾼다. 단어마다 따옴표로 감싸 연산자로 해석되지 않게 한다.
+    // 그런 단어가 없으면 null (1~2글자 단어는 MemoGrams.matchQuery 로 찾는다)
+    static String memoMatchQuery(List<String> words) {
+        StringBuilder match = new StringBuilder();
+        for (String word : words) {
+            if (word.codePointCount(0, word.length()) <= MemoGrams.MAX_LENGTH) continue;
+            if (match.length() > 0) match.append(" AND ");
+            match.append('"').append(word.replace("\"", "\"\"")).append('"');
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    // 순방향 ResultSet 에서 한 행씩 넘기므로 항목 수와 관계없이 메모리 사용량이 일정하다.
+    // 걸리는 시간은 대부분 visitor(파일 쓰기) 몫이라 느린 쿼리 로그에는 남기지 않는다.
+    @Override
+    public void scanEntries(String userId, LocalDate from, LocalDate to, EntryVisitor visitor)
+            throws StorageException, IOException {
+        try (PooledConnection conn = readers.borrow();
+             PreparedStatement pstmt = conn.getConnection().prepareStatement(
+                 EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(EXPORT_FETCH_SIZE);
+            pstmt.setString(1, userId);
+            pstmt.setLong(2, from == null ? Long.MIN_VALUE : from.toEpochDay());
+            pstmt.setLong(3, to == null ? Long.MAX_VALUE : to.toEpochDay());
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    visitor.visit(readEntry(conn, rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void scanHistory(String userId, HistoryVisitor visitor) throws StorageException {
+        Object[] params = {userId};
+        try (PooledConnection conn = readers.borrow()) {
+            long start = System.nanoTime();
+            PreparedStatement pstmt = conn.prepare(HISTORY_SQL);
+            SlowQueryLog.bind(pstmt, params);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    visitor.visit(rs.getInt(1), rs.getInt(2), EntryType.fromCode(rs.getInt(3)),
+                                  categories.nameOf(conn, rs.getInt(4)), rs.getLong(5));
+                }
+            }
+            slowQueries.check(conn, HISTORY_SQL, params, start);
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    // --- 반복 항목 ---
+
+    @Override
+    public List<RecurringRule> getRecurringRules(String userId) throws StorageException {
+        try (PooledConnection conn = readers.borrow()) {
+            List<RecurringRule> rules = new ArrayList<>();
+            PreparedStatement pstmt = conn.prepare(RULES_SQL);
+            pstmt.setString(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rules.add(readRule(conn, rs));
+                }
+            }
+            if (rules.isEmpty()) return rules;
+
+            Map<Integer, List<LocalDate>> datesByRule = new HashMap<>();
+            PreparedStatement materialized = conn.prepare(MATERIALIZED_SQL);
+            materialized.setString(1, userId);
+            try (ResultSet rs = materialized.executeQuery()) {
+                while (rs.next()) {
+                    datesByRule.computeIfAbsent(rs.getInt(1), id -> new ArrayList<>())
+                               .add(LocalDate.ofEpochDay(rs.getLong(2)));
+                }
+            }
+            rules.replaceAll(rule -> {
+                List<LocalDate> dates = datesByRule.get(rule.getId());
+                return dates == null ? rule : rule.withMaterialized(dates);
+            });
+            return rules;
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public int addRecurringRule(RecurringRule rule) throws StorageException {
+        return await(writer.submit(conn -> {
+            PreparedStatement pstmt = conn.prepare(INSERT_RULE_SQL, Statement.RETURN_GENERATED_KEYS);
+            pstmt.setString(1, rule.getUserId());
+            pstmt.setInt(2, rule.getType().getCode());
+            pstmt.setObject(3, categories.idOf(conn, rule.getCategory()));
+            pstmt.setLong(4, rule.getAmount());
+            pstmt.setString(5, rule.getMemo());
+            pstmt.setInt(6, rule.getFrequency().getCode());
+            pstmt.setInt(7, rule.getInterval());
+            pstmt.setLong(8, rule.getStartDate().toEpochDay());
+            pstmt.setObject(9, rule.getEndDate() == null ? null : rule.getEndDate().toEpochDay());
+            pstmt.executeUpdate();
+            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                if (!generatedKeys.next()) throw new SQLException("새 반복 규칙 ID 를 받지 못했습니다.");
+                return generatedKeys.getInt(1);
+            }
+        }));
+    }
+
+    @Override
+    public boolean deleteRecurringRule(String userId, int ruleId) throws StorageException {
+        return await(writer.submit(conn -> {
+            PreparedStatement pstmt = conn.prepare("DELETE FROM recurring_rules WHERE rule_id = ? AND user_id = ?");
+            pstmt.setInt(1, ruleId);
+            pstmt.setString(2, userId);
+            if (pstmt.executeUpdate() == 0) return false;
+            PreparedStatement materialized = conn.prepare("DELETE FROM recurring_materialized WHERE rule_id = ?");
+            materialized.setInt(1, ruleId);
+            materialized.executeUpdate();
+            return true;
+        }));
+    }
+
+    @Override
+    public boolean setRecurringEndDate(String userId, int ruleId, LocalDate endDate) throws StorageException {
+        return await(writer.submit(conn -> {
+            Object end = endDate == null ? null : endDate.toEpochDay();
+            PreparedStatement pstmt = conn.prepare("UPDATE recurring_rules SET end_date = ? " +
+                "WHERE rule_id = ? AND user_id = ? AND start_date <= coalesce(?, start_date)");
+            pstmt.setObject(1, end);
+            pstmt.setInt(2, ruleId);
+            pstmt.setString(3, userId);
+            pstmt.setObject(4, end);
+            return pstmt.executeUpdate() > 0;
+        }));
+    }
+
+    @Override
+    public boolean materializeOccurrence(int ruleId, AccountEntry entry) throws StorageException {
+        return await(writer.submit(conn -> {
+            PreparedStatement pstmt = conn.prepare(MATERIALIZE_SQL);
+            pstmt.setLong(1, entry.getDate().toEpochDay());
+            pstmt.setInt(2, ruleId);
+            pstmt.setString(3, entry.getUserId());
+            if (pstmt.executeUpdate() == 0) return false;
+            insertEntry(conn, entry);
+            return true;
+        }));
+    }
+
+    private RecurringRule readRule(PooledConnection conn, ResultSet rs) throws SQLException {
+        Number endDate = (Number) rs.getObject("end_date"); // NULL 이면 끝 없음
+        return new RecurringRule(
+            rs.getInt("rule_id"),
+            rs.getString("user_id"),
+            EntryType.fromCode(rs.getInt("type")),
+            categories.nameOf(conn, rs.getInt("category_id")),
+            rs.getLong("amount"),
+            rs.getString("memo"),
+            RecurringRule.Frequency.fromCode(rs.getInt("frequency")),
+            rs.getInt("interval"),
+            LocalDate.ofEpochDay(rs.getLong("start_date")),
+            endDate == null ? null : LocalDate.ofEpochDay(endDate.longValue()));
+    }
+
+    // --- 카테고리 예산 ---
+
+    @Override
+    public Map<String, Long> getBudgets(String userId) throws StorageException {
+        try (PooledConnection conn = readers.borrow()) {
+            Map<String, Long> budgets = new HashMap<>();
+            PreparedStatement pstmt = conn.prepare(BUDGETS_SQL);
+            pstmt.setString(1, userId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    budgets.put(categories.nameOf(conn, rs.getInt(1)), rs.getLong(2));
+                }
+            }
+            return budgets;
+        } catch (SQLException e) {
+            throw new StorageException(e);
+        }
+    }
+
+    @Override
+    public void setBudget(String userId, String category, long limit) throws StorageException {
+        await(writer.submit(conn -> {
+            PreparedStatement pstmt = conn.prepare(SET_BUDGET_SQL);
+            pstmt.setString(1, userId);
+            pstmt.setInt(2, categories.idOf(conn, category));
+            pstmt.setLong(3, limit);
+            pstmt.executeUpdate();
+            return null;
+        }));
+    }
+
+    @Override
+    public boolean deleteBudget(String userId, String category) throws StorageException {
+        return await(writer.submit(conn -> {
+            Integer categoryId = categories.findId(conn, category);
+            if (categoryId == null) return false;
+            PreparedStatement pstmt = conn.prepare("DELETE FROM budgets WHERE user_id = ? AND category_id = ?");
+            pstmt.setString(1, userId);
+            pstmt.setInt(2, categoryId);
+            return pstmt.executeUpdate() > 0;
+        }));
+    }
+
+    @Override
+    public BatchWriter openBatchWriter() {
+        return new SqliteBatchWriter();
+    }
+
+    // add 한 항목을 모아 두었다가 commit 때 쓰기 스레드에서 한 작업으로 INSERT 한다. (addBatch 로 묶어서)
+    // 쓰기 커넥션을 따로 잡지 않으므로 대량 등록 중에도 다른 저장은 묶음 사이에 끼어 커밋된다.
+    private class SqliteBatchWriter implements BatchWriter {
+        private List<AccountEntry> pending = new ArrayList<>();
+
+        @Override
+        public void add(AccountEntry entry) {
+            pending.add(entry);
+        }
+
+        @Override
+        public void commit() throws StorageException {
+            if (pending.isEmpty()) return;
+            List<AccountEntry> entries = pending;
+            pending = new ArrayList<>();
+            await(writer.submit(conn -> {
+                PreparedStatement pstmt = conn.prepare(INSERT_ENTRY_SQL);
+                try {
+                    int batched = 0;
+                    for (AccountEntry entry : entries) {
+                        bindEntry(conn, pstmt, entry);
+                        pstmt.addBatch();
+                        if (++batched == BATCH_SIZE) {
+                            pstmt.executeBatch();
+                            batched = 0;
+                        }
+                    }
+                    if (batched > 0) pstmt.executeBatch();
+                } finally {
+                    pstmt.clearBatch(); // 캐시된 문장이므로 실패했을 때 남은 배치를 비워 둔다.
+                }
+                return null;
+            }));
+        }
+
+        // 아직 commit 하지 않은 항목을 버린다.
+        @Override
+        public void rollback() {
+            pending.clear();
+        }
+
+        @Override
+        public void close() {
+            rollback();
+        }
+    }
+
+    private void bindEntry(PooledConnection conn, PreparedStatement pstmt, AccountEntry entry) throws SQLException {
+        pstmt.setString(1, entry.getUserId());
+        pstmt.setLong(2, entry.getDate().toEpochDay());
+        pstmt.setInt(3, entry.getType().getCode());
+        pstmt.setObject(4, categories.idOf(conn, entry.getCategory()));
+        pstmt.setLong(5, entry.getAmount());
+        pstmt.setString(6, entry.getMemo());
+    }
+
+    // 결과를 모두 읽은 뒤까지의 시간으로 느린 쿼리를 판단한다. (SQLite 는 행을 읽으면서 실행한다)
+    private List<AccountEntry> queryEntries(PooledConnection conn, String sql, Object... params) throws SQLException {
+        long start = System.nanoTime();
+        PreparedStatement pstmt = conn.prepare(sql);
+        SlowQueryLog.bind(pstmt, params);
+        List<AccountEntry> entries = new ArrayList<>();
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                entries.add(readEntry(conn, rs));
+            }
+        }
+        slowQueries.check(conn, sql, params, start);
+        return entries;
+    }
+
+    private AccountEntry readEntry(PooledConnection conn, ResultSet rs) throws SQLException {
+        return new AccountEntry(
+            rs.getInt("entry_id"),
+            rs.getString("user_id"),
+            LocalDate.ofEpochDay(rs.getLong("date")),
+            EntryType.fromCode(rs.getInt("type")),
+            categories.nameOf(conn, rs.getInt("category_id")),
+            rs.getLong("amount"),
+            rs.getString("memo"));
+    }
+}
@@ -0,0 +1,15 @@
+// 저장소(LedgerStore) 구현에서 발생한 오류. SQLException, IOException 등 엔진별 원인을 감싼다.
+public class StorageException extends Exception {
+
+    public StorageException(String message) {
+        super(message);
+    }
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public StorageException(Throwable cause) {
+        super(cause.getMessage(), cause);
+    }
+}
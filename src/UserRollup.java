@@ -0,0 +1,139 @@
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 한 사용자의 집계값 (전체 잔액, 월별 수익/지출, 월별 카테고리 합계, 일별 합계)과
+// 임의 기간 분석용 열 데이터(EntryColumns). AggregateCache 의 잠금 안에서만 읽고 쓴다.
+// 반복 항목(RecurringSchedule)의 발생은 집계에 넣어 두지 않고 읽을 때 더한다. (getBalance, getMonth)
+// 카테고리 예산(CategoryBudgets)은 월별 카테고리 집계와 비교하므로 항목을 더할 때마다 합계를 다시 구하지 않는다. (checkBudget)
+public class UserRollup {
+
+    // 한 달치 집계
+    public static class MonthRollup {
+        private long income;
+        private long expense;
+        private final Map<String, Long> incomeByCategory = new HashMap<>();
+        private final Map<String, Long> expenseByCategory = new HashMap<>();
+        private final MonthSummary days;
+
+        MonthRollup(YearMonth yearMonth) {
+            this.days = new MonthSummary(yearMonth);
+        }
+
+        private MonthRollup(MonthRollup source) {
+            this.days = source.days.copy();
+            this.income = source.income;
+            this.expense = source.expense;
+            this.incomeByCategory.putAll(source.incomeByCategory);
+            this.expenseByCategory.putAll(source.expenseByCategory);
+        }
+
+        public long getIncome() { return income; }
+        public long getExpense() { return expense; }
+        public long getNetIncome() { return income - expense; }
+        public Map<String, Long> getIncomeByCategory() { return incomeByCategory; }
+        public Map<String, Long> getExpenseByCategory() { return expenseByCategory; }
+        public MonthSummary getDays() { return days; }
+
+        // amount 가 음수이면 삭제를 반영한다.
+        private void apply(int day, EntryType type, String category, long amount) {
+            if (type == EntryType.INCOME) {
+                income += amount;
+                days.addIncome(day, amount);
+                addToCategory(incomeByCategory, category, amount);
+            } else {
+                expense += amount;
+                days.addExpense(day, amount);
+                addToCategory(expenseByCategory, category, amount);
+            }
+        }
+    }
+
+    private long balance;
+    private final Map<YearMonth, MonthRollup> months = new HashMap<>();
+    private final EntryColumns columns;
+    private final RecurringSchedule schedule;
+    private final CategoryBudgets budgets;
+
+    // 열 데이터에서 월별 집계를 만든다. 하루치 (분류, 카테고리)별 합계를 먼저 구해 맵 갱신 횟수를 줄인다.
+    public UserRollup(EntryColumns columns, RecurringSchedule schedule, CategoryBudgets budgets) {
+        this.columns = columns;
+        this.schedule = schedule;
+        this.budgets = budgets;
+        columns.forEachDay((day, sums) -> {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            for (int key = 0; key < sums.length; key++) {
+                if (sums[key] == 0) continue;
+                applyTotal(date, EntryType.fromCode(key & 1), columns.categoryName(key >> 1), sums[key]);
+            }
+        });
+    }
+
+    // 오늘까지의 반복 발생을 포함한 잔액
+    public long getBalance() {
+        return balance + schedule.balanceThrough(LocalDate.now());
+    }
+
+    public EntryColumns getColumns() { return columns; }
+    // 캐시 크기 계산용 항목 행 수
+    public int rowCount() { return columns.size(); }
+    public RecurringSchedule getSchedule() { return schedule; }
+    public CategoryBudgets getBudgets() { return budgets; }
+
+    // 해당 월에 항목도 반복 발생도 없으면 null.
+    // 반복 발생이 있는 달은 캐시된 집계의 복사본에 발생을 더해서 돌려준다. (캐시는 바꾸지 않는다)
+    public MonthRollup getMonth(YearMonth yearMonth) {
+        MonthRollup month = months.get(yearMonth);
+        if (schedule.isEmpty()) return month;
+        MonthRollup[] merged = new MonthRollup[1];
+        schedule.forEachOccurrence(yearMonth.atDay(1), yearMonth.atEndOfMonth(), (rule, date) -> {
+            if (merged[0] == null) merged[0] = month == null ? new MonthRollup(yearMonth) : new MonthRollup(month);
+            merged[0].apply(date.getDayOfMonth(), rule.getType(), rule.getCategory(), rule.getAmount());
+        });
+        return merged[0] != null ? merged[0] : month;
+    }
+
+    void add(AccountEntry entry) {
+        columns.add(entry.getId(), (int) entry.getDate().toEpochDay(), entry.getType(), entry.getCategory(),
+                    entry.getAmount());
+        applyTotal(entry.getDate(), entry.getType(), entry.getCategory(), entry.getAmount());
+    }
+
+    // 반복 발생을 항목으로 확정했을 때. 같은 잠금 안에서 발생을 빼고 항목을 더한다.
+    void materialize(RecurringRule rule, AccountEntry entry) {
+        schedule.replace(rule.withMaterialized(List.of(entry.getDate())));
+        add(entry);
+    }
+
+    // entry 를 더한 뒤 같은 잠금 안에서 호출한다. 이 항목으로 그 달 카테고리 지출이 예산 기준선을 새로 넘었으면 알림, 아니면 null
+    // 지출은 getMonth 와 같이 그 달의 확정하지 않은 반복 발생까지 포함한다. 월별 카테고리 합계를 바로 읽으므로
+    // 항목 수와 관계없이 (그 카테고리의 반복 규칙 수) 만큼만 든다.
+    BudgetAlert checkBudget(AccountEntry entry) {
+        if (entry.getType() != EntryType.EXPENSE || budgets.getLimit(entry.getCategory()) == null) return null;
+        YearMonth yearMonth = YearMonth.from(entry.getDate());
+        MonthRollup month = months.get(yearMonth);
+        long spent = month == null ? 0 : month.expenseByCategory.getOrDefault(entry.getCategory(), 0L);
+        spent += schedule.pendingTotal(EntryType.EXPENSE, entry.getCategory(), yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        return budgets.crossing(entry.getUserId(), yearMonth, entry.getCategory(), spent - entry.getAmount(), spent);
+    }
+
+    void remove(AccountEntry entry) {
+        if (columns.remove(entry.getId(), (int) entry.getDate().toEpochDay())) {
+            applyTotal(entry.getDate(), entry.getType(), entry.getCategory(), -entry.getAmount());
+        }
+    }
+
+    // amount 가 음수이면 삭제를 반영한다.
+    private void applyTotal(LocalDate date, EntryType type, String category, long amount) {
+        MonthRollup month = months.computeIfAbsent(YearMonth.from(date), MonthRollup::new);
+        balance += type == EntryType.INCOME ? amount : -amount;
+        month.apply(date.getDayOfMonth(), type, category, amount);
+    }
+
+    private static void addToCategory(Map<String, Long> sums, String category, long amount) {
+        // 합계가 0이 된 카테고리는 지워서 삭제 후에도 목록에 남지 않게 한다.
+        sums.merge(category, amount, (a, b) -> a + b == 0 ? null : a + b);
+    }
+}
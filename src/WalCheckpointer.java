@@ -0,0 +1,60 @@
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// WAL 파일의 내용을 DB 파일로 옮기는 체크포인트를 백그라운드에서 주기적으로 실행한다.
+// 쓰기 커넥션은 wal_autocheckpoint = 0 으로 열어서, 저장하던 사용자의 커밋이 체크포인트를 떠안지 않게 한다.
+// PASSIVE 체크포인트는 읽기/쓰기를 기다리게 하지 않고, 그 순간 옮길 수 있는 만큼만 옮긴다.
+public class WalCheckpointer implements AutoCloseable {
+
+    static final long DEFAULT_INTERVAL_SECONDS = 5;
+
+    private final ConnectionPool pool;
+    private final ScheduledExecutorService scheduler;
+    private final Diagnostics diagnostics = Diagnostics.getInstance();
+
+    public WalCheckpointer(String dbUrl, long intervalSeconds) {
+        this.pool = new ConnectionPool(dbUrl, 1, SqliteLedgerStore.BUSY_TIMEOUT_PRAGMA);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> checkpoint("PASSIVE"),
+            intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    // 옮기지 못한 페이지 수를 돌려준다. 실패하면 -1
+    int checkpoint(String mode) {
+        long start = System.nanoTime();
+        try (PooledConnection conn = pool.borrow();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+            // 결과: busy, WAL 의 페이지 수, 옮긴 페이지 수 (WAL 모드가 아니면 -1)
+            rs.next();
+            return rs.getInt(2) < 0 ? 0 : rs.getInt(2) - rs.getInt(3);
+        } catch (SQLException e) {
+            diagnostics.error("walCheckpoint");
+            System.err.println("WAL 체크포인트 중 오류 발생: " + e.getMessage());
+            return -1;
+        } finally {
+            diagnostics.record("walCheckpoint", start);
+        }
+    }
+
+    // 예약된 체크포인트를 멈추고, 마지막으로 WAL 을 모두 옮긴 뒤 비운다.
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkpoint("TRUNCATE");
+        pool.close();
+    }
+}
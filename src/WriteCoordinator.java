@@ -0,0 +1,152 @@
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// SQLite 쓰기를 한 스레드, 한 커넥션으로 모은다. 큐에 쌓인 작업을 꺼내 한 트랜잭션으로 묶어 커밋한다. (그룹 커밋)
+// 쓰는 쪽이 하나뿐이라 쓰기끼리 잠금을 다투다 SQLITE_BUSY 가 나지 않고, 동시에 들어온 쓰기는 fsync 한 번에 커밋된다.
+// 작업마다 세이브포인트를 두므로 한 작업이 실패해도 같은 묶음의 다른 작업은 그대로 커밋된다.
+// 각 작업의 future 는 커밋이 끝난 뒤에 결과(또는 오류)로 완료된다.
+public class WriteCoordinator implements AutoCloseable {
+
+    // 한 트랜잭션에 묶는 최대 작업 수
+    static final int MAX_GROUP = 512;
+
+    // 쓰기 스레드에서 실행할 작업. 전달된 커넥션은 트랜잭션 중이므로 커밋/롤백하면 안 된다.
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(PooledConnection conn) throws SQLException;
+    }
+
+    private static final class Task<T> {
+        final Work<T> work;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        T result;
+        Exception error;
+
+        Task(Work<T> work) {
+            this.work = work;
+        }
+
+        // 작업이 실패해 세이브포인트로 되돌렸으면 false
+        boolean execute(PooledConnection conn) throws SQLException {
+            Connection connection = conn.getConnection();
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                result = work.run(conn);
+                connection.releaseSavepoint(savepoint);
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                error = e;
+                connection.rollback(savepoint);
+                connection.releaseSavepoint(savepoint);
+                return false;
+            }
+        }
+
+        void complete() {
+            if (error != null) future.completeExceptionally(error);
+            else future.complete(result);
+        }
+    }
+
+    private static final Task<Void> STOP = new Task<>(conn -> null);
+
+    private final ConnectionPool pool;
+    private final Runnable onRollback;
+    private final BlockingQueue<Task<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private boolean closed = false;
+    private PooledConnection conn; // 쓰기 스레드에서만 사용
+
+    // onRollback 은 작업이나 묶음을 롤백했을 때 호출된다. (롤백된 값을 들고 있는 캐시를 비우는 용도)
+    public WriteCoordinator(ConnectionPool pool, Runnable onRollback) {
+        this.pool = pool;
+        this.onRollback = onRollback;
+        this.thread = new Thread(this::run, "ledger-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // close() 와 겹치지 않게 해서 STOP 뒤에 작업이 들어가 아무도 완료하지 않는 일이 없게 한다.
+    public synchronized <T> CompletableFuture<T> submit(Work<T> work) {
+        Task<T> task = new Task<>(work);
+        if (closed) {
+            task.future.completeExceptionally(new SQLException("쓰기 큐가 이미 닫혔습니다."));
+            return task.future;
+        }
+        queue.add(task);
+        return task.future;
+    }
+
+    // 이미 받은 작업은 모두 처리한 뒤 멈춘다.
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            queue.add(STOP);
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Task<?>> group = new ArrayList<>(MAX_GROUP);
+        try {
+            while (true) {
+                group.add(queue.take());
+                queue.drainTo(group, MAX_GROUP - 1);
+                boolean stop = group.remove(STOP);
+                if (!group.isEmpty()) commitGroup(group);
+                group.clear();
+                if (stop) break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (conn != null) conn.close();
+        }
+    }
+
+    private void commitGroup(List<Task<?>> group) {
+        try {
+            if (conn == null) {
+                conn = pool.borrow();
+                conn.getConnection().setAutoCommit(false);
+            }
+            for (Task<?> task : group) {
+                if (!task.execute(conn)) onRollback.run();
+            }
+            conn.getConnection().commit();
+        } catch (SQLException e) {
+            // 커밋(또는 커넥션) 자체가 실패하면 묶음 전체가 반영되지 않았다.
+            rollbackQuietly();
+            for (Task<?> task : group) {
+                task.error = e;
+            }
+        }
+        for (Task<?> task : group) {
+            task.complete();
+        }
+    }
+
+    private void rollbackQuietly() {
+        try {
+            if (conn != null) conn.getConnection().rollback();
+        } catch (SQLException e) {
+            System.err.println("쓰기 묶음 롤백 중 오류 발생: " + e.getMessage());
+            conn.close(); // 상태를 알 수 없는 커넥션은 반납하고 다음 묶음에서 새로 빌린다.
+            conn = null;
+        } finally {
+            onRollback.run();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// 두 저장소 엔진이 LedgerStore 계약을 똑같이 지키는지 확인한다. 엔진마다 open 만 다르게 구현한다.
+abstract class LedgerStoreContractTest {
+
+    static final String USER = "alice";
+    static final String OTHER = "bob";
+    static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    @TempDir
+    Path dir;
+    LedgerStore store;
+
+    abstract LedgerStore open(Path dir) throws StorageException;
+
+    @BeforeEach
+    void setUp() throws StorageException {
+        store = open(dir);
+        assertTrue(store.registerUser(USER, "pw"));
+        assertTrue(store.registerUser(OTHER, "pw"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) store.close();
+    }
+
+    void reopen() throws StorageException {
+        store.close();
+        store = null;
+        store = open(dir);
+    }
+
+    AccountEntry add(String userId, LocalDate date, EntryType type, String category, long amount, String memo)
+            throws StorageException {
+        AccountEntry entry = new AccountEntry(userId, date, type, category, amount, memo);
+        store.addEntry(entry);
+        return entry;
+    }
+
+    static List<Integer> ids(List<AccountEntry> entries) {
+        List<Integer> ids = new ArrayList<>();
+        for (AccountEntry entry : entries) ids.add(entry.getId());
+        return ids;
+    }
+
+    // --- 회원 / 항목 ---
+
+    @Test
+    void registerRejectsDuplicateAndLoginChecksPassword() throws StorageException {
+        assertFalse(store.registerUser(USER, "other"));
+        assertTrue(store.login(USER, "pw"));
+        assertFalse(store.login(USER, "wrong"));
+        assertFalse(store.login("nobody", "pw"));
+    }
+
+    @Test
+    void addAssignsIdAndEntryIsReadable() throws StorageException {
+        AccountEntry entry = add(USER, DAY, EntryType.EXPENSE, "식비", 12_000, "점심");
+        assertTrue(entry.getId() > 0);
+
+        List<AccountEntry> found = store.getEntriesByDate(USER, DAY);
+        assertEquals(1, found.size());
+        AccountEntry read = found.get(0);
+        assertEquals(entry.getId(), read.getId());
+        assertEquals(EntryType.EXPENSE, read.getType());
+        assertEquals("식비", read.getCategory());
+        assertEquals(12_000, read.getAmount());
+        assertEquals("점심", read.getMemo());
+        assertTrue(store.getEntriesByDate(OTHER, DAY).isEmpty());
+    }
+
+    @Test
+    void addKeepsNullCategoryAndMemo() throws StorageException {
+        add(USER, DAY, EntryType.INCOME, null, 500, null);
+        AccountEntry read = store.getEntriesByDate(USER, DAY).get(0);
+        assertNull(read.getCategory());
+        assertNull(read.getMemo());
+    }
+
+    @Test
+    void deleteRemovesOnlyOwnEntry() throws StorageException {
+        AccountEntry entry = add(USER, DAY, EntryType.EXPENSE, "식비", 1_000, "간식");
+
+        assertNull(store.deleteEntry(OTHER, entry.getId()));
+        assertEquals(1, store.getEntriesByDate(USER, DAY).size());
+
+        AccountEntry deleted = store.deleteEntry(USER, entry.getId());
+        assertNotNull(deleted);
+        assertEquals(entry.getId(), deleted.getId());
+        assertEquals(1_000, deleted.getAmount());
+        assertTrue(store.getEntriesByDate(USER, DAY).isEmpty());
+
+        assertNull(store.deleteEntry(USER, entry.getId()));
+        assertNull(store.deleteEntry(USER, 999_999));
+    }
+
+    @Test
+    void entriesSurviveReopen() throws StorageException {
+        AccountEntry kept = add(USER, DAY, EntryType.EXPENSE, "식비", 1_000, "남김");
+        AccountEntry removed = add(USER, DAY, EntryType.EXPENSE, "식비", 2_000, "지움");
+        store.deleteEntry(USER, removed.getId());
+
+        reopen();
+        assertEquals(List.of(kept.getId()), ids(store.getEntriesByDate(USER, DAY)));
+        AccountEntry next = add(USER, DAY, EntryType.EXPENSE, "식비", 3_000, "다음");
+        assertTrue(next.getId() > removed.getId());
+    }
+
+    // --- 검색 ---
+
+    @Test
+    void searchFiltersByDateRange() throws StorageException {
+        add(USER, DAY.minusDays(1), EntryType.EXPENSE, "식비", 1, "전날");
+        AccountEntry first = add(USER, DAY, EntryType.EXPENSE, "식비", 2, "당일");
+        AccountEntry last = add(USER, DAY.plusDays(2), EntryType.EXPENSE, "식비", 3, "이틀 뒤");
+        add(USER, DAY.plusDays(3), EntryType.EXPENSE, "식비", 4, "사흘 뒤");
+        add(OTHER, DAY, EntryType.EXPENSE, "식비", 5, "남의 것");
+
+        List<AccountEntry> found = store.searchEntries(
+            new EntryQuery(USER).setDateRange(DAY, DAY.plusDays(2)), null, 100);
+        // 최신순
+        assertEquals(List.of(last.getId(), first.getId()), ids(found));
+    }
+
+    @Test
+    void searchFiltersByCategoryTypeAndAmount() throws StorageException {
+        AccountEntry food = add(USER, DAY, EntryType.EXPENSE, "식비", 8_000, null);
+        add(USER, DAY, EntryType.EXPENSE, "교통", 1_400, null);
+        AccountEntry salary = add(USER, DAY, EntryType.INCOME, "월급", 3_000_000, null);
+        AccountEntry bigFood = add(USER, DAY, EntryType.EXPENSE, "식비", 50_000, null);
+
+        assertEquals(List.of(bigFood.getId(), food.getId()),
+                     ids(store.searchEntries(new EntryQuery(USER).setCategory("식비"), null, 100)));
+        assertEquals(List.of(salary.getId()),
+                     ids(store.searchEntries(new EntryQuery(USER).setType(EntryType.INCOME), null, 100)));
+        assertEquals(List.of(bigFood.getId()),
+                     ids(store.searchEntries(new EntryQuery(USER).setCategory("식비").setAmountRange(10_000L, null),
+                                             null, 100)));
+        assertTrue(store.searchEntries(new EntryQuery(USER).setCategory("없는 카테고리"), null, 100).isEmpty());
+    }
+
+    @Test
+    void memoSearchMatchesInsideWordsAndRequiresAllWords() throws StorageException {
+        AccountEntry iced = add(USER, DAY, EntryType.EXPENSE, "식비", 4_500, "아이스커피 테이크아웃");
+        AccountEntry latte = add(USER, DAY, EntryType.EXPENSE, "식비", 5_000, "카페 라떼");
+        AccountEntry coffee = add(USER, DAY.plusDays(1), EntryType.EXPENSE, "식비", 3_000, "커피 원두");
+        add(OTHER, DAY, EntryType.EXPENSE, "식비", 4_500, "아이스커피");
+        AccountEntry percent = add(USER, DAY, EntryType.EXPENSE, "쇼핑", 9_900, "50% 할인");
+
+        assertEquals(Set.of(iced.getId(), coffee.getId()),
+                     new HashSet<>(ids(store.searchEntries(new EntryQuery(USER).setMemoContains("커피"), null, 100))));
+        assertEquals(List.of(iced.getId()),
+                     ids(store.searchEntries(new EntryQuery(USER).setMemoContains("커피 테이크"), null, 100)));
+        // 두 글자 검색어 (SQLite 는 trigram 대신 entries_grams 인덱스로 찾는다)
+        assertEquals(List.of(latte.getId()),
+                     ids(store.searchEntries(new EntryQuery(USER).setMemoContains("라떼"), null, 100)));
+        // LIKE 의 % 는 글자 그대로 찾는다.
+        assertEquals(List.of(percent.getId()),
+                     ids(store.searchEntries(new EntryQuery(USER).setMemoContains("%"), null, 100)));
+
+        assertEquals(Set.of(iced.getId(), coffee.getId()), new HashSet<>(ids(store.searchMemo(USER, "커피", 10))));
+        assertTrue(store.searchMemo(USER, "홍차", 10).isEmpty());
+    }
+
+    @Test
+    void keysetPagingVisitsEveryEntryOnceNewestFirst() throws StorageException {
+        for (int i = 0; i < 23; i++) {
+            add(USER, DAY.plusDays(i % 5), EntryType.EXPENSE, "식비", 100 + i, "항목 " + i);
+        }
+        add(OTHER, DAY, EntryType.EXPENSE, "식비", 1, "남의 것");
+
+        EntryQuery query = new EntryQuery(USER);
+        List<AccountEntry> all = store.searchEntries(query, null, 100);
+        assertEquals(23, all.size());
+
+        List<AccountEntry> paged = new ArrayList<>();
+        AccountEntry after = null;
+        while (true) {
+            List<AccountEntry> page = store.searchEntries(query, after, 7);
+            paged.addAll(page);
+            if (page.size() < 7) break;
+            after = page.get(page.size() - 1);
+        }
+        assertEquals(ids(all), ids(paged));
+        for (int i = 1; i < all.size(); i++) {
+            AccountEntry newer = all.get(i - 1);
+            AccountEntry older = all.get(i);
+            assertTrue(newer.getDate().isAfter(older.getDate())
+                       || (newer.getDate().equals(older.getDate()) && newer.getId() > older.getId()));
+        }
+    }
+
+    // --- 반복 항목 ---
+
+    RecurringRule monthlyRule(String userId) {
+        return new RecurringRule(userId, EntryType.EXPENSE, "구독", 9_900, "음악", RecurringRule.Frequency.MONTHLY,
+                                 1, LocalDate.of(2024, 1, 31), null);
+    }
+
+    @Test
+    void recurringRulesAreStoredPerUser() throws StorageException {
+        int id = store.addRecurringRule(monthlyRule(USER));
+        assertTrue(id > 0);
+
+        List<RecurringRule> rules = store.getRecurringRules(USER);
+        assertEquals(1, rules.size());
+        RecurringRule rule = rules.get(0);
+        assertEquals(id, rule.getId());
+        assertEquals(USER, rule.getUserId());
+        assertEquals("구독", rule.getCategory());
+        assertEquals(9_900, rule.getAmount());
+        assertEquals(RecurringRule.Frequency.MONTHLY, rule.getFrequency());
+        assertEquals(LocalDate.of(2024, 1, 31), rule.getStartDate());
+        assertNull(rule.getEndDate());
+        assertTrue(store.getRecurringRules(OTHER).isEmpty());
+
+        assertFalse(store.deleteRecurringRule(OTHER, id));
+        assertTrue(store.deleteRecurringRule(USER, id));
+        assertFalse(store.deleteRecurringRule(USER, id));
+        assertTrue(store.getRecurringRules(USER).isEmpty());
+    }
+
+    @Test
+    void recurringEndDateMustNotPrecedeStart() throws StorageException {
+        int id = store.addRecurringRule(monthlyRule(USER));
+
+        assertFalse(store.setRecurringEndDate(USER, id, LocalDate.of(2023, 12, 31)));
+        assertFalse(store.setRecurringEndDate(OTHER, id, LocalDate.of(2024, 6, 30)));
+        assertTrue(store.setRecurringEndDate(USER, id, LocalDate.of(2024, 6, 30)));
+        assertEquals(LocalDate.of(2024, 6, 30), store.getRecurringRules(USER).get(0).getEndDate());
+        assertTrue(store.setRecurringEndDate(USER, id, null));
+        assertNull(store.getRecurringRules(USER).get(0).getEndDate());
+    }
+
+    @Test
+    void materializeStoresEntryOnceForOwner() throws StorageException {
+        int id = store.addRecurringRule(monthlyRule(USER));
+        LocalDate february = LocalDate.of(2024, 2, 29); // 말일 보정
+
+        AccountEntry foreign = new AccountEntry(OTHER, february, EntryType.EXPENSE, "구독", 9_900, "음악");
+        assertFalse(store.materializeOccurrence(id, foreign));
+
+        AccountEntry entry = new AccountEntry(USER, february, EntryType.EXPENSE, "구독", 9_900, "음악");
+        assertTrue(store.materializeOccurrence(id, entry));
+        assertTrue(entry.getId() > 0);
+        assertEquals(List.of(entry.getId()), ids(store.getEntriesByDate(USER, february)));
+
+        AccountEntry again = new AccountEntry(USER, february, EntryType.EXPENSE, "구독", 9_900, "음악");
+        assertFalse(store.materializeOccurrence(id, again));
+        assertEquals(1, store.getEntriesByDate(USER, february).size());
+
+        RecurringRule rule = store.getRecurringRules(USER).get(0);
+        assertFalse(rule.isPending(february));
+        assertTrue(rule.isPending(LocalDate.of(2024, 3, 31)));
+
+        // 규칙을 지워도 확정한 항목은 남는다.
+        assertTrue(store.deleteRecurringRule(USER, id));
+        assertEquals(1, store.getEntriesByDate(USER, february).size());
+    }
+
+    @Test
+    void recurringRulesSurviveReopen() throws StorageException {
+        int id = store.addRecurringRule(monthlyRule(USER));
+        store.setRecurringEndDate(USER, id, LocalDate.of(2024, 12, 31));
+        LocalDate march = LocalDate.of(2024, 3, 31);
+        store.materializeOccurrence(id, new AccountEntry(USER, march, EntryType.EXPENSE, "구독", 9_900, "음악"));
+
+        reopen();
+        RecurringRule rule = store.getRecurringRules(USER).get(0);
+        assertEquals(id, rule.getId());
+        assertEquals(LocalDate.of(2024, 12, 31), rule.getEndDate());
+        assertFalse(rule.isPending(march));
+        assertTrue(store.addRecurringRule(monthlyRule(USER)) > id);
+    }
+
+    // --- 카테고리 예산 ---
+
+    @Test
+    void budgetsAreUpsertedAndDeletedPerUser() throws StorageException {
+        store.setBudget(USER, "식비", 300_000);
+        store.setBudget(USER, "교통", 60_000);
+        store.setBudget(USER, "식비", 250_000);
+        store.setBudget(OTHER, "식비", 1);
+
+        assertEquals(Map.of("식비", 250_000L, "교통", 60_000L), store.getBudgets(USER));
+        assertTrue(store.deleteBudget(USER, "교통"));
+        assertFalse(store.deleteBudget(USER, "교통"));
+        assertFalse(store.deleteBudget(USER, "없는 카테고리"));
+        assertEquals(Map.of("식비", 250_000L), store.getBudgets(USER));
+        assertEquals(Map.of("식비", 1L), store.getBudgets(OTHER));
+
+        reopen();
+        assertEquals(Map.of("식비", 250_000L), store.getBudgets(USER));
+    }
+}
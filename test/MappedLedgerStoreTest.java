@@ -0,0 +1,181 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+// 계약 테스트에 더해, 쓰다 만 레코드 복구와 컴팩션(세대 교체)을 확인한다.
+class MappedLedgerStoreTest extends LedgerStoreContractTest {
+
+    private static final int HEADER_SIZE = LedgerFile.RECORD_SIZE;
+
+    @Override
+    LedgerStore open(Path dir) throws StorageException {
+        return new MappedLedgerStore(dir);
+    }
+
+    private List<AccountEntry> addMany(int count) throws StorageException {
+        List<AccountEntry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(add(USER, DAY.plusDays(i % 7), EntryType.EXPENSE, "식비", 1_000 + i, "항목 " + i));
+        }
+        return entries;
+    }
+
+    private List<Integer> allIds() throws StorageException {
+        return ids(store.searchEntries(new EntryQuery(USER), null, Integer.MAX_VALUE));
+    }
+
+    // 세대 파일의 index 번째 레코드 중 [from, to) 바이트를 bytes 로 덮어쓴다.
+    private void overwriteRecord(long generation, int index, int from, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(LedgerFile.entriesPath(dir, generation), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), HEADER_SIZE + (long) index * LedgerFile.RECORD_SIZE + from);
+        }
+    }
+
+    private String current() throws IOException {
+        return Files.readString(dir.resolve("CURRENT"), StandardCharsets.UTF_8).trim();
+    }
+
+    // --- 복구 ---
+
+    @Test
+    void corruptChecksumInTailRecordIsDroppedOnReopen() throws Exception {
+        List<AccountEntry> entries = addMany(3);
+        store.close();
+        store = null;
+
+        overwriteRecord(0, 2, 40, new byte[] {0x12, 0x34, 0x56, 0x78}); // CRC 칸
+        store = open(dir);
+
+        assertEquals(List.of(entries.get(1).getId(), entries.get(0).getId()), allIds());
+        // 잘라낸 자리에 새 레코드를 이어서 쓴다.
+        AccountEntry next = add(USER, DAY, EntryType.INCOME, "월급", 10, "복구 후");
+        reopen();
+        assertEquals(3, allIds().size());
+        assertTrue(allIds().contains(next.getId()));
+    }
+
+    @Test
+    void tornTailRecordIsDroppedOnReopen() throws Exception {
+        List<AccountEntry> entries = addMany(3);
+        store.close();
+        store = null;
+
+        // 레코드의 뒤쪽 절반(금액부터)이 디스크에 내려가지 않은 상태
+        overwriteRecord(0, 2, 24, new byte[LedgerFile.RECORD_SIZE - 24]);
+        store = open(dir);
+
+        assertEquals(List.of(entries.get(1).getId(), entries.get(0).getId()), allIds());
+    }
+
+    @Test
+    void recordsAfterCorruptRecordAreNotResurrected() throws Exception {
+        addMany(5);
+        store.close();
+        store = null;
+
+        overwriteRecord(0, 1, 24, new byte[] {1, 2, 3, 4}); // 금액을 바꿔 CRC 가 맞지 않게 한다.
+        store = open(dir);
+        assertEquals(1, allIds().size());
+
+        add(USER, DAY, EntryType.EXPENSE, "식비", 1, "새 항목");
+        reopen();
+        assertEquals(2, allIds().size());
+    }
+
+    @Test
+    void tornTailInPlansLogIsDroppedOnReopen() throws Exception {
+        store.setBudget(USER, "식비", 300_000);
+        store.close();
+        store = null;
+
+        try (FileChannel channel = FileChannel.open(dir.resolve("plans.dat"), StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 40, 1, 2, 3})); // 길이만 쓰고 멈춘 레코드
+        }
+        store = open(dir);
+        assertEquals(Map.of("식비", 300_000L), store.getBudgets(USER));
+
+        store.setBudget(USER, "교통", 60_000);
+        reopen();
+        assertEquals(Map.of("식비", 300_000L, "교통", 60_000L), store.getBudgets(USER));
+    }
+
+    // --- 컴팩션 ---
+
+    @Test
+    void compactionSwitchesCurrentAndKeepsLiveEntries() throws Exception {
+        List<AccountEntry> entries = addMany(40);
+        int maxId = 0;
+        for (AccountEntry entry : entries) maxId = Math.max(maxId, entry.getId());
+        List<Integer> kept = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            if (i % 4 == 0) {
+                kept.add(entries.get(i).getId());
+            } else {
+                store.deleteEntry(USER, entries.get(i).getId());
+            }
+        }
+        List<Integer> before = allIds();
+        long sizeBefore = Files.size(LedgerFile.memosPath(dir, 0));
+
+        ((MappedLedgerStore) store).compact();
+
+        assertEquals("1", current());
+        assertFalse(Files.exists(LedgerFile.entriesPath(dir, 0)));
+        assertFalse(Files.exists(LedgerFile.memosPath(dir, 0)));
+        assertTrue(Files.exists(LedgerFile.entriesPath(dir, 1)));
+        assertTrue(Files.size(LedgerFile.memosPath(dir, 1)) < sizeBefore);
+        assertEquals(before, allIds());
+        assertEquals(kept.size(), before.size());
+
+        // 지운 항목의 ID 는 다시 쓰지 않는다. (다시 연 뒤에도)
+        reopen();
+        assertEquals("1", current());
+        assertEquals(before, allIds());
+        AccountEntry next = add(USER, DAY, EntryType.EXPENSE, "식비", 1, "컴팩션 후");
+        assertTrue(next.getId() > maxId);
+    }
+
+    @Test
+    void leftoverNextGenerationIsIgnoredUntilCurrentSwitches() throws Exception {
+        List<AccountEntry> entries = addMany(3);
+        store.close();
+        store = null;
+
+        // CURRENT 를 바꾸기 전에 멈춘 컴팩션이 남긴 다음 세대 파일
+        Files.write(LedgerFile.entriesPath(dir, 1), new byte[LedgerFile.RECORD_SIZE]);
+        Files.write(LedgerFile.memosPath(dir, 1), new byte[0]);
+        store = open(dir);
+
+        assertEquals(3, allIds().size());
+        assertTrue(allIds().contains(entries.get(0).getId()));
+        assertFalse(Files.exists(LedgerFile.entriesPath(dir, 1)));
+        assertFalse(Files.exists(LedgerFile.memosPath(dir, 1)));
+    }
+
+    @Test
+    void plansSurviveCompaction() throws Exception {
+        int ruleId = store.addRecurringRule(monthlyRule(USER));
+        store.setBudget(USER, "식비", 300_000);
+        AccountEntry removed = add(USER, DAY, EntryType.EXPENSE, "식비", 1, "지움");
+        store.deleteEntry(USER, removed.getId());
+
+        ((MappedLedgerStore) store).compact();
+        reopen();
+
+        assertEquals(ruleId, store.getRecurringRules(USER).get(0).getId());
+        assertEquals(Map.of("식비", 300_000L), store.getBudgets(USER));
+    }
+}
@@ -0,0 +1,153 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+// 계약 테스트에 더해, 1~2글자 메모 검색어가 LIKE 로 훑지 않고 FTS 인덱스(entries_grams)로 찾아지는지,
+// v3 마이그레이션이 모르는 분류 문자열을 만나면 지출로 바꾸지 않고 실패하는지 확인한다.
+class SqliteLedgerStoreTest extends LedgerStoreContractTest {
+
+    @Override
+    LedgerStore open(Path dir) {
+        return new SqliteLedgerStore(url());
+    }
+
+    private String url() {
+        return "jdbc:sqlite:" + dir.resolve("account_book.db");
+    }
+
+    // EXPLAIN QUERY PLAN 의 detail 열
+    private List<String> plan(String sql, Object[] params) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (Connection conn = DriverManager.getConnection(url());
+             PreparedStatement pstmt = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            SlowQueryLog.bind(pstmt, params);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) plan.add(rs.getString("detail"));
+            }
+        }
+        return plan;
+    }
+
+    @Test
+    void twoCharacterKoreanTermIsAnsweredByFtsMatch() throws Exception {
+        SqliteLedgerStore.MemoSearch search =
+            SqliteLedgerStore.memoSearch(USER, SqliteLedgerStore.memoWords("점심"), 10);
+
+        assertFalse(search.sql.contains("LIKE"), search.sql);
+        assertTrue(search.sql.contains("entries_grams MATCH ?"), search.sql);
+        assertTrue(search.sql.contains("bm25(entries_grams)"), search.sql);
+
+        List<String> plan = plan(search.sql, search.params);
+        assertTrue(plan.stream().anyMatch(line -> line.startsWith("SCAN g VIRTUAL TABLE INDEX")), plan.toString());
+        assertFalse(plan.stream().anyMatch(line -> line.startsWith("SCAN e")), plan.toString());
+    }
+
+    @Test
+    void shortTermsMixedWithLongTermsStayIndexBacked() {
+        SqliteLedgerStore.MemoSearch search =
+            SqliteLedgerStore.memoSearch(USER, SqliteLedgerStore.memoWords("점심 테이크아웃"), 10);
+
+        assertFalse(search.sql.contains("LIKE"), search.sql);
+        assertTrue(search.sql.contains("entries_fts MATCH ?"), search.sql);
+        assertTrue(search.sql.contains("entries_grams MATCH ?"), search.sql);
+    }
+
+    @Test
+    void twoCharacterTermMatchesAnywhereInMemo() throws StorageException {
+        AccountEntry lunch = add(USER, DAY, EntryType.EXPENSE, "식비", 9_000, "점심");
+        AccountEntry inside = add(USER, DAY, EntryType.EXPENSE, "식비", 12_000, "회사점심값");
+        AccountEntry upper = add(USER, DAY, EntryType.EXPENSE, "식비", 3_000, "Lunch 점심 겸 아침");
+        add(USER, DAY, EntryType.EXPENSE, "식비", 15_000, "저녁 점 심");
+        add(OTHER, DAY, EntryType.EXPENSE, "식비", 9_000, "점심");
+
+        assertEquals(Set.of(lunch.getId(), inside.getId(), upper.getId()),
+                     new HashSet<>(ids(store.searchMemo(USER, "점심", 10))));
+        assertEquals(List.of(upper.getId()), ids(store.searchMemo(USER, "lu 점심", 10)));
+        assertEquals(Set.of(lunch.getId(), inside.getId(), upper.getId()),
+                     new HashSet<>(ids(store.searchEntries(new EntryQuery(USER).setMemoContains("점심"), null, 10))));
+    }
+
+    @Test
+    void upgradeFromV8FillsShortTermIndex() throws Exception {
+        AccountEntry lunch = add(USER, DAY, EntryType.EXPENSE, "식비", 9_000, "회사점심값");
+        store.close();
+        store = null;
+
+        // v9 이전 DB: 1~2글자 토큰 인덱스가 없다.
+        try (Connection conn = DriverManager.getConnection(url()); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TRIGGER entries_grams_insert");
+            stmt.execute("DROP TRIGGER entries_grams_delete");
+            stmt.execute("DROP TRIGGER entries_grams_update");
+            stmt.execute("DROP TABLE entries_grams");
+            stmt.execute("PRAGMA user_version = 8");
+        }
+        store = open(dir);
+
+        assertEquals(List.of(lunch.getId()), ids(store.searchMemo(USER, "점심", 10)));
+        store.deleteEntry(USER, lunch.getId());
+        assertTrue(store.searchMemo(USER, "점심", 10).isEmpty());
+    }
+
+    // v2 DB (분류를 문자열로 저장하던 때)
+    private Connection legacyDatabase(String... types) throws SQLException {
+        Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("legacy.db"));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE users (id TEXT PRIMARY KEY, password TEXT NOT NULL)");
+            stmt.execute("CREATE TABLE entries (entry_id INTEGER PRIMARY KEY AUTOINCREMENT, user_id TEXT NOT NULL, " +
+                         "date TEXT NOT NULL, type TEXT NOT NULL, category TEXT, amount INTEGER NOT NULL, memo TEXT)");
+            for (String type : types) {
+                stmt.execute("INSERT INTO entries (user_id, date, type, category, amount) " +
+                             "VALUES ('" + USER + "', '2024-03-15', '" + type + "', '식비', 1000)");
+            }
+            stmt.execute("PRAGMA user_version = 2");
+        }
+        return conn;
+    }
+
+    @Test
+    void upgradeFromV2MapsEntryTypeLabels() throws Exception {
+        try (Connection conn = legacyDatabase("수익", "지출")) {
+            MemoGrams.register(conn);
+            assertEquals(SchemaMigrator.latestVersion(), SchemaMigrator.migrate(conn));
+            List<Integer> codes = new ArrayList<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT type FROM entries ORDER BY entry_id")) {
+                while (rs.next()) codes.add(rs.getInt(1));
+            }
+            assertEquals(List.of(EntryType.INCOME.getCode(), EntryType.EXPENSE.getCode()), codes);
+        }
+    }
+
+    @Test
+    void upgradeFromV2FailsOnUnknownEntryType() throws Exception {
+        try (Connection conn = legacyDatabase("수익", "환불", "지출")) {
+            MemoGrams.register(conn);
+            SQLException e = assertThrows(SQLException.class, () -> SchemaMigrator.migrate(conn));
+            assertTrue(e.getMessage().contains("스키마 v3"), e.getMessage());
+            assertTrue(e.getMessage().contains("entry_id 2 '환불'"), e.getMessage());
+
+            // 변환하지 않은 v2 상태 그대로 남는다.
+            assertEquals(2, SchemaMigrator.currentVersion(conn));
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT type FROM entries WHERE entry_id = 2")) {
+                assertTrue(rs.next());
+                assertEquals("환불", rs.getString(1));
+            }
+        }
+    }
+}